@@ -1,8 +1,19 @@
 -- Initialize database schema for insurance system (using public schema)
+-- Bootstraps a fresh container with the baseline schema and sample data. Schema changes are versioned
+-- migrations in src/main/resources/db/migration, which the application applies at startup on top of
+-- this baseline.
+
+-- Id sequences step by 50 to match the pooled-lo allocation size of the entity generators,
+-- so Hibernate reserves a block of ids per round trip and can batch inserts.
+-- Rows inserted without an id (COPY, native SQL) consume a whole block; ids stay unique but not dense.
+CREATE SEQUENCE IF NOT EXISTS policyholders_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS insurance_policies_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS claims_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS claim_assessments_id_seq START WITH 1 INCREMENT BY 50;
 
 -- Create policyholders table
 CREATE TABLE IF NOT EXISTS policyholders (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('policyholders_id_seq'),
     policyholder_id VARCHAR(50) UNIQUE NOT NULL,
     name VARCHAR(200) NOT NULL,
     email VARCHAR(100) UNIQUE NOT NULL,
@@ -16,7 +27,7 @@ CREATE TABLE IF NOT EXISTS policyholders (
 
 -- Create insurance policies table
 CREATE TABLE IF NOT EXISTS insurance_policies (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('insurance_policies_id_seq'),
     policy_number VARCHAR(50) UNIQUE NOT NULL,
     policyholder_id VARCHAR(50) NOT NULL,
     policy_type VARCHAR(30) NOT NULL CHECK (policy_type IN ('LIFE', 'HEALTH', 'AUTO', 'PROPERTY', 'TRAVEL')),
@@ -33,7 +44,7 @@ CREATE TABLE IF NOT EXISTS insurance_policies (
 
 -- Create claims table
 CREATE TABLE IF NOT EXISTS claims (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('claims_id_seq'),
     claim_number VARCHAR(50) UNIQUE NOT NULL,
     policy_number VARCHAR(50) NOT NULL,
     claim_type VARCHAR(30) NOT NULL,
@@ -50,7 +61,7 @@ CREATE TABLE IF NOT EXISTS claims (
 
 -- Create claim assessments table for storing processed claims
 CREATE TABLE IF NOT EXISTS claim_assessments (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('claim_assessments_id_seq'),
     claim_number VARCHAR(50) NOT NULL,
     assessor_id VARCHAR(50),
     assessment_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
@@ -74,6 +85,13 @@ CREATE TABLE IF NOT EXISTS claim_documents (
     FOREIGN KEY (claim_number) REFERENCES claims(claim_number)
 );
 
+-- Checkpoint of the running claim and assessment statistics, one row per counter
+CREATE TABLE IF NOT EXISTS claim_statistics (
+    stat_key VARCHAR(64) PRIMARY KEY,
+    stat_value BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Create indexes for better performance
 CREATE INDEX IF NOT EXISTS idx_policyholders_policyholder_id ON policyholders(policyholder_id);
 CREATE INDEX IF NOT EXISTS idx_policyholders_email ON policyholders(email);
@@ -84,7 +102,8 @@ CREATE INDEX IF NOT EXISTS idx_claims_claim_number ON claims(claim_number);
 CREATE INDEX IF NOT EXISTS idx_claims_policy_number ON claims(policy_number);
 CREATE INDEX IF NOT EXISTS idx_claims_status ON claims(status);
 CREATE INDEX IF NOT EXISTS idx_claims_claim_date ON claims(claim_date);
-CREATE INDEX IF NOT EXISTS idx_claim_assessments_claim_number ON claim_assessments(claim_number);
+-- One assessment per claim
+CREATE UNIQUE INDEX IF NOT EXISTS idx_claim_assessments_claim_number ON claim_assessments(claim_number);
 CREATE INDEX IF NOT EXISTS idx_claim_assessments_fraud_flag ON claim_assessments(fraud_flag);
 CREATE INDEX IF NOT EXISTS idx_claim_documents_claim_number ON claim_documents(claim_number);
 
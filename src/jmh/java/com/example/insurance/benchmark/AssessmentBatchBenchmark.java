@@ -0,0 +1,111 @@
+package com.example.insurance.benchmark;
+
+import com.example.insurance.entity.Claim;
+import com.example.insurance.fraud.FraudSignals;
+import com.example.insurance.rules.AssessmentRules;
+import com.example.insurance.rules.RuleTableDefinition;
+import com.example.insurance.scoring.LogisticRegressionModel;
+import com.example.insurance.scoring.RiskFeatures;
+import com.example.insurance.scoring.RiskModel;
+import com.example.insurance.scoring.RiskModelDefinition;
+import com.example.insurance.service.BatchAssessment;
+import com.example.insurance.service.BatchClaimAssessor;
+import com.example.insurance.service.ClaimBatch;
+import com.example.insurance.service.RiskScoringContext;
+import com.example.insurance.util.Money;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Assessment throughput of the per-claim path (one {@link Claim} entity and BigDecimal math per claim)
+ * against the columnar {@link BatchClaimAssessor}, sequential and split across cores. Uses the bundled
+ * rule table and risk model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AssessmentBatchBenchmark {
+
+    private static final int CLAIMS = 100_000;
+
+    private AssessmentRules rules;
+    private RiskModel model;
+    private List<Claim> claims;
+    private ClaimBatch batch;
+    private BatchAssessment out;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream("assessment-rules.json")) {
+            rules = AssessmentRules.compile(new ObjectMapper().readValue(input, RuleTableDefinition.class));
+        }
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream("risk-model.json")) {
+            model = LogisticRegressionModel.compile(new ObjectMapper().readValue(input, RiskModelDefinition.class));
+        }
+        LocalDateTime today = LocalDateTime.now();
+
+        SplittableRandom random = new SplittableRandom(42);
+        Claim.ClaimType[] types = Claim.ClaimType.values();
+        claims = new ArrayList<>(CLAIMS);
+        for (int i = 0; i < CLAIMS; i++) {
+            claims.add(Claim.builder()
+                    .claimNumber("CLM-BENCH-" + i)
+                    .policyNumber("POL-BENCH")
+                    .claimType(types[random.nextInt(types.length)])
+                    .incidentDate(today.toLocalDate().minusDays(random.nextInt(365)))
+                    .claimDate(today)
+                    .claimedAmount(BigDecimal.valueOf(random.nextLong(10_000, 10_000_000), 2))
+                    .priority(Claim.ClaimPriority.NORMAL)
+                    .build());
+        }
+        batch = ClaimBatch.of(claims);
+        out = BatchAssessment.allocate(CLAIMS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLAIMS)
+    public void perClaim(Blackhole blackhole) {
+        for (Claim claim : claims) {
+            Money claimed = Money.of(claim.getClaimedAmount());
+            double modelScore = model.score(RiskFeatures.of(claim));
+            RiskScoringContext scoring = RiskScoringContext.score(modelScore, claimed, claim.getClaimType(),
+                    FraudSignals.NONE, rules);
+            BigDecimal approved = claimed.timesBasisPoints(rules.approvalBasisPoints(claim.getClaimType())).toBigDecimal();
+            blackhole.consume(approved);
+            blackhole.consume(scoring.riskScore());
+            blackhole.consume(scoring.fraud());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLAIMS)
+    public BatchAssessment columnar() {
+        BatchClaimAssessor.assess(rules, model, batch, out, false);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLAIMS)
+    public BatchAssessment columnarParallel() {
+        BatchClaimAssessor.assess(rules, model, batch, out, true);
+        return out;
+    }
+}
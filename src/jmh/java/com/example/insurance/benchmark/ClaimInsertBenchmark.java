@@ -0,0 +1,128 @@
+package com.example.insurance.benchmark;
+
+import com.example.insurance.entity.Claim;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of claims persisted through Hibernate the way the write-behind writer does: 200 claims
+ * per transaction, with the application's JDBC batch size, ordered inserts and pooled-lo optimizer.
+ * <p>
+ * The pooled benchmark persists {@link Claim} itself into the claims table, so it pays for the production
+ * mapping, the partition routing and the claim-number registry trigger. The identity benchmark persists
+ * {@link IdentityClaim}, the same columns keyed by IDENTITY, into a plain table; Hibernate reads each key
+ * back and cannot batch those inserts. The comparison therefore errs in favour of IDENTITY.
+ * <p>
+ * Runs against the docker-compose PostgreSQL once the application has migrated it; override with
+ * -Dbenchmark.jdbc.url. Claims written by the benchmark are deleted afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ClaimInsertBenchmark {
+
+    private static final int ROWS_PER_TRANSACTION = 200;
+
+    private SessionFactory sessionFactory;
+    private String claimNumberPrefix;
+    private long rowCounter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Claim.class)
+                .addAnnotatedClass(IdentityClaim.class)
+                .setProperty("hibernate.connection.url", System.getProperty("benchmark.jdbc.url",
+                        "jdbc:postgresql://localhost:5432/finance_db?reWriteBatchedInserts=true"))
+                .setProperty("hibernate.connection.username", System.getProperty("benchmark.jdbc.user", "finance_user"))
+                .setProperty("hibernate.connection.password", System.getProperty("benchmark.jdbc.password", "finance_pass"))
+                // Same settings as application.properties
+                .setProperty("hibernate.jdbc.batch_size", "50")
+                .setProperty("hibernate.order_inserts", "true")
+                .setProperty("hibernate.order_updates", "true")
+                .setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo")
+                .setProperty("hibernate.hbm2ddl.auto", "none")
+                .buildSessionFactory();
+
+        sessionFactory.inTransaction(session -> {
+            session.createNativeMutationQuery("DROP TABLE IF EXISTS " + IdentityClaim.TABLE).executeUpdate();
+            session.createNativeMutationQuery("CREATE TABLE " + IdentityClaim.TABLE + " (" +
+                    "id BIGSERIAL PRIMARY KEY, claim_number VARCHAR(50) UNIQUE NOT NULL, policy_number VARCHAR(50) NOT NULL, " +
+                    "claim_type VARCHAR(30) NOT NULL, incident_date DATE NOT NULL, claim_date TIMESTAMP NOT NULL, " +
+                    "claimed_amount DECIMAL(15,2) NOT NULL, description TEXT NOT NULL, status VARCHAR(20) NOT NULL, " +
+                    "priority VARCHAR(10) NOT NULL, updated_at TIMESTAMP NOT NULL)").executeUpdate();
+        });
+        claimNumberPrefix = "BENCH-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase() + "-";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.inTransaction(session -> {
+            session.createNativeMutationQuery("DELETE FROM claims WHERE claim_number LIKE :prefix")
+                    .setParameter("prefix", claimNumberPrefix + "%")
+                    .executeUpdate();
+            session.createNativeMutationQuery("DELETE FROM claim_registry WHERE claim_number LIKE :prefix")
+                    .setParameter("prefix", claimNumberPrefix + "%")
+                    .executeUpdate();
+            session.createNativeMutationQuery("DROP TABLE IF EXISTS " + IdentityClaim.TABLE).executeUpdate();
+        });
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_TRANSACTION)
+    public Long identityRowByRow() {
+        return sessionFactory.fromTransaction(session -> {
+            IdentityClaim last = null;
+            for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                long row = rowCounter++;
+                last = new IdentityClaim(claimNumberPrefix + row, "POL001", Claim.ClaimType.ACCIDENT,
+                        LocalDate.of(2024, 1, 15), amount(row), "Benchmark claim description");
+                session.persist(last);
+            }
+            return last.getId();
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_TRANSACTION)
+    public Long pooledSequenceBatched() {
+        return sessionFactory.fromTransaction(session -> {
+            Claim last = null;
+            for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                long row = rowCounter++;
+                last = Claim.builder()
+                        .claimNumber(claimNumberPrefix + row)
+                        .policyNumber("POL001")
+                        .claimType(Claim.ClaimType.ACCIDENT)
+                        .incidentDate(LocalDate.of(2024, 1, 15))
+                        .claimedAmount(amount(row))
+                        .description("Benchmark claim description")
+                        .status(Claim.ClaimStatus.SUBMITTED)
+                        .priority(Claim.ClaimPriority.NORMAL)
+                        .build();
+                session.persist(last);
+            }
+            return last.getId();
+        });
+    }
+
+    private static BigDecimal amount(long row) {
+        return BigDecimal.valueOf(5000 + row % 1000, 2);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.insurance.benchmark;
+
+import com.example.insurance.entity.Claim;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The columns of {@link Claim} keyed by an IDENTITY column instead of the pooled sequence, for
+ * {@link ClaimInsertBenchmark}.
+ */
+@Entity
+@Table(name = IdentityClaim.TABLE)
+public class IdentityClaim {
+
+    static final String TABLE = "bench_claims_identity";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "claim_number", unique = true, nullable = false, length = 50)
+    private String claimNumber;
+
+    @Column(name = "policy_number", nullable = false, length = 50)
+    private String policyNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "claim_type", nullable = false, length = 30)
+    private Claim.ClaimType claimType;
+
+    @Column(name = "incident_date", nullable = false)
+    private LocalDate incidentDate;
+
+    @CreationTimestamp
+    @Column(name = "claim_date", nullable = false)
+    private LocalDateTime claimDate;
+
+    @Column(name = "claimed_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal claimedAmount;
+
+    @Column(name = "description", nullable = false, columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Claim.ClaimStatus status = Claim.ClaimStatus.SUBMITTED;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority", nullable = false, length = 10)
+    private Claim.ClaimPriority priority = Claim.ClaimPriority.NORMAL;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    protected IdentityClaim() {
+    }
+
+    IdentityClaim(String claimNumber, String policyNumber, Claim.ClaimType claimType, LocalDate incidentDate,
+                  BigDecimal claimedAmount, String description) {
+        this.claimNumber = claimNumber;
+        this.policyNumber = policyNumber;
+        this.claimType = claimType;
+        this.incidentDate = incidentDate;
+        this.claimedAmount = claimedAmount;
+        this.description = description;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.insurance.benchmark;
+
+import com.example.insurance.scoring.GradientBoostedTreesModel;
+import com.example.insurance.scoring.LogisticRegressionModel;
+import com.example.insurance.scoring.RiskFeature;
+import com.example.insurance.scoring.RiskModel;
+import com.example.insurance.scoring.RiskModelDefinition;
+import com.example.insurance.scoring.RiskModelDefinition.TreeNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-claim scoring latency of the bundled logistic regression model and of a synthetic
+ * gradient-boosted ensemble (300 trees of depth 6, larger than anything we expect to ship). Run in
+ * sample-time mode so the report includes the p99 to check against the 50 us scoring budget.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RiskModelBenchmark {
+
+    private static final int TREES = 300;
+    private static final int DEPTH = 6;
+    private static final int VECTORS = 1024;
+
+    private RiskModel logistic;
+    private RiskModel trees;
+    private double[][] vectors;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream("risk-model.json")) {
+            logistic = LogisticRegressionModel.compile(new ObjectMapper().readValue(input, RiskModelDefinition.class));
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<TreeNode> ensemble = new ArrayList<>(TREES);
+        for (int i = 0; i < TREES; i++) {
+            ensemble.add(tree(random, new int[] {0}, 0));
+        }
+        trees = GradientBoostedTreesModel.compile(
+                new RiskModelDefinition(GradientBoostedTreesModel.TYPE, "bench", 0, null, -1.0, ensemble));
+
+        vectors = new double[VECTORS][];
+        for (int i = 0; i < VECTORS; i++) {
+            vectors[i] = features(random);
+        }
+    }
+
+    @Benchmark
+    public double logisticRegression() {
+        return logistic.score(nextVector());
+    }
+
+    @Benchmark
+    public double gradientBoostedTrees() {
+        return trees.score(nextVector());
+    }
+
+    private double[] nextVector() {
+        next = (next + 1) & (VECTORS - 1);
+        return vectors[next];
+    }
+
+    private static TreeNode tree(SplittableRandom random, int[] ids, int depth) {
+        int id = ids[0]++;
+        if (depth == DEPTH) {
+            return new TreeNode(id, null, null, null, null, random.nextDouble(-0.1, 0.1), null);
+        }
+        RiskFeature feature = RiskFeature.values()[random.nextInt(RiskFeature.COUNT)];
+        TreeNode yes = tree(random, ids, depth + 1);
+        TreeNode no = tree(random, ids, depth + 1);
+        return new TreeNode(id, feature.key(), random.nextDouble(0, 10), yes.nodeid(), no.nodeid(), null, List.of(yes, no));
+    }
+
+    private static double[] features(SplittableRandom random) {
+        double[] features = new double[RiskFeature.COUNT];
+        for (int i = 0; i < features.length; i++) {
+            features[i] = random.nextDouble(0, 12);
+        }
+        return features;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.insurance.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read model of an assessment for listings, without the assessment notes. Selected directly by the
+ * repository rather than loaded as a managed entity.
+ */
+public record AssessmentSummary(
+        Long id,
+        String claimNumber,
+        BigDecimal approvedAmount,
+        Integer riskScore,
+        Boolean fraudFlag,
+        LocalDateTime assessmentDate) {
+}
@@ -12,6 +12,7 @@ import lombok.Setter;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Setter
 @Getter
@@ -31,6 +32,10 @@ public class ClaimSubmission {
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate incidentDate;
 
+    // Filing date of a backfilled claim; live submissions leave it empty and are dated on insert
+    @PastOrPresent(message = "Claim date cannot be in the future")
+    private LocalDateTime claimDate;
+
     @NotNull(message = "Claimed amount is required")
     @DecimalMin(value = "0.01", message = "Claimed amount must be greater than 0")
     private BigDecimal claimedAmount;
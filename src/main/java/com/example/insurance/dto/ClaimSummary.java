@@ -0,0 +1,23 @@
+package com.example.insurance.dto;
+
+import com.example.insurance.entity.Claim;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a claim for listings. Selected directly by the repository, so the description is never
+ * read and no managed entity or dirty-checking snapshot is created.
+ */
+public record ClaimSummary(
+        Long id,
+        String claimNumber,
+        String policyNumber,
+        Claim.ClaimType claimType,
+        Claim.ClaimStatus status,
+        Claim.ClaimPriority priority,
+        BigDecimal claimedAmount,
+        LocalDate incidentDate,
+        LocalDateTime claimDate) {
+}
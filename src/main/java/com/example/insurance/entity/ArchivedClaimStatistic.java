@@ -0,0 +1,29 @@
+package com.example.insurance.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Contribution of the archived partitions to one claim statistics counter, written by the partition
+ * archiving function of the V5 migration.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "archived_claim_statistics")
+public class ArchivedClaimStatistic extends PanacheEntityBase {
+
+    @Id
+    @Column(name = "stat_key", length = 64)
+    private String statKey;
+
+    @Column(name = "stat_value", nullable = false)
+    private long statValue;
+}
@@ -0,0 +1,37 @@
+package com.example.insurance.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+/**
+ * Claimed and approved totals of a policy's claims in archived partitions, written by the partition
+ * archiving function of the V5 migration.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "archived_policy_exposure")
+public class ArchivedPolicyExposure extends PanacheEntityBase {
+
+    @Id
+    @Column(name = "policy_number", length = 50)
+    private String policyNumber;
+
+    @Column(name = "claimed_amount", nullable = false, precision = 17, scale = 2)
+    private BigDecimal claimedAmount;
+
+    @Column(name = "approved_amount", nullable = false, precision = 17, scale = 2)
+    private BigDecimal approvedAmount;
+
+    @Column(name = "claim_count", nullable = false)
+    private long claimCount;
+}
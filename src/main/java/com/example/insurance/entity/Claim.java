@@ -3,7 +3,6 @@ package com.example.insurance.entity;
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -21,7 +20,8 @@ import java.time.LocalDateTime;
 public class Claim extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "claims_id_seq")
+    @SequenceGenerator(name = "claims_id_seq", sequenceName = "claims_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "claim_number", unique = true, nullable = false, length = 50)
@@ -37,7 +37,7 @@ public class Claim extends PanacheEntityBase {
     @Column(name = "incident_date", nullable = false)
     private LocalDate incidentDate;
 
-    @CreationTimestamp
+    // Set by backfills to the historical filing date, otherwise stamped on insert
     @Column(name = "claim_date", nullable = false)
     private LocalDateTime claimDate;
 
@@ -59,6 +59,13 @@ public class Claim extends PanacheEntityBase {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @PrePersist
+    void defaultClaimDate() {
+        if (claimDate == null) {
+            claimDate = LocalDateTime.now();
+        }
+    }
+
     public enum ClaimType {
         ACCIDENT, ILLNESS, PROPERTY_DAMAGE, THEFT, NATURAL_DISASTER, TRAVEL_CANCELATION, DEATH, DISABILITY, OTHER
     }
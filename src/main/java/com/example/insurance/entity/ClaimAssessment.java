@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 public class ClaimAssessment extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "claim_assessments_id_seq")
+    @SequenceGenerator(name = "claim_assessments_id_seq", sequenceName = "claim_assessments_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "claim_number", nullable = false, length = 50)
@@ -46,9 +47,15 @@ public class ClaimAssessment extends PanacheEntityBase {
     @Column(name = "assessment_notes", columnDefinition = "TEXT")
     private String assessmentNotes;
 
+    // From receipt through validation and assessment; persisting, publishing and fraud refinement come later
+    // and are only in the claims.stage.time.us histograms. Backfilled claims record the assessment alone.
     @Column(name = "processing_time_ms")
     private Integer processingTimeMs;
 
+    // Earlier claim with identical content that this claim repeats
+    @Column(name = "repeat_of", length = 50)
+    private String repeatOf;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
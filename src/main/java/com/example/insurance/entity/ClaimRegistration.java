@@ -0,0 +1,29 @@
+package com.example.insurance.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Registered claim number and the id of its assessment, if any. Rows are maintained by triggers on the
+ * claims and assessments tables and outlive archiving, so an archived claim number stays taken.
+ */
+@Data
+@NoArgsConstructor
+@Immutable
+@Entity
+@Table(name = "claim_registry")
+public class ClaimRegistration extends PanacheEntityBase {
+
+    @Id
+    @Column(name = "claim_number", length = 50)
+    private String claimNumber;
+
+    @Column(name = "assessment_id")
+    private Long assessmentId;
+}
@@ -0,0 +1,33 @@
+package com.example.insurance.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Current value of one claim statistics counter, such as {@code claims.status.submitted}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "claim_statistics")
+public class ClaimStatistic extends PanacheEntityBase {
+
+    @Id
+    @Column(name = "stat_key", length = 64)
+    private String statKey;
+
+    @Column(name = "stat_value", nullable = false)
+    private long statValue;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -15,14 +15,15 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "insurance_policies")
 public class InsurancePolicy extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "insurance_policies_id_seq")
+    @SequenceGenerator(name = "insurance_policies_id_seq", sequenceName = "insurance_policies_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "policy_number", unique = true, nullable = false, length = 50)
@@ -7,12 +7,16 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@NaturalIdCache
 @Table(name = "policyholders")
 @Data
 @Builder
@@ -21,9 +25,11 @@ import java.time.LocalDateTime;
 public class Policyholder extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "policyholders_id_seq")
+    @SequenceGenerator(name = "policyholders_id_seq", sequenceName = "policyholders_id_seq", allocationSize = 50)
     private Long id;
 
+    @NaturalId
     @Column(name = "policyholder_id", unique = true, nullable = false, length = 50)
     private String policyholderId;
 
@@ -0,0 +1,8 @@
+package com.example.insurance.fraud;
+
+/**
+ * Earlier claim of the same policyholder that a new claim closely resembles, with the estimated Jaccard
+ * similarity of their descriptions.
+ */
+public record DuplicateCandidate(String claimNumber, double similarity) {
+}
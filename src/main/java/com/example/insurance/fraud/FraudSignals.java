@@ -0,0 +1,32 @@
+package com.example.insurance.fraud;
+
+/**
+ * Behavioural features for one claim's fraud decision, taken after the claim itself was counted.
+ * Policyholder and email snapshots are {@link VelocitySnapshot#EMPTY} when the submission did not carry
+ * them, and {@code nearDuplicate} is {@code null} unless an earlier claim of the policyholder matched.
+ */
+public record FraudSignals(
+        VelocitySnapshot policy,
+        VelocitySnapshot policyholder,
+        VelocitySnapshot email,
+        DuplicateCandidate nearDuplicate) {
+
+    public static final FraudSignals NONE =
+            new FraudSignals(VelocitySnapshot.EMPTY, VelocitySnapshot.EMPTY, VelocitySnapshot.EMPTY, null);
+
+    public FraudSignals withNearDuplicate(DuplicateCandidate candidate) {
+        return new FraudSignals(policy, policyholder, email, candidate);
+    }
+
+    public long maxClaims1h() {
+        return Math.max(policy.claims1h(), Math.max(policyholder.claims1h(), email.claims1h()));
+    }
+
+    public long maxClaims24h() {
+        return Math.max(policy.claims24h(), Math.max(policyholder.claims24h(), email.claims24h()));
+    }
+
+    public long maxAmount30dCents() {
+        return Math.max(policy.amount30d().cents(), Math.max(policyholder.amount30d().cents(), email.amount30d().cents()));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.insurance.fraud;
+
+import java.util.Arrays;
+
+/**
+ * MinHash signatures over character shingles of a normalised description. Two signatures agree in each
+ * position with probability equal to the Jaccard similarity of the shingle sets, and are split into bands
+ * so that similar descriptions share at least one band key with high probability.
+ */
+final class MinHasher {
+
+    static final int SHINGLE_LENGTH = 4;
+    static final int BANDS = 16;
+    static final int ROWS = 4;
+    static final int SIGNATURE_LENGTH = BANDS * ROWS;
+
+    private static final long[] MULTIPLIERS = new long[SIGNATURE_LENGTH];
+    private static final long[] OFFSETS = new long[SIGNATURE_LENGTH];
+
+    static {
+        long state = 0x5DEECE66DL;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            MULTIPLIERS[i] = mix(state) | 1;
+            state += 0x9E3779B97F4A7C15L;
+            OFFSETS[i] = mix(state);
+        }
+    }
+
+    private MinHasher() {
+    }
+
+    /**
+     * Signature of the description, or {@code null} when it has no letters or digits to compare.
+     */
+    static long[] signature(String description) {
+        String text = normalize(description);
+        if (text.isEmpty()) {
+            return null;
+        }
+
+        long[] signature = new long[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        int shingles = Math.max(1, text.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            int end = Math.min(text.length(), start + SHINGLE_LENGTH);
+            long shingle = 0;
+            for (int i = start; i < end; i++) {
+                shingle = shingle * 31 + text.charAt(i);
+            }
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                long hash = mix(shingle * MULTIPLIERS[i] + OFFSETS[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    static long[] bandKeys(long[] signature) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS; row++) {
+                key = mix(key * 31 + signature[band * ROWS + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    static double similarity(long[] first, long[] second) {
+        int matching = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            if (first[i] == second[i]) {
+                matching++;
+            }
+        }
+        return (double) matching / SIGNATURE_LENGTH;
+    }
+
+    /**
+     * Lower-cases and collapses every run of punctuation and whitespace to a single space.
+     */
+    static String normalize(String description) {
+        if (description == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder(description.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < description.length(); i++) {
+            char c = description.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !text.isEmpty()) {
+                    text.append(' ');
+                }
+                text.append(Character.toLowerCase(c));
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return text.toString();
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
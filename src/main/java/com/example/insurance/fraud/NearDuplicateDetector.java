@@ -0,0 +1,190 @@
+package com.example.insurance.fraud;
+
+import com.example.insurance.util.Money;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Flags claims that restate an earlier claim of the same policyholder with slightly different wording or
+ * amounts. Each policyholder's recent claims are indexed by the MinHash band keys of their descriptions;
+ * a new claim is compared only with claims sharing a band, and is a candidate duplicate when the
+ * estimated description similarity reaches {@code claims.duplicates.similarity-threshold} and the
+ * claimed amount and incident date fall in the same or an adjacent bucket.
+ */
+@ApplicationScoped
+public class NearDuplicateDetector {
+
+    // Adjacent amount buckets differ by a factor of 1.2, adjacent date buckets by a week
+    private static final double LOG_AMOUNT_STEP = Math.log(1.2);
+    private static final int DAYS_PER_DATE_BUCKET = 7;
+
+    @Inject
+    MetricRegistry registry;
+
+    @ConfigProperty(name = "claims.duplicates.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "claims.duplicates.similarity-threshold", defaultValue = "0.6")
+    double similarityThreshold;
+
+    @ConfigProperty(name = "claims.duplicates.claims-per-policyholder", defaultValue = "50")
+    int claimsPerPolicyholder;
+
+    @ConfigProperty(name = "claims.duplicates.max-policyholders", defaultValue = "100000")
+    int maxPolicyholders;
+
+    private final ConcurrentHashMap<String, ClaimHistory> histories = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder candidates = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        registry.gauge("claims.duplicates.policyholders", histories, Map::size);
+        registry.gauge("claims.duplicates.candidates", candidates, LongAdder::sum);
+    }
+
+    /**
+     * Looks for an earlier near-duplicate of the claim and then indexes the claim itself. A redelivery of
+     * an already indexed claim number is neither matched nor indexed again.
+     *
+     * @param scope policyholder the claim is compared within; claims without one are skipped
+     */
+    public Optional<DuplicateCandidate> checkAndIndex(String scope, String claimNumber, String description,
+                                                      Money claimedAmount, LocalDate incidentDate) {
+        if (!enabled || scope == null || scope.isBlank() || claimNumber == null) {
+            return Optional.empty();
+        }
+        long[] signature = MinHasher.signature(description);
+        if (signature == null) {
+            return Optional.empty();
+        }
+
+        IndexedClaim claim = new IndexedClaim(claimNumber, signature, MinHasher.bandKeys(signature),
+                amountBucket(claimedAmount), dateBucket(incidentDate));
+        ClaimHistory history = histories.computeIfAbsent(scope, key -> new ClaimHistory());
+        Optional<DuplicateCandidate> candidate = history.matchAndAdd(claim, similarityThreshold, claimsPerPolicyholder);
+        candidate.ifPresent(ignored -> candidates.increment());
+
+        if (histories.size() > maxPolicyholders) {
+            evict();
+        }
+        return candidate;
+    }
+
+    // Forgets every indexed claim, so tests sharing the application do not match each other's claims
+    void clear() {
+        histories.clear();
+    }
+
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int excess = histories.size() - maxPolicyholders;
+            if (excess <= 0) {
+                return;
+            }
+            int toEvict = Math.max(excess, maxPolicyholders / 10);
+            histories.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastSeenMillis))
+                    .limit(toEvict)
+                    .toList()
+                    .forEach(entry -> histories.remove(entry.getKey(), entry.getValue()));
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    static int amountBucket(Money amount) {
+        return amount.cents() > 0 ? (int) Math.floor(Math.log(amount.cents()) / LOG_AMOUNT_STEP) : 0;
+    }
+
+    static long dateBucket(LocalDate incidentDate) {
+        return incidentDate != null ? Math.floorDiv(incidentDate.toEpochDay(), DAYS_PER_DATE_BUCKET) : Long.MIN_VALUE;
+    }
+
+    private record IndexedClaim(String claimNumber, long[] signature, long[] bandKeys, int amountBucket, long dateBucket) {
+
+        boolean isNear(IndexedClaim other) {
+            return Math.abs(amountBucket - other.amountBucket) <= 1
+                    && (dateBucket == other.dateBucket
+                    || (dateBucket != Long.MIN_VALUE && other.dateBucket != Long.MIN_VALUE
+                    && Math.abs(dateBucket - other.dateBucket) <= 1));
+        }
+    }
+
+    /**
+     * One policyholder's most recent claims and their band index. Guarded by its own monitor, so only
+     * claims of the same policyholder ever wait on each other.
+     */
+    private static final class ClaimHistory {
+
+        private final ArrayDeque<IndexedClaim> recent = new ArrayDeque<>();
+        private final Map<Long, List<IndexedClaim>> bands = new HashMap<>();
+        private volatile long lastSeenMillis;
+
+        synchronized Optional<DuplicateCandidate> matchAndAdd(IndexedClaim claim, double threshold, int capacity) {
+            lastSeenMillis = System.currentTimeMillis();
+
+            DuplicateCandidate best = null;
+            Set<IndexedClaim> compared = new HashSet<>();
+            for (long bandKey : claim.bandKeys()) {
+                for (IndexedClaim earlier : bands.getOrDefault(bandKey, List.of())) {
+                    if (earlier.claimNumber().equals(claim.claimNumber())) {
+                        return Optional.empty();
+                    }
+                    if (!compared.add(earlier) || !claim.isNear(earlier)) {
+                        continue;
+                    }
+                    double similarity = MinHasher.similarity(claim.signature(), earlier.signature());
+                    if (similarity >= threshold && (best == null || similarity > best.similarity())) {
+                        best = new DuplicateCandidate(earlier.claimNumber(), similarity);
+                    }
+                }
+            }
+
+            add(claim);
+            if (recent.size() > capacity) {
+                remove(recent.removeFirst());
+            }
+            return Optional.ofNullable(best);
+        }
+
+        private void add(IndexedClaim claim) {
+            recent.addLast(claim);
+            for (long bandKey : claim.bandKeys()) {
+                bands.computeIfAbsent(bandKey, key -> new ArrayList<>(2)).add(claim);
+            }
+        }
+
+        private void remove(IndexedClaim claim) {
+            for (long bandKey : claim.bandKeys()) {
+                List<IndexedClaim> bucket = bands.get(bandKey);
+                if (bucket != null) {
+                    bucket.remove(claim);
+                    if (bucket.isEmpty()) {
+                        bands.remove(bandKey);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.insurance.fraud;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free sliding-window count and amount over a fixed ring of time buckets. Each bucket is a single
+ * {@code long} packing the bucket's absolute index (its epoch) in the upper bits with the running value
+ * in the lower bits. A bucket left over from an earlier lap of the ring is reset and added to in one
+ * CAS, so concurrent writers never lose updates and reads just sum the live buckets.
+ */
+final class SlidingWindowCounter {
+
+    private static final int VALUE_BITS = 36;
+    private static final long VALUE_MASK = (1L << VALUE_BITS) - 1;
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final AtomicLongArray counts;
+    private final AtomicLongArray amounts;
+
+    SlidingWindowCounter(long bucketMillis, int bucketCount) {
+        this.bucketMillis = bucketMillis;
+        this.bucketCount = bucketCount;
+        this.counts = new AtomicLongArray(bucketCount);
+        this.amounts = new AtomicLongArray(bucketCount);
+    }
+
+    void add(long nowMillis, long count, long amountCents) {
+        long epoch = nowMillis / bucketMillis;
+        int slot = (int) (epoch % bucketCount);
+        addToBucket(counts, slot, epoch, count);
+        addToBucket(amounts, slot, epoch, amountCents);
+    }
+
+    long count(long nowMillis) {
+        return sum(counts, nowMillis / bucketMillis);
+    }
+
+    long amount(long nowMillis) {
+        return sum(amounts, nowMillis / bucketMillis);
+    }
+
+    private static void addToBucket(AtomicLongArray buckets, int slot, long epoch, long delta) {
+        while (true) {
+            long current = buckets.get(slot);
+            long value = (current >>> VALUE_BITS) == epoch ? current & VALUE_MASK : 0;
+            long updated = (epoch << VALUE_BITS) | (Math.max(0, Math.min(VALUE_MASK, value + delta)));
+            if (buckets.compareAndSet(slot, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    private long sum(AtomicLongArray buckets, long currentEpoch) {
+        long total = 0;
+        for (int slot = 0; slot < bucketCount; slot++) {
+            long bucket = buckets.get(slot);
+            long epoch = bucket >>> VALUE_BITS;
+            if (epoch > currentEpoch - bucketCount && epoch <= currentEpoch) {
+                total += bucket & VALUE_MASK;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.insurance.fraud;
+
+import com.example.insurance.util.Money;
+
+/**
+ * Claim count and claimed amount seen for one key over the last hour, day and 30 days.
+ */
+public record VelocitySnapshot(
+        long claims1h,
+        long claims24h,
+        long claims30d,
+        Money amount1h,
+        Money amount24h,
+        Money amount30d) {
+
+    public static final VelocitySnapshot EMPTY =
+            new VelocitySnapshot(0, 0, 0, Money.ZERO, Money.ZERO, Money.ZERO);
+
+    /**
+     * This velocity with one more claim of the given amount in every window.
+     */
+    public VelocitySnapshot plusClaim(Money claimedAmount) {
+        return new VelocitySnapshot(claims1h + 1, claims24h + 1, claims30d + 1,
+                amount1h.plus(claimedAmount), amount24h.plus(claimedAmount), amount30d.plus(claimedAmount));
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.insurance.fraud;
+
+import com.example.insurance.util.Money;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sliding-window claim velocity per policy number, policyholder id and email. Each key keeps lock-free
+ * minute buckets for the last hour, hour buckets for the last day and day buckets for the last 30 days,
+ * so recording and reading are constant time. Keys idle for longer than the widest window are dropped,
+ * and each dimension is capped at {@code claims.velocity.max-keys} by evicting the least recently used keys.
+ * <p>
+ * Claims are scored with {@link #peek} and counted with {@link #record} only once they are stored, so
+ * redeliveries and claims rejected before storage do not add to the velocity of later claims.
+ */
+@ApplicationScoped
+public class VelocityTracker {
+
+    public enum Dimension {
+        POLICY, POLICYHOLDER, EMAIL
+    }
+
+    private static final long IDLE_MILLIS = TimeUnit.DAYS.toMillis(30);
+
+    @Inject
+    MetricRegistry registry;
+
+    @ConfigProperty(name = "claims.velocity.max-keys", defaultValue = "100000")
+    int maxKeys;
+
+    private final Map<Dimension, ConcurrentHashMap<String, Counters>> counters = new EnumMap<>(Dimension.class);
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder evictions = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        for (Dimension dimension : Dimension.values()) {
+            ConcurrentHashMap<String, Counters> keys = new ConcurrentHashMap<>();
+            counters.put(dimension, keys);
+            registry.gauge("claims.velocity.keys", keys, Map::size, new Tag("dimension", dimension.name().toLowerCase(Locale.ROOT)));
+        }
+        registry.gauge("claims.velocity.evictions", evictions, LongAdder::sum);
+    }
+
+    /**
+     * Velocity of each of the claim's keys with this claim included, without counting it.
+     */
+    public FraudSignals peek(String policyNumber, String policyholderId, String email, Money claimedAmount) {
+        long now = System.currentTimeMillis();
+        return new FraudSignals(
+                peek(Dimension.POLICY, policyNumber, claimedAmount, now),
+                peek(Dimension.POLICYHOLDER, policyholderId, claimedAmount, now),
+                peek(Dimension.EMAIL, normalizeEmail(email), claimedAmount, now),
+                null);
+    }
+
+    /**
+     * Counts a claim against each of its keys and returns the velocity including this claim.
+     */
+    public FraudSignals record(String policyNumber, String policyholderId, String email, Money claimedAmount) {
+        long now = System.currentTimeMillis();
+        return new FraudSignals(
+                record(Dimension.POLICY, policyNumber, claimedAmount, now),
+                record(Dimension.POLICYHOLDER, policyholderId, claimedAmount, now),
+                record(Dimension.EMAIL, normalizeEmail(email), claimedAmount, now),
+                null);
+    }
+
+    public VelocitySnapshot get(Dimension dimension, String key) {
+        Counters keyCounters = key != null ? counters.get(dimension).get(key) : null;
+        return keyCounters != null ? keyCounters.snapshot(System.currentTimeMillis()) : VelocitySnapshot.EMPTY;
+    }
+
+    // Forgets every counted claim, so tests sharing the application do not count each other's claims
+    void clear() {
+        counters.values().forEach(Map::clear);
+    }
+
+    private VelocitySnapshot peek(Dimension dimension, String key, Money claimedAmount, long now) {
+        if (key == null || key.isBlank()) {
+            return VelocitySnapshot.EMPTY;
+        }
+        Counters keyCounters = counters.get(dimension).get(key);
+        VelocitySnapshot counted = keyCounters != null ? keyCounters.snapshot(now) : VelocitySnapshot.EMPTY;
+        return counted.plusClaim(claimedAmount);
+    }
+
+    private VelocitySnapshot record(Dimension dimension, String key, Money claimedAmount, long now) {
+        if (key == null || key.isBlank()) {
+            return VelocitySnapshot.EMPTY;
+        }
+        ConcurrentHashMap<String, Counters> keys = counters.get(dimension);
+        Counters keyCounters = keys.computeIfAbsent(key, ignored -> new Counters());
+        keyCounters.add(now, claimedAmount.cents());
+        if (keys.size() > maxKeys) {
+            evict(keys, now);
+        }
+        return keyCounters.snapshot(now);
+    }
+
+    private void evict(ConcurrentHashMap<String, Counters> keys, long now) {
+        // One thread sweeps at a time; others keep recording instead of queueing behind the scan
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            keys.entrySet().removeIf(entry -> {
+                boolean idle = now - entry.getValue().lastSeenMillis >= IDLE_MILLIS;
+                if (idle) {
+                    evictions.increment();
+                }
+                return idle;
+            });
+
+            int excess = keys.size() - maxKeys;
+            if (excess <= 0) {
+                return;
+            }
+            int toEvict = Math.max(excess, maxKeys / 10);
+            keys.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastSeenMillis))
+                    .limit(toEvict)
+                    .toList()
+                    .forEach(entry -> {
+                        if (keys.remove(entry.getKey(), entry.getValue())) {
+                            evictions.increment();
+                        }
+                    });
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static String normalizeEmail(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static final class Counters {
+
+        private final SlidingWindowCounter lastHour = new SlidingWindowCounter(TimeUnit.MINUTES.toMillis(1), 60);
+        private final SlidingWindowCounter lastDay = new SlidingWindowCounter(TimeUnit.HOURS.toMillis(1), 24);
+        private final SlidingWindowCounter last30Days = new SlidingWindowCounter(TimeUnit.DAYS.toMillis(1), 30);
+        private volatile long lastSeenMillis;
+
+        void add(long now, long amountCents) {
+            lastHour.add(now, 1, amountCents);
+            lastDay.add(now, 1, amountCents);
+            last30Days.add(now, 1, amountCents);
+            lastSeenMillis = now;
+        }
+
+        VelocitySnapshot snapshot(long now) {
+            return new VelocitySnapshot(
+                    lastHour.count(now), lastDay.count(now), last30Days.count(now),
+                    Money.ofCents(lastHour.amount(now)), Money.ofCents(lastDay.amount(now)), Money.ofCents(last30Days.amount(now)));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.insurance.logging;
+
+import com.example.insurance.entity.Claim;
+import com.example.insurance.entity.ClaimAssessment;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.Config;
+import org.jboss.logging.Logger;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Structured, sampled logging for the claim hot path. Every line is a set of {@code key=value} pairs
+ * formatted lazily by the logger, so nothing is built when the level is off or the event is sampled out.
+ * Each category logs one event in {@code claims.logging.sample-rate.<category>}; failures and fraud
+ * default to every event.
+ */
+@ApplicationScoped
+public class ClaimEventLogger {
+
+    private static final Logger LOG = Logger.getLogger("com.example.insurance.claims");
+
+    public enum Category {
+        RECEIVED(100),
+        PROCESSED(100),
+        DUPLICATE(10),
+        REPEAT(10),
+        PUBLISHED(1000),
+        FRAUD(1),
+        REJECTED(1),
+        FAILED(1);
+
+        private final int defaultSampleRate;
+
+        Category(int defaultSampleRate) {
+            this.defaultSampleRate = defaultSampleRate;
+        }
+
+        String configKey() {
+            return "claims.logging.sample-rate." + name().toLowerCase();
+        }
+    }
+
+    @Inject
+    Config config;
+
+    private final Map<Category, Integer> sampleRates = new EnumMap<>(Category.class);
+    private final Map<Category, AtomicLong> counters = new EnumMap<>(Category.class);
+
+    @PostConstruct
+    void init() {
+        for (Category category : Category.values()) {
+            int rate = config.getOptionalValue(category.configKey(), Integer.class).orElse(category.defaultSampleRate);
+            sampleRates.put(category, Math.max(1, rate));
+            counters.put(category, new AtomicLong());
+        }
+    }
+
+    public void received(String source, String policyNumber) {
+        if (sampled(Category.RECEIVED, Logger.Level.INFO)) {
+            LOG.infof("event=claim_received source=%s policy=%s", source, policyNumber);
+        }
+    }
+
+    public void processed(Claim claim, ClaimAssessment assessment, boolean express) {
+        if (sampled(Category.PROCESSED, Logger.Level.INFO)) {
+            LOG.infof("event=claim_processed claim=%s policy=%s type=%s priority=%s express=%s approved=%s risk=%s fraud=%s processing_ms=%s",
+                    claim.getClaimNumber(), claim.getPolicyNumber(), claim.getClaimType(), claim.getPriority(), express,
+                    assessment.getApprovedAmount(), assessment.getRiskScore(), assessment.getFraudFlag(),
+                    assessment.getProcessingTimeMs());
+        }
+    }
+
+    /**
+     * A new claim whose content matches an earlier stored claim, whose assessment it reuses.
+     */
+    public void repeat(String claimNumber, String originalClaimNumber) {
+        if (sampled(Category.REPEAT, Logger.Level.INFO)) {
+            LOG.infof("event=claim_repeat claim=%s original=%s", claimNumber, originalClaimNumber);
+        }
+    }
+
+    public void duplicate(String claimNumber) {
+        if (sampled(Category.DUPLICATE, Logger.Level.INFO)) {
+            LOG.infof("event=claim_duplicate claim=%s", claimNumber);
+        }
+    }
+
+    public void published(String topic, String claimNumber) {
+        if (sampled(Category.PUBLISHED, Logger.Level.DEBUG)) {
+            LOG.debugf("event=claim_published topic=%s claim=%s", topic, claimNumber);
+        }
+    }
+
+    public void fraud(Claim claim, ClaimAssessment assessment) {
+        if (sampled(Category.FRAUD, Logger.Level.WARN)) {
+            LOG.warnf("event=fraud_detected claim=%s policy=%s amount=%s risk=%s",
+                    claim.getClaimNumber(), claim.getPolicyNumber(), claim.getClaimedAmount(), assessment.getRiskScore());
+        }
+    }
+
+    public void rejected(String policyNumber, String reason) {
+        if (sampled(Category.REJECTED, Logger.Level.WARN)) {
+            LOG.warnf("event=claim_rejected policy=%s reason=\"%s\"", policyNumber, reason);
+        }
+    }
+
+    public void failed(String stage, String claimNumber, Throwable error) {
+        if (sampled(Category.FAILED, Logger.Level.ERROR)) {
+            LOG.errorf(error, "event=claim_failed stage=%s claim=%s error=\"%s\"", stage, claimNumber, error.getMessage());
+        }
+    }
+
+    private boolean sampled(Category category, Logger.Level level) {
+        if (!LOG.isEnabled(level)) {
+            return false;
+        }
+        int rate = sampleRates.get(category);
+        return rate == 1 || counters.get(category).getAndIncrement() % rate == 0;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.insurance.pipeline;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.metrics.Histogram;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall-clock timing of the individual steps a claim goes through, recorded in the
+ * {@code claims.stage.time.us} histogram tagged by step. Unlike the pipeline stage metrics these
+ * exclude queueing and isolate the work itself.
+ */
+@ApplicationScoped
+public class ClaimStageTimer {
+
+    public enum Step {
+        PARSE("parse"),
+        POLICY_VALIDATION("policy-validation"),
+        DUPLICATE_CHECK("duplicate-check"),
+        ASSESSMENT("assessment"),
+        CLAIM_PERSIST("claim-persist"),
+        ASSESSMENT_PERSIST("assessment-persist"),
+        PUBLISH("publish"),
+        FRAUD_REFINEMENT("fraud-refinement");
+
+        private final String tag;
+
+        Step(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    @Inject
+    MetricRegistry registry;
+
+    private final Map<Step, Histogram> histograms = new EnumMap<>(Step.class);
+
+    @PostConstruct
+    void init() {
+        for (Step step : Step.values()) {
+            histograms.put(step, registry.histogram("claims.stage.time.us", new Tag("step", step.tag)));
+        }
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos} for the given step and returns it in nanoseconds.
+     */
+    public long record(Step step, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        histograms.get(step).update(TimeUnit.NANOSECONDS.toMicros(elapsed));
+        return elapsed;
+    }
+
+    /**
+     * Converts a measured duration to whole milliseconds, rounding up so that real work never reads as zero.
+     */
+    public static int toMillis(long elapsedNanos) {
+        return (int) Math.max(1, (elapsedNanos + 999_999) / 1_000_000);
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.insurance.pipeline;
+
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.Histogram;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * One stage of a staged (SEDA) pipeline: a bounded queue drained by a fixed number of workers.
+ * Submitting blocks once the queue is full, so a slow stage pushes back on the stages before it
+ * instead of buffering without limit. Queued items are taken in arrival order, or in the order of the
+ * stage's comparator when it has one, with arrival order breaking ties.
+ */
+public class PipelineStage<I, O> {
+
+    private final String name;
+    private final int concurrency;
+    private final int queueCapacity;
+    private final Function<I, O> handler;
+    private final Comparator<? super I> order;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore permits;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Histogram serviceTime;
+    private final Histogram queueWait;
+    private final Counter completed;
+    private final Counter failed;
+
+    private final LongAdder busyNanos = new LongAdder();
+    private long lastSampleNanos = System.nanoTime();
+    private long lastBusyNanos;
+    private double lastUtilization;
+
+    public PipelineStage(String name, int concurrency, int queueCapacity, Function<I, O> handler, MetricRegistry registry) {
+        this(name, concurrency, queueCapacity, handler, null, registry);
+    }
+
+    public PipelineStage(String name, int concurrency, int queueCapacity, Function<I, O> handler,
+                         Comparator<? super I> order, MetricRegistry registry) {
+        this.name = name;
+        this.concurrency = concurrency;
+        this.queueCapacity = queueCapacity;
+        this.handler = handler;
+        this.order = order;
+        this.permits = new Semaphore(queueCapacity + concurrency);
+
+        // The permits already bound the queue, so the ordered queue does not need its own capacity
+        BlockingQueue<Runnable> queue = order != null ?
+                new PriorityBlockingQueue<>(Math.min(queueCapacity, 1024)) : new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                queue, runnable -> {
+                    Thread thread = new Thread(runnable, "claim-stage-" + name + "-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Tag stageTag = new Tag("stage", name);
+        this.serviceTime = registry.histogram("claims.pipeline.service.time.us", stageTag);
+        this.queueWait = registry.histogram("claims.pipeline.queue.wait.us", stageTag);
+        this.completed = registry.counter("claims.pipeline.completed", stageTag);
+        this.failed = registry.counter("claims.pipeline.failed", stageTag);
+        registry.gauge("claims.pipeline.queue.depth", this, PipelineStage::queueDepth, stageTag);
+        registry.gauge("claims.pipeline.utilization", this, PipelineStage::utilization, stageTag);
+    }
+
+    public CompletableFuture<O> submit(I input) {
+        CompletableFuture<O> result = new CompletableFuture<>();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        long enqueuedAt = System.nanoTime();
+        try {
+            executor.execute(new QueuedItem(input, enqueuedAt, sequence.getAndIncrement(), result));
+        } catch (RuntimeException e) {
+            permits.release();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private void run(I input, long enqueuedAt, CompletableFuture<O> result) {
+        long startedAt = System.nanoTime();
+        queueWait.update(TimeUnit.NANOSECONDS.toMicros(startedAt - enqueuedAt));
+        try {
+            O output = handler.apply(input);
+            completed.inc();
+            result.complete(output);
+        } catch (Throwable t) {
+            failed.inc();
+            result.completeExceptionally(t);
+        } finally {
+            long elapsed = System.nanoTime() - startedAt;
+            busyNanos.add(elapsed);
+            serviceTime.update(TimeUnit.NANOSECONDS.toMicros(elapsed));
+            permits.release();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Fraction of the stage's worker capacity spent servicing items since the previous sample.
+     */
+    public synchronized double utilization() {
+        long now = System.nanoTime();
+        long busy = busyNanos.sum();
+        long elapsed = now - lastSampleNanos;
+        if (elapsed >= TimeUnit.MILLISECONDS.toNanos(100)) {
+            lastUtilization = Math.min(1.0, (double) (busy - lastBusyNanos) / ((double) elapsed * concurrency));
+            lastSampleNanos = now;
+            lastBusyNanos = busy;
+        }
+        return lastUtilization;
+    }
+
+    public StageStats stats() {
+        return new StageStats(name, concurrency, queueCapacity, queueDepth(), executor.getActiveCount(),
+                utilization(), serviceTime.getSnapshot().getMean() / 1000.0, queueWait.getSnapshot().getMean() / 1000.0,
+                completed.getCount(), failed.getCount());
+    }
+
+    public void shutdown() {
+        drain(Duration.ofSeconds(10));
+    }
+
+    /**
+     * Stops taking new items and waits for the queued and running ones to finish. Items still queued when
+     * the timeout expires are not run: their results fail with a {@link CancellationException} and their
+     * inputs are returned, so the caller can account for them.
+     */
+    public List<I> drain(Duration timeout) {
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return List.of();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<I> abandoned = new ArrayList<>();
+        for (Runnable queued : executor.shutdownNow()) {
+            @SuppressWarnings("unchecked")
+            QueuedItem item = (QueuedItem) queued;
+            item.result.completeExceptionally(new CancellationException("Stage " + name + " shut down"));
+            abandoned.add(item.input);
+        }
+        return abandoned;
+    }
+
+    private final class QueuedItem implements Runnable, Comparable<QueuedItem> {
+
+        private final I input;
+        private final long enqueuedAt;
+        private final long sequence;
+        private final CompletableFuture<O> result;
+
+        QueuedItem(I input, long enqueuedAt, long sequence, CompletableFuture<O> result) {
+            this.input = input;
+            this.enqueuedAt = enqueuedAt;
+            this.sequence = sequence;
+            this.result = result;
+        }
+
+        @Override
+        public void run() {
+            PipelineStage.this.run(input, enqueuedAt, result);
+        }
+
+        @Override
+        public int compareTo(QueuedItem other) {
+            int compared = order != null ? order.compare(input, other.input) : 0;
+            return compared != 0 ? compared : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    public record StageStats(String stage, int concurrency, int queueCapacity, int queueDepth, int activeWorkers,
+                             double utilization, double meanServiceTimeMs, double meanQueueWaitMs,
+                             long completed, long failed) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.insurance.pipeline;
+
+import io.quarkus.logging.Log;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+@ApplicationScoped
+public class PipelineStages {
+
+    private static final int DEFAULT_CONCURRENCY = 4;
+    private static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    @Inject
+    MetricRegistry registry;
+
+    @Inject
+    Config config;
+
+    private final List<PipelineStage<?, ?>> stages = new CopyOnWriteArrayList<>();
+
+    public <I, O> PipelineStage<I, O> create(String name, Function<I, O> handler) {
+        return create(name, handler, null);
+    }
+
+    /**
+     * Creates a stage whose queued items are taken in the given order instead of arrival order.
+     */
+    public <I, O> PipelineStage<I, O> create(String name, Function<I, O> handler, Comparator<? super I> order) {
+        int concurrency = config.getOptionalValue("claims.pipeline." + name + ".concurrency", Integer.class)
+                .orElse(DEFAULT_CONCURRENCY);
+        int queueCapacity = config.getOptionalValue("claims.pipeline." + name + ".queue-capacity", Integer.class)
+                .orElse(DEFAULT_QUEUE_CAPACITY);
+
+        PipelineStage<I, O> stage = new PipelineStage<>(name, concurrency, queueCapacity, handler, order, registry);
+        stages.add(stage);
+        Log.infof("[PIPELINE] Stage %s started with %d workers and queue capacity %d", name, concurrency, queueCapacity);
+        return stage;
+    }
+
+    public List<PipelineStage.StageStats> stats() {
+        return stages.stream().<PipelineStage.StageStats>map(PipelineStage::stats).toList();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stages.forEach(PipelineStage::shutdown);
+    }
+}
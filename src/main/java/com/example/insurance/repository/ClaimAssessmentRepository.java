@@ -1,15 +1,22 @@
 package com.example.insurance.repository;
 
+import com.example.insurance.dto.AssessmentSummary;
 import com.example.insurance.entity.ClaimAssessment;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
 import jakarta.transaction.Transactional;
+import org.hibernate.query.NativeQuery;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class ClaimAssessmentRepository implements PanacheRepositoryBase<ClaimAssessment, Long> {
@@ -17,6 +24,12 @@ public class ClaimAssessmentRepository implements PanacheRepositoryBase<ClaimAss
     @Inject
     EntityManager entityManager;
 
+    @Inject
+    StatelessQueries statelessQueries;
+
+    @Inject
+    ClaimStatisticsTracker statisticsTracker;
+
     public Optional<ClaimAssessment> findByClaimNumber(String claimNumber) {
         return find("claimNumber", claimNumber).firstResultOptional();
     }
@@ -41,41 +54,105 @@ public class ClaimAssessmentRepository implements PanacheRepositoryBase<ClaimAss
         return find("assessmentDate BETWEEN ?1 AND ?2", startDate, endDate).list();
     }
 
+    /**
+     * Streaming variant of {@link #findByFraudFlag}; see {@link StatelessQueries} for the transaction and
+     * closing requirements.
+     */
+    public Stream<ClaimAssessment> streamByFraudFlag(boolean fraudFlag) {
+        return statelessQueries.stream(ClaimAssessment.class, "fraudFlag = ?1", fraudFlag);
+    }
+
+    public Stream<ClaimAssessment> streamHighRiskClaims(int threshold) {
+        return statelessQueries.stream(ClaimAssessment.class, "riskScore >= ?1", threshold);
+    }
+
+    public Stream<ClaimAssessment> streamByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return statelessQueries.stream(ClaimAssessment.class, "assessmentDate BETWEEN ?1 AND ?2", startDate, endDate);
+    }
+
+    // range(0, size) is inclusive and fetches one extra row to tell whether another page follows
+    public KeysetPage<ClaimAssessment> findByFraudFlagPage(boolean fraudFlag, Long afterId, int size) {
+        return KeysetPage.of(find("fraudFlag = ?1 AND id > ?2", Sort.by("id"), fraudFlag, KeysetPage.seekFrom(afterId))
+                .range(0, size).list(), size, ClaimAssessment::getId);
+    }
+
+    public KeysetPage<ClaimAssessment> findHighRiskClaimsPage(int threshold, Long afterId, int size) {
+        return KeysetPage.of(find("riskScore >= ?1 AND id > ?2", Sort.by("id"), threshold, KeysetPage.seekFrom(afterId))
+                .range(0, size).list(), size, ClaimAssessment::getId);
+    }
+
+    // Summaries select only the listed columns into records, skipping the notes and the persistence context
+
+    public Optional<AssessmentSummary> findSummaryByClaimNumber(String claimNumber) {
+        return find("claimNumber", claimNumber).project(AssessmentSummary.class).firstResultOptional();
+    }
+
+    public KeysetPage<AssessmentSummary> findFraudulentSummaries(Long afterId, int size) {
+        return KeysetPage.of(find("fraudFlag = true AND id > ?1", Sort.by("id"), KeysetPage.seekFrom(afterId))
+                .project(AssessmentSummary.class).range(0, size).list(), size, AssessmentSummary::id);
+    }
+
     @Transactional
     public ClaimAssessment create(ClaimAssessment assessment) {
         persist(assessment);
+        statisticsTracker.recordStored(null, assessment);
         return assessment;
     }
 
     @Transactional
     public void createOrUpdate(ClaimAssessment assessment) {
+        ClaimStatisticsTracker.Delta statistics = new ClaimStatisticsTracker.Delta();
+        // Locked so the statistics move from the verdict this write actually replaces
+        ClaimAssessment replaced = assessment.getId() != null
+                ? findById(assessment.getId(), LockModeType.PESSIMISTIC_WRITE)
+                : null;
+        if (replaced != null) {
+            statistics.removed(replaced);
+        }
         if (assessment.getId() == null) {
             persist(assessment);
         } else {
             entityManager.merge(assessment);
         }
+        statistics.stored(null, assessment);
+        statisticsTracker.apply(statistics);
     }
 
-    public long countFraudulentClaims() {
-        return count("fraudFlag", true);
-    }
-
-    public long countHighRiskClaims(int threshold) {
-        return count("riskScore >= ?1", threshold);
-    }
-
-    public double getAverageProcessingTime() {
-        Number avgTime = (Number) getEntityManager()
-                .createQuery("SELECT AVG(processingTimeMs) FROM ClaimAssessment WHERE processingTimeMs IS NOT NULL")
-                .getSingleResult();
-        return avgTime != null ? avgTime.doubleValue() : 0.0;
+    /**
+     * Inserts the assessment unless the claim already has one.
+     * PostgreSQL only, see {@link ClaimNumberLocks}.
+     *
+     * @return true if the row was new, false if the claim was already assessed
+     */
+    @Transactional
+    public boolean insertIfAbsent(ClaimAssessment assessment) {
+        ClaimNumberLocks.lock(entityManager, assessment.getClaimNumber());
+        List<?> ids = bindAssessment(entityManager.createNativeQuery("""
+                INSERT INTO claim_assessments (claim_number, assessor_id, assessment_date, approved_amount, risk_score,
+                                               fraud_flag, assessment_notes, processing_time_ms, repeat_of, created_at)
+                SELECT :claimNumber, :assessorId, :assessmentDate, :approvedAmount, :riskScore,
+                       :fraudFlag, :assessmentNotes, :processingTimeMs, :repeatOf, :createdAt
+                WHERE NOT EXISTS (SELECT 1 FROM claim_registry
+                                  WHERE claim_number = :claimNumber AND assessment_id IS NOT NULL)
+                RETURNING id
+                """), assessment).getResultList();
+
+        if (ids.isEmpty()) {
+            return false;
+        }
+        assessment.setId(((Number) ids.get(0)).longValue());
+        return true;
     }
 
-    public Double getAverageRiskScore() {
-        Number avgScore = (Number) getEntityManager()
-                .createQuery("SELECT AVG(riskScore) FROM ClaimAssessment WHERE riskScore IS NOT NULL")
-                .getSingleResult();
-        return avgScore != null ? avgScore.doubleValue() : 0.0;
+    /**
+     * Replaces the risk score, fraud flag and notes of a stored assessment, leaving the approved amount as is.
+     *
+     * @return true if the claim had an assessment to update
+     */
+    @Transactional
+    public boolean updateFraudVerdict(String claimNumber, int riskScore, boolean fraudFlag, String assessmentNotes) {
+        return update("riskScore = ?1, fraudFlag = ?2, assessmentNotes = ?3 WHERE claimNumber = ?4",
+                riskScore, fraudFlag, assessmentNotes, claimNumber) > 0;
     }
 
     public List<ClaimAssessment> findByFraudFlag(boolean fraudFlag) {
@@ -83,23 +160,50 @@ public class ClaimAssessmentRepository implements PanacheRepositoryBase<ClaimAss
     }
 
     public List<ClaimAssessment> findHighRiskAssessments() {
-        return find("riskScore >= 40", 40).list();
+        return findHighRiskClaims(ClaimStatisticsTracker.HIGH_RISK_THRESHOLD);
     }
 
     public long countByAssessorId(String assessorId) {
         return count("assessorId", assessorId);
     }
 
-    public long countByFraudFlag(boolean fraudFlag) {
-        return count("fraudFlag", fraudFlag);
-    }
-
-    public long countHighRiskAssessments() {
-        return count("riskScore >= 40");
-    }
-
     @Transactional
     public boolean deleteByClaimNumber(String claimNumber) {
-        return delete("claimNumber", claimNumber) > 0;
+        // Locked so a concurrent refinement cannot change the verdict uncounted here
+        List<ClaimAssessment> assessments = find("claimNumber", claimNumber)
+                .withLock(LockModeType.PESSIMISTIC_WRITE)
+                .list();
+        ClaimStatisticsTracker.Delta statistics = new ClaimStatisticsTracker.Delta();
+        for (ClaimAssessment assessment : assessments) {
+            statistics.removed(assessment);
+            delete(assessment);
+        }
+        statisticsTracker.apply(statistics);
+        return !assessments.isEmpty();
     }
-}
\ No newline at end of file
+
+    private Query bindAssessment(Query query, ClaimAssessment assessment) {
+        LocalDateTime now = LocalDateTime.now();
+        if (assessment.getAssessmentDate() == null) {
+            assessment.setAssessmentDate(now);
+        }
+        if (assessment.getCreatedAt() == null) {
+            assessment.setCreatedAt(now);
+        }
+
+        // Typed bindings so nullable columns bind as the right SQL type when the value is null
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object> nativeQuery = query.unwrap(NativeQuery.class);
+        return nativeQuery
+                .setParameter("claimNumber", assessment.getClaimNumber())
+                .setParameter("assessorId", assessment.getAssessorId(), String.class)
+                .setParameter("assessmentDate", assessment.getAssessmentDate())
+                .setParameter("approvedAmount", assessment.getApprovedAmount(), BigDecimal.class)
+                .setParameter("riskScore", assessment.getRiskScore(), Integer.class)
+                .setParameter("fraudFlag", Boolean.TRUE.equals(assessment.getFraudFlag()))
+                .setParameter("assessmentNotes", assessment.getAssessmentNotes(), String.class)
+                .setParameter("processingTimeMs", assessment.getProcessingTimeMs(), Integer.class)
+                .setParameter("repeatOf", assessment.getRepeatOf(), String.class)
+                .setParameter("createdAt", assessment.getCreatedAt());
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.insurance.repository;
+
+import com.example.insurance.entity.Claim;
+import com.example.insurance.entity.ClaimAssessment;
+import com.example.insurance.pipeline.ClaimStageTimer;
+import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Write-behind writer for claims and assessments. Concurrent processors enqueue rows and get a
+ * future back; a single flusher thread drains the queue every {@code batch-size} records or
+ * {@code flush-interval-ms} milliseconds and persists the whole batch in one transaction, which
+ * Hibernate sends as JDBC batch inserts.
+ * <p>
+ * Writes are idempotent: claims and assessments already stored (for example after a Kafka redelivery)
+ * are skipped and their future completes with {@code false} instead of failing the batch. Claim numbers
+ * are checked against {@code claim_registry} as well, so a claim number held by an archived claim counts
+ * as stored, and an assessment is only written along with its claim when that claim was inserted. A claim stored
+ * by another writer between the check and the insert fails the batch with a unique violation; the row is
+ * then written on its own again, finds the committed claim and completes with {@code false} as well.
+ * The claim statistics of the rows stored are updated in the batch's transaction.
+ * <p>
+ * The claim and assessment persist steps are timed once per flushed batch rather than per claim.
+ */
+@ApplicationScoped
+public class ClaimBatchWriter {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    ClaimStageTimer stageTimer;
+
+    @Inject
+    ClaimStatisticsTracker statisticsTracker;
+
+    @ConfigProperty(name = "claims.write-behind.batch-size", defaultValue = "200")
+    int batchSize;
+
+    @ConfigProperty(name = "claims.write-behind.flush-interval-ms", defaultValue = "20")
+    long flushIntervalMs;
+
+    @ConfigProperty(name = "claims.write-behind.queue-capacity", defaultValue = "10000")
+    int queueCapacity;
+
+    private BlockingQueue<PendingWrite> queue;
+    private Thread flusher;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        flusher = new Thread(this::runFlushLoop, "claim-batch-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+        Log.infof("[BATCH-WRITER] Started with batch size %d and flush interval %d ms", batchSize, flushIntervalMs);
+    }
+
+    /**
+     * Stops the flusher and writes what is still queued. If the flusher is still inside a flush after the
+     * timeout, the queued writes are failed instead, so two transactions never write at once.
+     */
+    @PreDestroy
+    void stop() {
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (remaining.isEmpty()) {
+            return;
+        }
+        if (flusher.isAlive()) {
+            Log.errorf("[BATCH-WRITER] Flusher did not stop in time, dropping %d queued writes", remaining.size());
+            IllegalStateException failure = new IllegalStateException("Claim batch writer stopped before the write was flushed");
+            remaining.forEach(write -> write.future().completeExceptionally(failure));
+            return;
+        }
+        flush(remaining);
+    }
+
+    public CompletableFuture<Boolean> write(Claim claim, ClaimAssessment assessment) {
+        return enqueue(new PendingWrite(claim, assessment));
+    }
+
+    public CompletableFuture<Boolean> writeClaim(Claim claim) {
+        return enqueue(new PendingWrite(claim, null));
+    }
+
+    public CompletableFuture<Boolean> writeAssessment(ClaimAssessment assessment) {
+        return enqueue(new PendingWrite(null, assessment));
+    }
+
+    public int pendingWrites() {
+        return queue.size();
+    }
+
+    private CompletableFuture<Boolean> enqueue(PendingWrite write) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Claim batch writer is not running"));
+        }
+        try {
+            // Blocks when the queue is full so producers feel backpressure instead of growing the heap
+            queue.put(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write.future().completeExceptionally(e);
+        }
+        return write.future();
+    }
+
+    private void runFlushLoop() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+
+        while (running) {
+            try {
+                PendingWrite first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        try {
+            Map<PendingWrite, Boolean> results = writeInTransaction(batch);
+            results.forEach((write, inserted) -> write.future().complete(inserted));
+            Log.debugf("[BATCH-WRITER] Flushed %d writes", batch.size());
+        } catch (RuntimeException e) {
+            Log.warnf(e, "[BATCH-WRITER] Batch of %d writes failed, retrying individually", batch.size());
+            flushIndividually(batch);
+        }
+    }
+
+    private void flushIndividually(List<PendingWrite> batch) {
+        // Isolate the offending rows so one bad claim does not fail the whole batch
+        for (PendingWrite write : batch) {
+            try {
+                write.future().complete(writeAlone(write));
+            } catch (RuntimeException e) {
+                Log.errorf(e, "[BATCH-WRITER] Failed to write claim: %s", write.claimNumber());
+                write.future().completeExceptionally(e);
+            }
+        }
+    }
+
+    private boolean writeAlone(PendingWrite write) {
+        try {
+            write.resetIds();
+            return writeInTransaction(List.of(write)).get(write);
+        } catch (RuntimeException e) {
+            if (!isUniqueViolation(e)) {
+                throw e;
+            }
+            // The unique violation is only raised once the competing insert has committed, so the
+            // existence check of a second attempt sees that row and reports the write as a duplicate
+            Log.debugf("[BATCH-WRITER] Claim %s was stored concurrently, checking again", write.claimNumber());
+            write.resetIds();
+            return writeInTransaction(List.of(write)).get(write);
+        }
+    }
+
+    private static boolean isUniqueViolation(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<PendingWrite, Boolean> writeInTransaction(List<PendingWrite> batch) {
+        // Ids come from pooled sequences, so Hibernate groups these persists into ordered JDBC batches on flush
+        return QuarkusTransaction.requiringNew().call(() -> {
+            Set<String> storedClaims = findStored("""
+                    SELECT c.claimNumber FROM Claim c WHERE c.claimNumber IN :numbers
+                    UNION SELECT r.claimNumber FROM ClaimRegistration r WHERE r.claimNumber IN :numbers
+                    """, batch, PendingWrite::claim);
+            Set<String> storedAssessments = findStored("""
+                    SELECT a.claimNumber FROM ClaimAssessment a WHERE a.claimNumber IN :numbers
+                    UNION SELECT r.claimNumber FROM ClaimRegistration r
+                    WHERE r.claimNumber IN :numbers AND r.assessmentId IS NOT NULL
+                    """, batch, PendingWrite::assessment);
+
+            // Claims and assessments are flushed separately so each insert step is timed on its own
+            Map<PendingWrite, Boolean> results = new IdentityHashMap<>();
+            ClaimStatisticsTracker.Delta statistics = new ClaimStatisticsTracker.Delta();
+            long startTime = System.nanoTime();
+            for (PendingWrite write : batch) {
+                // add() also catches the same claim arriving twice within one batch
+                boolean inserted = write.claim() != null && storedClaims.add(write.claim().getClaimNumber());
+                if (inserted) {
+                    entityManager.persist(write.claim());
+                    statistics.stored(write.claim(), null);
+                }
+                results.put(write, inserted);
+            }
+            entityManager.flush();
+            stageTimer.record(ClaimStageTimer.Step.CLAIM_PERSIST, startTime);
+
+            startTime = System.nanoTime();
+            for (PendingWrite write : batch) {
+                // A claim that was already stored keeps the assessment it was stored with
+                boolean claimSkipped = write.claim() != null && !results.get(write);
+                if (write.assessment() != null && !claimSkipped && storedAssessments.add(write.assessment().getClaimNumber())) {
+                    entityManager.persist(write.assessment());
+                    statistics.stored(null, write.assessment());
+                    if (write.claim() == null) {
+                        results.put(write, true);
+                    }
+                }
+            }
+            entityManager.flush();
+            stageTimer.record(ClaimStageTimer.Step.ASSESSMENT_PERSIST, startTime);
+            statisticsTracker.apply(statistics);
+            return results;
+        });
+    }
+
+    private Set<String> findStored(String query, List<PendingWrite> batch, Function<PendingWrite, Object> row) {
+        List<String> claimNumbers = batch.stream()
+                .filter(write -> row.apply(write) != null)
+                .map(PendingWrite::claimNumber)
+                .toList();
+        if (claimNumbers.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(entityManager.createQuery(query, String.class)
+                .setParameter("numbers", claimNumbers)
+                .getResultList());
+    }
+
+    private record PendingWrite(Claim claim, ClaimAssessment assessment, CompletableFuture<Boolean> future) {
+
+        PendingWrite(Claim claim, ClaimAssessment assessment) {
+            this(claim, assessment, new CompletableFuture<>());
+        }
+
+        String claimNumber() {
+            return claim != null ? claim.getClaimNumber() : assessment.getClaimNumber();
+        }
+
+        void resetIds() {
+            if (claim != null) {
+                claim.setId(null);
+            }
+            if (assessment != null) {
+                assessment.setId(null);
+            }
+        }
+    }
+}
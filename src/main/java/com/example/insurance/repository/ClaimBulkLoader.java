@@ -0,0 +1,319 @@
+package com.example.insurance.repository;
+
+import com.example.insurance.entity.Claim;
+import com.example.insurance.entity.ClaimAssessment;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Bulk persistence path for backfills and surges. Rows are streamed into PostgreSQL with COPY in CSV
+ * format through the driver's {@link CopyManager}, so millions of claims load without per-row statements.
+ * Ids and the remaining timestamps come from the column defaults.
+ * <p>
+ * Backfill batches are copied into temporary staging tables first and moved into the claim tables with
+ * one {@code INSERT ... SELECT} each, skipping claim numbers that are already registered. A redelivered
+ * batch therefore stores only the claims that are still missing instead of failing on the registry.
+ */
+@ApplicationScoped
+public class ClaimBulkLoader {
+
+    public static final String CLAIM_COLUMNS =
+            "claim_number, policy_number, claim_type, incident_date, claim_date, claimed_amount, description, status, priority";
+
+    public static final String ASSESSMENT_COLUMNS =
+            "claim_number, assessor_id, assessment_date, approved_amount, risk_score, fraud_flag, assessment_notes, processing_time_ms";
+
+    private static final String CREATE_CLAIM_STAGING_SQL =
+            "CREATE TEMP TABLE claim_staging ON COMMIT DROP AS SELECT " + CLAIM_COLUMNS + " FROM claims WITH NO DATA";
+    private static final String CREATE_ASSESSMENT_STAGING_SQL =
+            "CREATE TEMP TABLE assessment_staging ON COMMIT DROP AS SELECT " + ASSESSMENT_COLUMNS + " FROM claim_assessments WITH NO DATA";
+
+    // Same lock keys as ClaimNumberLocks, taken in one order so concurrent batches cannot deadlock
+    private static final String LOCK_STAGED_CLAIMS_SQL = """
+            SELECT pg_advisory_xact_lock(hashtext(claim_number))
+            FROM (SELECT DISTINCT claim_number FROM claim_staging) staged
+            ORDER BY hashtext(claim_number), claim_number
+            """;
+    private static final String DROP_REGISTERED_CLAIMS_SQL = """
+            DELETE FROM claim_staging s
+            USING claim_registry r
+            WHERE r.claim_number = s.claim_number
+            """;
+    private static final String DROP_REPEATED_CLAIMS_SQL = """
+            DELETE FROM claim_staging a
+            USING claim_staging b
+            WHERE a.claim_number = b.claim_number AND a.ctid > b.ctid
+            """;
+    private static final String DROP_REPEATED_ASSESSMENTS_SQL = """
+            DELETE FROM assessment_staging a
+            USING assessment_staging b
+            WHERE a.claim_number = b.claim_number AND a.ctid > b.ctid
+            """;
+    private static final String INSERT_STAGED_CLAIMS_SQL =
+            "INSERT INTO claims (" + CLAIM_COLUMNS + ") SELECT " + CLAIM_COLUMNS + " FROM claim_staging RETURNING claim_number";
+    private static final String INSERT_STAGED_ASSESSMENTS_SQL =
+            "INSERT INTO claim_assessments (" + ASSESSMENT_COLUMNS + ") SELECT " + ASSESSMENT_COLUMNS +
+            " FROM assessment_staging a WHERE EXISTS (SELECT 1 FROM claim_staging s WHERE s.claim_number = a.claim_number)";
+
+    private static final int FLUSH_THRESHOLD_CHARS = 64 * 1024;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    ClaimStatisticsTracker statisticsTracker;
+
+    @Inject
+    PolicyExposureTracker exposureTracker;
+
+    // Checked once; a connection failure leaves it unknown so the next call checks again
+    private volatile Boolean supported;
+
+    void onStart(@Observes StartupEvent event) {
+        isSupported();
+    }
+
+    public boolean isSupported() {
+        Boolean result = supported;
+        if (result != null) {
+            return result;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            result = connection.isWrapperFor(PGConnection.class);
+            supported = result;
+            return result;
+        } catch (SQLException e) {
+            Log.warnf(e, "[BULK-LOAD] Could not check for a PostgreSQL connection, falling back to write-behind for now");
+            return false;
+        }
+    }
+
+    /**
+     * Stores the claims that are not registered yet together with their assessments, in one transaction.
+     * Claims already stored, for example by an earlier delivery of the same batch, and repeats of a claim
+     * number within the batch are skipped along with their assessments.
+     */
+    public BulkLoadResult copyClaimsWithAssessments(Iterable<Claim> claims, Iterable<ClaimAssessment> assessments) {
+        long startTime = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_CLAIM_STAGING_SQL);
+                statement.execute(CREATE_ASSESSMENT_STAGING_SQL);
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                copyClaims(copyManager, "claim_staging", claims);
+                copyAssessments(copyManager, "assessment_staging", assessments);
+
+                statement.execute(LOCK_STAGED_CLAIMS_SQL);
+                statement.executeUpdate(DROP_REGISTERED_CLAIMS_SQL);
+                statement.executeUpdate(DROP_REPEATED_CLAIMS_SQL);
+                statement.executeUpdate(DROP_REPEATED_ASSESSMENTS_SQL);
+
+                Set<String> stored = new HashSet<>();
+                try (ResultSet inserted = statement.executeQuery(INSERT_STAGED_CLAIMS_SQL)) {
+                    while (inserted.next()) {
+                        stored.add(inserted.getString(1));
+                    }
+                }
+                long assessmentRows = statement.executeUpdate(INSERT_STAGED_ASSESSMENTS_SQL);
+                connection.commit();
+                statisticsTracker.apply(statistics(claims, assessments, stored));
+
+                BulkLoadResult result = new BulkLoadResult(stored.size(), assessmentRows, elapsedMillis(startTime), stored);
+                Log.infof("[BULK-LOAD] Copied %d claims and %d assessments in %d ms",
+                        result.claims(), result.assessments(), result.elapsedMs());
+                return result;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Bulk load of claims failed", e);
+        }
+    }
+
+    public BulkLoadResult importClaimsCsv(InputStream csv, boolean header) {
+        return importCsv("claims", CLAIM_COLUMNS, csv, header, true);
+    }
+
+    public BulkLoadResult importAssessmentsCsv(InputStream csv, boolean header) {
+        return importCsv("claim_assessments", ASSESSMENT_COLUMNS, csv, header, false);
+    }
+
+    private BulkLoadResult importCsv(String table, String columns, InputStream csv, boolean header, boolean claims) {
+        long startTime = System.nanoTime();
+        String sql = "COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv, HEADER " + header + ")";
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                long rows = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, csv);
+                connection.commit();
+
+                BulkLoadResult result = claims ?
+                        new BulkLoadResult(rows, 0, elapsedMillis(startTime)) :
+                        new BulkLoadResult(0, rows, elapsedMillis(startTime));
+                Log.infof("[BULK-LOAD] Imported %d rows into %s in %d ms", rows, table, result.elapsedMs());
+                // Imported rows are not seen one by one, so the statistics and policy exposures are recounted
+                // from the tables; in the background, as the import is committed whether or not that succeeds
+                statisticsTracker.reconcileAsync();
+                exposureTracker.reconcileAsync();
+                return result;
+            } catch (SQLException | IOException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("CSV import into " + table + " failed", e);
+        }
+    }
+
+    // The first copy of each stored claim and of its assessment is the one kept by the staging step
+    private static ClaimStatisticsTracker.Delta statistics(Iterable<Claim> claims, Iterable<ClaimAssessment> assessments,
+                                                           Set<String> stored) {
+        ClaimStatisticsTracker.Delta delta = new ClaimStatisticsTracker.Delta();
+        Set<String> counted = new HashSet<>();
+        for (Claim claim : claims) {
+            if (stored.contains(claim.getClaimNumber()) && counted.add(claim.getClaimNumber())) {
+                delta.stored(claim, null);
+            }
+        }
+        counted.clear();
+        for (ClaimAssessment assessment : assessments) {
+            if (stored.contains(assessment.getClaimNumber()) && counted.add(assessment.getClaimNumber())) {
+                delta.stored(null, assessment);
+            }
+        }
+        return delta;
+    }
+
+    private long copyClaims(CopyManager copyManager, String table, Iterable<Claim> claims) throws SQLException {
+        CopyIn copyIn = copyManager.copyIn("COPY " + table + " (" + CLAIM_COLUMNS + ") FROM STDIN WITH (FORMAT csv)");
+        try {
+            StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD_CHARS + 1024);
+            LocalDateTime now = LocalDateTime.now();
+            for (Claim claim : claims) {
+                appendField(buffer, claim.getClaimNumber()).append(',');
+                appendField(buffer, claim.getPolicyNumber()).append(',');
+                appendField(buffer, claim.getClaimType()).append(',');
+                appendField(buffer, claim.getIncidentDate()).append(',');
+                appendField(buffer, claim.getClaimDate() != null ? claim.getClaimDate() : now).append(',');
+                appendField(buffer, claim.getClaimedAmount()).append(',');
+                appendField(buffer, claim.getDescription()).append(',');
+                appendField(buffer, claim.getStatus() != null ? claim.getStatus() : Claim.ClaimStatus.SUBMITTED).append(',');
+                appendField(buffer, claim.getPriority() != null ? claim.getPriority() : Claim.ClaimPriority.NORMAL).append('\n');
+                flushIfFull(copyIn, buffer);
+            }
+            flush(copyIn, buffer);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private long copyAssessments(CopyManager copyManager, String table, Iterable<ClaimAssessment> assessments) throws SQLException {
+        CopyIn copyIn = copyManager.copyIn("COPY " + table + " (" + ASSESSMENT_COLUMNS + ") FROM STDIN WITH (FORMAT csv)");
+        try {
+            StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD_CHARS + 1024);
+            LocalDateTime now = LocalDateTime.now();
+            for (ClaimAssessment assessment : assessments) {
+                appendField(buffer, assessment.getClaimNumber()).append(',');
+                appendField(buffer, assessment.getAssessorId()).append(',');
+                appendField(buffer, assessment.getAssessmentDate() != null ? assessment.getAssessmentDate() : now).append(',');
+                appendField(buffer, assessment.getApprovedAmount()).append(',');
+                appendField(buffer, assessment.getRiskScore()).append(',');
+                appendField(buffer, Boolean.TRUE.equals(assessment.getFraudFlag())).append(',');
+                appendField(buffer, assessment.getAssessmentNotes()).append(',');
+                appendField(buffer, assessment.getProcessingTimeMs()).append('\n');
+                flushIfFull(copyIn, buffer);
+            }
+            flush(copyIn, buffer);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static StringBuilder appendField(StringBuilder buffer, Object value) {
+        // An unquoted empty field is NULL in CSV COPY, so empty strings are quoted to keep them distinct
+        if (value == null) {
+            return buffer;
+        }
+        String text = value.toString();
+        if (text.isEmpty()) {
+            return buffer.append("\"\"");
+        }
+        boolean needsQuoting = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                needsQuoting = true;
+                break;
+            }
+        }
+        if (!needsQuoting) {
+            return buffer.append(text);
+        }
+        buffer.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        return buffer.append('"');
+    }
+
+    private static void flushIfFull(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.length() >= FLUSH_THRESHOLD_CHARS) {
+            flush(copyIn, buffer);
+        }
+    }
+
+    private static void flush(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * @param storedClaimNumbers the claims a backfill batch stored; not tracked for CSV imports
+     */
+    public record BulkLoadResult(long claims, long assessments, long elapsedMs,
+                                 @JsonIgnore Set<String> storedClaimNumbers) {
+
+        public BulkLoadResult(long claims, long assessments, long elapsedMs) {
+            this(claims, assessments, elapsedMs, Set.of());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.insurance.repository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Transaction-scoped advisory locks on claim numbers. Claim numbers are kept unique by the
+ * {@code claim_registry} table rather than by a unique index on the partitioned claims and assessments
+ * tables, so the idempotent inserts have no {@code ON CONFLICT} target; holding the lock while checking
+ * the registry and inserting makes the two steps atomic against concurrent writers of the same claim.
+ * <p>
+ * The locks, and the {@code INSERT ... RETURNING} statements that take them, need PostgreSQL and the
+ * Flyway schema; the H2 test database has neither.
+ */
+final class ClaimNumberLocks {
+
+    private ClaimNumberLocks() {
+    }
+
+    static void lock(EntityManager entityManager, String claimNumber) {
+        entityManager.createNativeQuery("SELECT pg_advisory_xact_lock(hashtext(:claimNumber))")
+                .setParameter("claimNumber", claimNumber)
+                .getSingleResult();
+    }
+}
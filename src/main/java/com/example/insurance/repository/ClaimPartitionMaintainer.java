@@ -0,0 +1,123 @@
+package com.example.insurance.repository;
+
+import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the monthly partitions of {@code claims} and {@code claim_assessments} ahead of the calendar and
+ * archives the old ones, using the partition functions of the V4 migration. Each run creates the
+ * partitions up to {@code claims.partitions.months-ahead} months ahead, including months of backfilled
+ * rows waiting in the default partition, then detaches the partitions older than
+ * {@code claims.partitions.retention-months} into the {@code claims_archive} schema, recording their totals
+ * for the exposure and statistics reconciliations (V5). Claims are archived before assessments; each
+ * approved amount is counted once, by whichever side is archived first. Keeping the number of
+ * live partitions fixed is what keeps claim number lookups, which probe every partition, from slowing
+ * down as history grows.
+ */
+@ApplicationScoped
+public class ClaimPartitionMaintainer {
+
+    private static final List<PartitionedTable> TABLES = List.of(
+            new PartitionedTable("claims", "claim_date"),
+            new PartitionedTable("claim_assessments", "assessment_date"));
+
+    @Inject
+    EntityManager entityManager;
+
+    @ConfigProperty(name = "claims.partitions.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "claims.partitions.months-ahead", defaultValue = "3")
+    int monthsAhead;
+
+    @ConfigProperty(name = "claims.partitions.retention-months", defaultValue = "24")
+    int retentionMonths;
+
+    @ConfigProperty(name = "claims.partitions.maintenance-interval-hours", defaultValue = "6")
+    long maintenanceIntervalHours;
+
+    private ScheduledExecutorService scheduler;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        maintain();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "claim-partition-maintainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::maintainQuietly, maintenanceIntervalHours, maintenanceIntervalHours, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates missing partitions and archives expired ones for both tables, each table in its own transaction.
+     */
+    public PartitionMaintenance maintain() {
+        long startTime = System.nanoTime();
+        int created = 0;
+        int archived = 0;
+        for (PartitionedTable table : TABLES) {
+            PartitionMaintenance result = QuarkusTransaction.requiringNew().call(() -> maintain(table));
+            created += result.created();
+            archived += result.archived();
+        }
+        Log.infof("[PARTITIONS] Created %d and archived %d monthly partitions in %d ms",
+                created, archived, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        return new PartitionMaintenance(created, archived);
+    }
+
+    private PartitionMaintenance maintain(PartitionedTable table) {
+        // Starting from the oldest row in the default partition moves backfilled history into its own months
+        int created = ((Number) entityManager.createNativeQuery(
+                        "SELECT ensure_monthly_partitions(:parent, :monthsAhead, " +
+                        "COALESCE((SELECT min(" + table.dateColumn() + ") FROM " + table.name() + "_default)::DATE, CURRENT_DATE))")
+                .setParameter("parent", table.name())
+                .setParameter("monthsAhead", monthsAhead)
+                .getSingleResult()).intValue();
+
+        int archived = 0;
+        if (retentionMonths > 0) {
+            archived = ((Number) entityManager.createNativeQuery("SELECT archive_monthly_partitions(:parent, :retentionMonths)")
+                    .setParameter("parent", table.name())
+                    .setParameter("retentionMonths", retentionMonths)
+                    .getSingleResult()).intValue();
+        }
+        return new PartitionMaintenance(created, archived);
+    }
+
+    private void maintainQuietly() {
+        try {
+            maintain();
+        } catch (RuntimeException e) {
+            Log.errorf(e, "[PARTITIONS] Partition maintenance failed, retrying at the next run");
+        }
+    }
+
+    public record PartitionMaintenance(int created, int archived) {
+    }
+
+    private record PartitionedTable(String name, String dateColumn) {
+    }
+}
@@ -1,15 +1,20 @@
 package com.example.insurance.repository;
 
+import com.example.insurance.dto.ClaimSummary;
 import com.example.insurance.entity.Claim;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
 import jakarta.transaction.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class ClaimRepository implements PanacheRepositoryBase<Claim, Long> {
@@ -17,6 +22,12 @@ public class ClaimRepository implements PanacheRepositoryBase<Claim, Long> {
     @Inject
     EntityManager entityManager;
 
+    @Inject
+    StatelessQueries statelessQueries;
+
+    @Inject
+    ClaimStatisticsTracker statisticsTracker;
+
     public Optional<Claim> findByClaimNumber(String claimNumber) {
         return find("claimNumber", claimNumber).firstResultOptional();
     }
@@ -47,35 +58,140 @@ public class ClaimRepository implements PanacheRepositoryBase<Claim, Long> {
         return find("claimDate BETWEEN ?1 AND ?2", startDate, endDate).list();
     }
 
+    /**
+     * Streaming variant of {@link #findByStatus}; see {@link StatelessQueries} for the transaction and
+     * closing requirements.
+     */
+    public Stream<Claim> streamByStatus(Claim.ClaimStatus status) {
+        return statelessQueries.stream(Claim.class, "status = ?1", status);
+    }
+
+    public Stream<Claim> streamPendingClaims() {
+        return statelessQueries.stream(Claim.class, "status IN (?1, ?2)",
+                Claim.ClaimStatus.SUBMITTED, Claim.ClaimStatus.UNDER_REVIEW);
+    }
+
+    public Stream<Claim> streamClaimsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return statelessQueries.stream(Claim.class, "claimDate BETWEEN ?1 AND ?2", startDate, endDate);
+    }
+
+    // range(0, size) is inclusive and fetches one extra row to tell whether another page follows
+    public KeysetPage<Claim> findByStatusPage(Claim.ClaimStatus status, Long afterId, int size) {
+        return KeysetPage.of(find("status = ?1 AND id > ?2", Sort.by("id"), status, KeysetPage.seekFrom(afterId))
+                .range(0, size).list(), size, Claim::getId);
+    }
+
+    public KeysetPage<Claim> findPendingClaimsPage(Long afterId, int size) {
+        return KeysetPage.of(find("status IN (?1, ?2) AND id > ?3", Sort.by("id"),
+                        Claim.ClaimStatus.SUBMITTED, Claim.ClaimStatus.UNDER_REVIEW, KeysetPage.seekFrom(afterId))
+                .range(0, size).list(), size, Claim::getId);
+    }
+
+    // Summaries select only the listed columns into records, skipping the description and the persistence context
+
+    public List<ClaimSummary> findSummariesByPolicyNumber(String policyNumber) {
+        return find("policyNumber", Sort.by("id"), policyNumber).project(ClaimSummary.class).list();
+    }
+
+    public KeysetPage<ClaimSummary> findPendingClaimSummaries(Long afterId, int size) {
+        return KeysetPage.of(find("status IN (?1, ?2) AND id > ?3", Sort.by("id"),
+                        Claim.ClaimStatus.SUBMITTED, Claim.ClaimStatus.UNDER_REVIEW, KeysetPage.seekFrom(afterId))
+                .project(ClaimSummary.class).range(0, size).list(), size, ClaimSummary::id);
+    }
+
     @Transactional
     public Claim createOrUpdate(Claim claim) {
+        ClaimStatisticsTracker.Delta statistics = new ClaimStatisticsTracker.Delta();
+        // Locked so the statistics move from the status and priority this write actually replaces
+        Claim replaced = claim.getId() != null ? findById(claim.getId(), LockModeType.PESSIMISTIC_WRITE) : null;
+        if (replaced != null) {
+            statistics.statusChange(replaced.getStatus(), claim.getStatus());
+            statistics.priorityChange(replaced.getPriority(), claim.getPriority());
+        } else {
+            statistics.stored(claim, null);
+        }
         if (claim.getId() == null) {
             persist(claim);
         } else {
             entityManager.merge(claim);
         }
+        statisticsTracker.apply(statistics);
         return claim;
     }
 
+    /**
+     * Inserts the claim unless its claim number is already registered, including by an archived claim.
+     * PostgreSQL only, see {@link ClaimNumberLocks}.
+     *
+     * @return true if the row was new, false if the claim was already stored (e.g. a Kafka redelivery)
+     */
     @Transactional
-    public boolean updateClaimStatus(String claimNumber, Claim.ClaimStatus newStatus) {
-        return update("status = ?1 where claimNumber = ?2", newStatus, claimNumber) > 0;
+    public boolean insertIfAbsent(Claim claim) {
+        ClaimNumberLocks.lock(entityManager, claim.getClaimNumber());
+        List<?> ids = bindClaim(entityManager.createNativeQuery("""
+                INSERT INTO claims (claim_number, policy_number, claim_type, incident_date, claim_date,
+                                    claimed_amount, description, status, priority, updated_at)
+                SELECT :claimNumber, :policyNumber, :claimType, :incidentDate, :claimDate,
+                       :claimedAmount, :description, :status, :priority, :updatedAt
+                WHERE NOT EXISTS (SELECT 1 FROM claim_registry WHERE claim_number = :claimNumber)
+                RETURNING id
+                """), claim).getResultList();
+
+        if (ids.isEmpty()) {
+            return false;
+        }
+        claim.setId(((Number) ids.get(0)).longValue());
+        return true;
     }
 
+    // The rows are locked while reading their current values, so concurrent updates move the statistics
+    // from the value each one actually replaced
+
     @Transactional
-    public boolean updateClaimPriority(String claimNumber, Claim.ClaimPriority newPriority) {
-        return update("priority = ?1 where claimNumber = ?2", newPriority, claimNumber) > 0;
+    public boolean updateClaimStatus(String claimNumber, Claim.ClaimStatus newStatus) {
+        List<Claim> claims = findByClaimNumberForUpdate(claimNumber);
+        ClaimStatisticsTracker.Delta statistics = new ClaimStatisticsTracker.Delta();
+        for (Claim claim : claims) {
+            statistics.statusChange(claim.getStatus(), newStatus);
+            claim.setStatus(newStatus);
+        }
+        statisticsTracker.apply(statistics);
+        return !claims.isEmpty();
     }
 
-    public long countByStatus(Claim.ClaimStatus status) {
-        return count("status", status);
+    @Transactional
+    public boolean updateClaimPriority(String claimNumber, Claim.ClaimPriority newPriority) {
+        List<Claim> claims = findByClaimNumberForUpdate(claimNumber);
+        ClaimStatisticsTracker.Delta statistics = new ClaimStatisticsTracker.Delta();
+        for (Claim claim : claims) {
+            statistics.priorityChange(claim.getPriority(), newPriority);
+            claim.setPriority(newPriority);
+        }
+        statisticsTracker.apply(statistics);
+        return !claims.isEmpty();
     }
 
-    public long countByPriority(Claim.ClaimPriority priority) {
-        return count("priority", priority);
+    private List<Claim> findByClaimNumberForUpdate(String claimNumber) {
+        return find("claimNumber", claimNumber).withLock(LockModeType.PESSIMISTIC_WRITE).list();
     }
 
-    public long countPendingClaims() {
-        return count("status IN (?1, ?2)", Claim.ClaimStatus.SUBMITTED, Claim.ClaimStatus.UNDER_REVIEW);
+    private Query bindClaim(Query query, Claim claim) {
+        LocalDateTime now = LocalDateTime.now();
+        if (claim.getClaimDate() == null) {
+            claim.setClaimDate(now);
+        }
+        claim.setUpdatedAt(now);
+
+        return query
+                .setParameter("claimNumber", claim.getClaimNumber())
+                .setParameter("policyNumber", claim.getPolicyNumber())
+                .setParameter("claimType", claim.getClaimType().name())
+                .setParameter("incidentDate", claim.getIncidentDate())
+                .setParameter("claimDate", claim.getClaimDate())
+                .setParameter("claimedAmount", claim.getClaimedAmount())
+                .setParameter("description", claim.getDescription())
+                .setParameter("status", claim.getStatus().name())
+                .setParameter("priority", claim.getPriority().name())
+                .setParameter("updatedAt", claim.getUpdatedAt());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,485 @@
+package com.example.insurance.repository;
+
+import com.example.insurance.entity.ArchivedClaimStatistic;
+import com.example.insurance.entity.Claim;
+import com.example.insurance.entity.ClaimAssessment;
+import com.example.insurance.entity.ClaimStatistic;
+import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running counts and sums behind the claim and assessment dashboard figures, kept in memory so they are
+ * served without touching the database. Writers add their changes once their transaction commits; nothing is
+ * written to {@code claim_statistics} on the write path.
+ * <p>
+ * A checkpoint periodically adds this instance's unsaved changes to the shared counters in
+ * {@code claim_statistics} as {@code stat_value = stat_value + delta} and reads the counters back, so the
+ * figures include the other instances' writes as of their last checkpoint and survive restarts.
+ * <p>
+ * Counters are periodically reconciled with the claim and assessment tables to correct drift, such as rows
+ * changed outside the processor. The aggregates run without locking the counters; the difference to the
+ * counters read just before is then added as one correction. A generation counter lets only one instance
+ * apply its correction when several reconcile at once. Changes other instances have not checkpointed yet
+ * when the aggregates run end up counted twice, so until the next reconciliation the figures may be off by
+ * up to one checkpoint interval of writes.
+ */
+@ApplicationScoped
+public class ClaimStatisticsTracker {
+
+    public static final int HIGH_RISK_THRESHOLD = 40;
+
+    private static final String ASSESSMENTS = "assessments.count";
+    private static final String FRAUDULENT = "assessments.fraudulent";
+    private static final String HIGH_RISK = "assessments.high-risk";
+    private static final String PROCESSING_TIME_SUM = "assessments.processing-time-ms.sum";
+    private static final String PROCESSING_TIME_COUNT = "assessments.processing-time-ms.count";
+    private static final String RISK_SCORE_SUM = "assessments.risk-score.sum";
+    private static final String RISK_SCORE_COUNT = "assessments.risk-score.count";
+    // Not a figure: incremented by each applied reconciliation
+    private static final String RECONCILE_GENERATION = "statistics.reconcile-generation";
+
+    private static final String ADD_DELTA_SQL =
+            "UPDATE claim_statistics SET stat_value = stat_value + ?, updated_at = ? WHERE stat_key = ?";
+    private static final String ADVANCE_GENERATION_SQL =
+            "UPDATE claim_statistics SET stat_value = stat_value + 1, updated_at = ? WHERE stat_key = ? AND stat_value = ?";
+
+    private static final String STATUS_TOTALS_QUERY = "SELECT c.status, COUNT(c) FROM Claim c GROUP BY c.status";
+    private static final String PRIORITY_TOTALS_QUERY = "SELECT c.priority, COUNT(c) FROM Claim c GROUP BY c.priority";
+    private static final String ASSESSMENT_TOTALS_QUERY =
+            "SELECT COUNT(a), " +
+            "COALESCE(SUM(CASE WHEN a.fraudFlag = true THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN a.riskScore >= " + HIGH_RISK_THRESHOLD + " THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(a.processingTimeMs), 0), COUNT(a.processingTimeMs), " +
+            "COALESCE(SUM(a.riskScore), 0), COUNT(a.riskScore) " +
+            "FROM ClaimAssessment a";
+
+    private static final List<String> KEYS = createKeys();
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @ConfigProperty(name = "claims.statistics.checkpoint-interval-seconds", defaultValue = "5")
+    long checkpointIntervalSeconds;
+
+    @ConfigProperty(name = "claims.statistics.reconcile-interval-seconds", defaultValue = "900")
+    long reconcileIntervalSeconds;
+
+    // Counter values as of the last checkpoint, and the changes made here since that are not in them
+    private volatile Map<String, Long> saved = Map.of();
+    private final Map<String, LongAdder> unsaved = createUnsaved();
+    private volatile LocalDateTime lastReconciledAt;
+    private ScheduledExecutorService scheduler;
+
+    void onStart(@Observes StartupEvent event) {
+        boolean created;
+        try {
+            created = QuarkusTransaction.requiringNew().call(this::createMissingCounters);
+        } catch (RuntimeException e) {
+            // Another instance created the same counters first
+            Log.debugf(e, "[STATISTICS] Counters were created concurrently, checking again");
+            created = QuarkusTransaction.requiringNew().call(this::createMissingCounters);
+        }
+        if (created) {
+            reconcile();
+        } else {
+            checkpoint();
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "claim-statistics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkpointQuietly, checkpointIntervalSeconds, checkpointIntervalSeconds, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(this::reconcileQuietly, reconcileIntervalSeconds, reconcileIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            checkpointQuietly();
+        }
+    }
+
+    /**
+     * Counts a newly stored claim and, when given, its assessment, once the caller's transaction commits.
+     */
+    public void recordStored(Claim claim, ClaimAssessment assessment) {
+        Delta delta = new Delta();
+        delta.stored(claim, assessment);
+        apply(delta);
+    }
+
+    /**
+     * Moves a stored assessment from its previous risk score and fraud flag to refined ones, once the caller's
+     * transaction commits.
+     */
+    public void recordVerdictChange(int previousRiskScore, boolean previousFraud, int riskScore, boolean fraud) {
+        Delta delta = new Delta();
+        delta.verdictChange(previousRiskScore, previousFraud, riskScore, fraud);
+        apply(delta);
+    }
+
+    /**
+     * Adds the delta to the counters once the caller's transaction commits, or right away outside a
+     * transaction, for writers that commit on their own connection.
+     */
+    public void apply(Delta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        if (transactionRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            add(delta);
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    add(delta);
+                }
+            }
+        });
+    }
+
+    public ClaimStatistics snapshot() {
+        Map<String, Long> values = new HashMap<>();
+        for (String key : KEYS) {
+            values.put(key, value(key));
+        }
+
+        Map<Claim.ClaimStatus, Long> byStatus = new EnumMap<>(Claim.ClaimStatus.class);
+        for (Claim.ClaimStatus status : Claim.ClaimStatus.values()) {
+            byStatus.put(status, values.get(statusKey(status)));
+        }
+        Map<Claim.ClaimPriority, Long> byPriority = new EnumMap<>(Claim.ClaimPriority.class);
+        for (Claim.ClaimPriority priority : Claim.ClaimPriority.values()) {
+            byPriority.put(priority, values.get(priorityKey(priority)));
+        }
+        return new ClaimStatistics(byStatus, byPriority, values.get(ASSESSMENTS), values.get(FRAUDULENT),
+                values.get(HIGH_RISK), average(values, PROCESSING_TIME_SUM, PROCESSING_TIME_COUNT),
+                average(values, RISK_SCORE_SUM, RISK_SCORE_COUNT), lastReconciledAt);
+    }
+
+    /**
+     * Adds the changes made here since the last checkpoint to {@code claim_statistics} and reads the counters
+     * back, picking up the other instances' checkpoints.
+     */
+    public synchronized void checkpoint() {
+        Map<String, Long> changes = new TreeMap<>();
+        unsaved.forEach((key, change) -> {
+            long sum = change.sum();
+            if (sum != 0) {
+                changes.put(key, sum);
+            }
+        });
+        Map<String, Long> values = QuarkusTransaction.requiringNew().call(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            changes.forEach((key, change) -> addToCounter(key, change, now));
+            return loadCounters();
+        });
+        // Changes made while the checkpoint ran stay unsaved for the next one
+        changes.forEach((key, change) -> unsaved.get(key).add(-change));
+        saved = values;
+    }
+
+    /**
+     * Corrects the counters to aggregates over the claim and assessment tables plus the totals recorded for
+     * archived partitions. Skipped when another instance applied a reconciliation in the meantime.
+     */
+    public synchronized void reconcile() {
+        long startTime = System.nanoTime();
+        checkpoint();
+        Map<String, Long> counters = new HashMap<>();
+        // The counters are read just before the aggregates, without locking them
+        Map<String, Long> stored = QuarkusTransaction.requiringNew().call(() -> {
+            counters.putAll(loadCounters());
+            return loadTotals();
+        });
+
+        long generation = counters.getOrDefault(RECONCILE_GENERATION, 0L);
+        boolean applied = QuarkusTransaction.requiringNew().call(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            int advanced = entityManager.createNativeQuery(ADVANCE_GENERATION_SQL)
+                    .setParameter(1, now)
+                    .setParameter(2, RECONCILE_GENERATION)
+                    .setParameter(3, generation)
+                    .executeUpdate();
+            if (advanced == 0) {
+                return false;
+            }
+            for (String key : KEYS) {
+                addToCounter(key, stored.getOrDefault(key, 0L) - counters.getOrDefault(key, 0L), now);
+            }
+            return true;
+        });
+        checkpoint();
+
+        if (!applied) {
+            Log.infof("[STATISTICS] Another instance reconciled the claim statistics, skipping");
+            return;
+        }
+        lastReconciledAt = LocalDateTime.now();
+        Log.infof("[STATISTICS] Reconciled claim statistics in %d ms",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+    }
+
+    private void add(Delta delta) {
+        delta.changes.forEach((key, change) -> unsaved.get(key).add(change));
+    }
+
+    private long value(String key) {
+        return saved.getOrDefault(key, 0L) + unsaved.get(key).sum();
+    }
+
+    private void addToCounter(String key, long change, LocalDateTime now) {
+        if (change == 0) {
+            return;
+        }
+        entityManager.createNativeQuery(ADD_DELTA_SQL)
+                .setParameter(1, change)
+                .setParameter(2, now)
+                .setParameter(3, key)
+                .executeUpdate();
+    }
+
+    private Map<String, Long> loadCounters() {
+        Map<String, Long> values = new HashMap<>();
+        entityManager.createQuery("FROM ClaimStatistic", ClaimStatistic.class)
+                .getResultList()
+                .forEach(row -> values.put(row.getStatKey(), row.getStatValue()));
+        return Map.copyOf(values);
+    }
+
+    private boolean createMissingCounters() {
+        Set<String> existing = new HashSet<>(entityManager
+                .createQuery("SELECT s.statKey FROM ClaimStatistic s", String.class)
+                .getResultList());
+        LocalDateTime now = LocalDateTime.now();
+        int created = 0;
+        for (String key : createdKeys()) {
+            if (!existing.contains(key)) {
+                entityManager.persist(new ClaimStatistic(key, 0, now));
+                created++;
+            }
+        }
+        entityManager.flush();
+        if (created > 0) {
+            Log.infof("[STATISTICS] Created %d claim statistics counters", created);
+        }
+        return created > 0;
+    }
+
+    /**
+     * Queues a {@link #reconcile reconciliation} on the statistics thread; a failure is logged, not thrown.
+     */
+    public void reconcileAsync() {
+        scheduler.execute(this::reconcileQuietly);
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (RuntimeException e) {
+            Log.errorf(e, "[STATISTICS] Checkpoint failed, keeping changes for the next one");
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            Log.errorf(e, "[STATISTICS] Reconciliation failed, keeping counters");
+        }
+    }
+
+    private Map<String, Long> loadTotals() {
+        Map<String, Long> totals = new HashMap<>();
+        for (Object[] row : entityManager.createQuery(STATUS_TOTALS_QUERY, Object[].class).getResultList()) {
+            totals.put(statusKey((Claim.ClaimStatus) row[0]), (Long) row[1]);
+        }
+        for (Object[] row : entityManager.createQuery(PRIORITY_TOTALS_QUERY, Object[].class).getResultList()) {
+            totals.put(priorityKey((Claim.ClaimPriority) row[0]), (Long) row[1]);
+        }
+        Object[] assessments = entityManager.createQuery(ASSESSMENT_TOTALS_QUERY, Object[].class).getSingleResult();
+        totals.put(ASSESSMENTS, asLong(assessments[0]));
+        totals.put(FRAUDULENT, asLong(assessments[1]));
+        totals.put(HIGH_RISK, asLong(assessments[2]));
+        totals.put(PROCESSING_TIME_SUM, asLong(assessments[3]));
+        totals.put(PROCESSING_TIME_COUNT, asLong(assessments[4]));
+        totals.put(RISK_SCORE_SUM, asLong(assessments[5]));
+        totals.put(RISK_SCORE_COUNT, asLong(assessments[6]));
+        // Read after the aggregates, which keep the partitions they read attached until this transaction ends
+        List<ArchivedClaimStatistic> archived = entityManager
+                .createQuery("FROM ArchivedClaimStatistic", ArchivedClaimStatistic.class)
+                .getResultList();
+        for (ArchivedClaimStatistic row : archived) {
+            totals.merge(row.getStatKey(), row.getStatValue(), Long::sum);
+        }
+        return totals;
+    }
+
+    private static List<String> createdKeys() {
+        List<String> keys = new ArrayList<>(KEYS);
+        keys.add(RECONCILE_GENERATION);
+        return keys;
+    }
+
+    private static Map<String, LongAdder> createUnsaved() {
+        Map<String, LongAdder> unsaved = new HashMap<>();
+        KEYS.forEach(key -> unsaved.put(key, new LongAdder()));
+        return Map.copyOf(unsaved);
+    }
+
+    private static double average(Map<String, Long> values, String sumKey, String countKey) {
+        long count = values.get(countKey);
+        return count > 0 ? (double) values.get(sumKey) / count : 0.0;
+    }
+
+    private static int highRisk(int riskScore) {
+        return riskScore >= HIGH_RISK_THRESHOLD ? 1 : 0;
+    }
+
+    private static long asLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0;
+    }
+
+    private static String statusKey(Claim.ClaimStatus status) {
+        return "claims.status." + status.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String priorityKey(Claim.ClaimPriority priority) {
+        return "claims.priority." + priority.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> createKeys() {
+        List<String> keys = new ArrayList<>();
+        for (Claim.ClaimStatus status : Claim.ClaimStatus.values()) {
+            keys.add(statusKey(status));
+        }
+        for (Claim.ClaimPriority priority : Claim.ClaimPriority.values()) {
+            keys.add(priorityKey(priority));
+        }
+        keys.addAll(List.of(ASSESSMENTS, FRAUDULENT, HIGH_RISK, PROCESSING_TIME_SUM, PROCESSING_TIME_COUNT,
+                RISK_SCORE_SUM, RISK_SCORE_COUNT));
+        return List.copyOf(keys);
+    }
+
+    public record ClaimStatistics(
+            Map<Claim.ClaimStatus, Long> claimsByStatus,
+            Map<Claim.ClaimPriority, Long> claimsByPriority,
+            long assessments,
+            long fraudulentClaims,
+            long highRiskAssessments,
+            double averageProcessingTimeMs,
+            double averageRiskScore,
+            LocalDateTime lastReconciledAt) {
+    }
+
+    /**
+     * Changes to the counters made by one transaction, summed per counter.
+     */
+    public static final class Delta {
+
+        private final SortedMap<String, Long> changes = new TreeMap<>();
+
+        /**
+         * Counts a newly stored claim and, when given, its assessment.
+         */
+        public void stored(Claim claim, ClaimAssessment assessment) {
+            if (claim != null) {
+                // Missing values are stored as the column defaults
+                add(statusKey(claim.getStatus() != null ? claim.getStatus() : Claim.ClaimStatus.SUBMITTED), 1);
+                add(priorityKey(claim.getPriority() != null ? claim.getPriority() : Claim.ClaimPriority.NORMAL), 1);
+            }
+            if (assessment != null) {
+                addAssessment(assessment, 1);
+            }
+        }
+
+        /**
+         * Uncounts a deleted assessment.
+         */
+        public void removed(ClaimAssessment assessment) {
+            addAssessment(assessment, -1);
+        }
+
+        public void statusChange(Claim.ClaimStatus previousStatus, Claim.ClaimStatus status) {
+            if (previousStatus != status) {
+                add(statusKey(previousStatus), -1);
+                add(statusKey(status), 1);
+            }
+        }
+
+        public void priorityChange(Claim.ClaimPriority previousPriority, Claim.ClaimPriority priority) {
+            if (previousPriority != priority) {
+                add(priorityKey(previousPriority), -1);
+                add(priorityKey(priority), 1);
+            }
+        }
+
+        public void verdictChange(int previousRiskScore, boolean previousFraud, int riskScore, boolean fraud) {
+            add(RISK_SCORE_SUM, riskScore - previousRiskScore);
+            add(HIGH_RISK, highRisk(riskScore) - highRisk(previousRiskScore));
+            add(FRAUDULENT, (fraud ? 1 : 0) - (previousFraud ? 1 : 0));
+        }
+
+        public boolean isEmpty() {
+            return changes.values().stream().allMatch(change -> change == 0);
+        }
+
+        private void addAssessment(ClaimAssessment assessment, int sign) {
+            add(ASSESSMENTS, sign);
+            if (Boolean.TRUE.equals(assessment.getFraudFlag())) {
+                add(FRAUDULENT, sign);
+            }
+            if (assessment.getProcessingTimeMs() != null) {
+                add(PROCESSING_TIME_SUM, (long) sign * assessment.getProcessingTimeMs());
+                add(PROCESSING_TIME_COUNT, sign);
+            }
+            if (assessment.getRiskScore() != null) {
+                add(RISK_SCORE_SUM, (long) sign * assessment.getRiskScore());
+                add(RISK_SCORE_COUNT, sign);
+                add(HIGH_RISK, sign * highRisk(assessment.getRiskScore()));
+            }
+        }
+
+        private void add(String key, long change) {
+            changes.merge(key, change, Long::sum);
+        }
+    }
+}
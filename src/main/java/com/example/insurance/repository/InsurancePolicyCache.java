@@ -0,0 +1,202 @@
+package com.example.insurance.repository;
+
+import com.example.insurance.entity.InsurancePolicy;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded read-through cache of insurance policies keyed by policy number, used by the claim pipeline.
+ * Entries expire after a TTL; unknown policy numbers are remembered only for a few seconds, so a policy
+ * created through another node or a bulk import is found soon after. The oldest entries are evicted once
+ * the cache exceeds its maximum size, and concurrent misses for the same policy share a single database
+ * load. Policy writes in {@link InsurancePolicyRepository} invalidate entries explicitly; the repository
+ * finders themselves are not cached.
+ * <p>
+ * Loads run in a transaction of their own, so the cached policy is detached and the cache can be read from
+ * pipeline threads that have neither a transaction nor a request context. Each caller gets its own copy,
+ * so changes made to it neither reach the database nor the other readers.
+ */
+@ApplicationScoped
+public class InsurancePolicyCache {
+
+    @Inject
+    InsurancePolicyRepository policyRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject
+    MetricRegistry registry;
+
+    @ConfigProperty(name = "claims.policy-cache.ttl-seconds", defaultValue = "300")
+    long ttlSeconds;
+
+    @ConfigProperty(name = "claims.policy-cache.miss-ttl-seconds", defaultValue = "5")
+    long missTtlSeconds;
+
+    @ConfigProperty(name = "claims.policy-cache.max-size", defaultValue = "10000")
+    int maxSize;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Entry>> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @PostConstruct
+    void registerMetrics() {
+        registry.gauge("claims.policy-cache.size", entries, Map::size);
+        registry.gauge("claims.policy-cache.hit-rate", this, InsurancePolicyCache::hitRate);
+        registry.gauge("claims.policy-cache.hits", hits, LongAdder::sum);
+        registry.gauge("claims.policy-cache.misses", misses, LongAdder::sum);
+        registry.gauge("claims.policy-cache.evictions", evictions, LongAdder::sum);
+    }
+
+    public Optional<InsurancePolicy> get(String policyNumber) {
+        while (true) {
+            CompletableFuture<Entry> existing = entries.get(policyNumber);
+            if (existing != null) {
+                Entry entry = awaitEntry(policyNumber, existing);
+                if (entry == null) {
+                    continue;
+                }
+                if (!entry.isExpired(System.nanoTime())) {
+                    hits.increment();
+                    return entry.policy().map(InsurancePolicyCache::copy);
+                }
+                entries.remove(policyNumber, existing);
+                continue;
+            }
+
+            CompletableFuture<Entry> loading = new CompletableFuture<>();
+            if (entries.putIfAbsent(policyNumber, loading) != null) {
+                continue;
+            }
+            misses.increment();
+            return load(policyNumber, loading);
+        }
+    }
+
+    public boolean exists(String policyNumber) {
+        return get(policyNumber).isPresent();
+    }
+
+    public void invalidate(String policyNumber) {
+        entries.remove(policyNumber);
+
+        // A load racing with the writing transaction may re-cache the old row, so drop it again after commit
+        if (transactionRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    entries.remove(policyNumber);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public double hitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(entries.size(), hits.sum(), misses.sum(), evictions.sum(), hitRate());
+    }
+
+    private Entry awaitEntry(String policyNumber, CompletableFuture<Entry> future) {
+        try {
+            // Waits for an in-flight load instead of issuing a second query for the same policy
+            return future.join();
+        } catch (CompletionException e) {
+            entries.remove(policyNumber, future);
+            return null;
+        }
+    }
+
+    private Optional<InsurancePolicy> load(String policyNumber, CompletableFuture<Entry> loading) {
+        try {
+            Optional<InsurancePolicy> policy = QuarkusTransaction.requiringNew()
+                    .call(() -> policyRepository.findByPolicyNumber(policyNumber));
+            long ttlNanos = TimeUnit.SECONDS.toNanos(policy.isPresent() ? ttlSeconds : missTtlSeconds);
+            loading.complete(new Entry(policy, System.nanoTime() + ttlNanos));
+            evictIfFull();
+            return policy.map(InsurancePolicyCache::copy);
+        } catch (RuntimeException e) {
+            entries.remove(policyNumber, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        entries.entrySet().removeIf(mapping -> {
+            Entry entry = mapping.getValue().getNow(null);
+            if (entry != null && entry.isExpired(now)) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        });
+
+        int excess = entries.size() - maxSize;
+        if (excess <= 0) {
+            return;
+        }
+        // Evict a tenth of the cache at once so a full cache does not pay for a scan on every miss
+        int toEvict = Math.max(excess, maxSize / 10);
+        entries.entrySet().stream()
+                .filter(mapping -> mapping.getValue().isDone() && !mapping.getValue().isCompletedExceptionally())
+                .sorted(Comparator.comparingLong(mapping -> mapping.getValue().join().expiresAtNanos()))
+                .limit(toEvict)
+                .toList()
+                .forEach(mapping -> {
+                    if (entries.remove(mapping.getKey(), mapping.getValue())) {
+                        evictions.increment();
+                    }
+                });
+    }
+
+    private static InsurancePolicy copy(InsurancePolicy policy) {
+        return policy.toBuilder().build();
+    }
+
+    private record Entry(Optional<InsurancePolicy> policy, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    public record CacheStats(int size, long hits, long misses, long evictions, double hitRate) {
+    }
+}
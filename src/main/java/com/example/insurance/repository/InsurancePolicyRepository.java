@@ -2,6 +2,7 @@ package com.example.insurance.repository;
 
 import com.example.insurance.entity.InsurancePolicy;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
@@ -10,6 +11,7 @@ import jakarta.transaction.Transactional;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class InsurancePolicyRepository implements PanacheRepositoryBase<InsurancePolicy, Long> {
@@ -17,6 +19,12 @@ public class InsurancePolicyRepository implements PanacheRepositoryBase<Insuranc
     @Inject
     EntityManager entityManager;
 
+    @Inject
+    InsurancePolicyCache policyCache;
+
+    @Inject
+    StatelessQueries statelessQueries;
+
     public Optional<InsurancePolicy> findByPolicyNumber(String policyNumber) {
         return find("policyNumber", policyNumber).firstResultOptional();
     }
@@ -42,6 +50,26 @@ public class InsurancePolicyRepository implements PanacheRepositoryBase<Insuranc
         return find("endDate <= ?1 AND status = ?2", endDate, InsurancePolicy.PolicyStatus.ACTIVE).list();
     }
 
+    /**
+     * Streaming variant of {@link #findActivePolicies}; see {@link StatelessQueries} for the transaction and
+     * closing requirements.
+     */
+    public Stream<InsurancePolicy> streamActivePolicies() {
+        return statelessQueries.stream(InsurancePolicy.class, "status = ?1", InsurancePolicy.PolicyStatus.ACTIVE);
+    }
+
+    public Stream<InsurancePolicy> streamExpiringPolicies(int daysFromNow) {
+        return statelessQueries.stream(InsurancePolicy.class, "endDate <= ?1 AND status = ?2",
+                LocalDate.now().plusDays(daysFromNow), InsurancePolicy.PolicyStatus.ACTIVE);
+    }
+
+    // range(0, size) is inclusive and fetches one extra row to tell whether another page follows
+    public KeysetPage<InsurancePolicy> findActivePoliciesPage(Long afterId, int size) {
+        return KeysetPage.of(find("status = ?1 AND id > ?2", Sort.by("id"),
+                        InsurancePolicy.PolicyStatus.ACTIVE, KeysetPage.seekFrom(afterId))
+                .range(0, size).list(), size, InsurancePolicy::getId);
+    }
+
     @Transactional
     public InsurancePolicy createOrUpdate(InsurancePolicy policy) {
         if (policy.getId() == null) {
@@ -49,12 +77,15 @@ public class InsurancePolicyRepository implements PanacheRepositoryBase<Insuranc
         } else {
             entityManager.merge(policy);
         }
+        policyCache.invalidate(policy.getPolicyNumber());
         return policy;
     }
 
     @Transactional
     public boolean updatePolicyStatus(String policyNumber, InsurancePolicy.PolicyStatus newStatus) {
-        return update("status = ?1 where policyNumber = ?2", newStatus, policyNumber) > 0;
+        boolean updated = update("status = ?1 where policyNumber = ?2", newStatus, policyNumber) > 0;
+        policyCache.invalidate(policyNumber);
+        return updated;
     }
 
     public long countActivePolicies() {
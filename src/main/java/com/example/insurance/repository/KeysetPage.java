@@ -0,0 +1,38 @@
+package com.example.insurance.repository;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * One page of a keyset-paginated query, ordered by id. Pass {@link #nextAfterId()} as the {@code afterId}
+ * of the next call to continue; the database seeks straight to that id instead of skipping an offset, so
+ * every page costs the same however deep the caller has paged.
+ */
+public record KeysetPage<T>(List<T> items, Long nextAfterId) {
+
+    public boolean hasNext() {
+        return nextAfterId != null;
+    }
+
+    /**
+     * Id to seek past for the page after {@code afterId}; {@code null} starts from the beginning.
+     */
+    static long seekFrom(Long afterId) {
+        return afterId != null ? afterId : Long.MIN_VALUE;
+    }
+
+    /**
+     * Builds a page from a query that fetched up to {@code size + 1} rows: the extra row, when present, only
+     * tells that another page follows and is not returned.
+     */
+    static <T> KeysetPage<T> of(List<T> fetched, int size, ToLongFunction<T> id) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + size);
+        }
+        if (fetched.size() <= size) {
+            return new KeysetPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, size);
+        return new KeysetPage<>(List.copyOf(items), id.applyAsLong(items.get(size - 1)));
+    }
+}
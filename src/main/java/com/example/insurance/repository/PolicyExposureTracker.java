@@ -0,0 +1,322 @@
+package com.example.insurance.repository;
+
+import com.example.insurance.entity.ArchivedPolicyExposure;
+import com.example.insurance.util.Money;
+import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory running totals of claimed and approved amounts per policy, so coverage can be checked
+ * without a SUM query per claim. Totals are seeded from the database at startup, updated as claims are
+ * reserved and released by the processor, and periodically reconciled with the database, including the
+ * totals recorded for archived partitions.
+ * <p>
+ * A reservation stays open, keyed by claim number, until the processor confirms the claim as stored or
+ * releases it. Reconciliation reads the database totals and which open or recently opened reservations
+ * are already stored from one snapshot, so claims committed while it runs are neither counted twice nor
+ * lost, and claims still being written are carried over on top of the database figures.
+ */
+@ApplicationScoped
+public class PolicyExposureTracker {
+
+    private static final String CLAIMED_TOTALS_QUERY =
+            "SELECT c.policyNumber, SUM(c.claimedAmount), COUNT(c) FROM Claim c GROUP BY c.policyNumber";
+    private static final String APPROVED_TOTALS_QUERY =
+            "SELECT c.policyNumber, SUM(a.approvedAmount) FROM ClaimAssessment a, Claim c " +
+            "WHERE a.claimNumber = c.claimNumber GROUP BY c.policyNumber";
+    private static final String STORED_CLAIMS_QUERY =
+            "SELECT c.claimNumber FROM Claim c WHERE c.claimNumber IN :claimNumbers";
+    private static final int STORED_CLAIMS_CHUNK = 1000;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    MetricRegistry registry;
+
+    @ConfigProperty(name = "claims.exposure.reconcile-interval-seconds", defaultValue = "300")
+    long reconcileIntervalSeconds;
+
+    private final ConcurrentHashMap<String, Exposure> exposures = new ConcurrentHashMap<>();
+    private volatile boolean reconciling;
+    private ScheduledExecutorService reconciler;
+
+    void onStart(@Observes StartupEvent event) {
+        reconcile();
+        registry.gauge("claims.exposure.policies", exposures, Map::size);
+
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "policy-exposure-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcileQuietly, reconcileIntervalSeconds, reconcileIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+    }
+
+    /**
+     * Adds a claim to the policy's totals and returns the approved amount that still fits within the
+     * policy's coverage, which may be less than requested or zero. The reservation stays open until the
+     * claim is {@link #confirm confirmed} or {@link #release released}.
+     */
+    public BigDecimal reserve(String policyNumber, String claimNumber, BigDecimal coverageAmount,
+                              BigDecimal claimedAmount, BigDecimal approvedAmount) {
+        long granted = exposure(policyNumber).reserve(claimNumber, cents(coverageAmount), cents(claimedAmount), cents(approvedAmount));
+        return Money.ofCents(granted).toBigDecimal();
+    }
+
+    /**
+     * Closes the reservation of a claim that has been committed, which keeps it in the totals.
+     */
+    public void confirm(String policyNumber, String claimNumber) {
+        exposure(policyNumber).confirm(claimNumber);
+    }
+
+    /**
+     * Takes back a reservation for a claim that was not stored, such as a redelivery or a failed write.
+     */
+    public void release(String policyNumber, String claimNumber) {
+        exposure(policyNumber).release(claimNumber);
+    }
+
+    public BigDecimal remainingCoverage(String policyNumber, BigDecimal coverageAmount) {
+        Exposure exposure = exposures.get(policyNumber);
+        long approved = exposure != null ? exposure.snapshot().approvedCents() : 0;
+        return Money.ofCents(Math.max(0, cents(coverageAmount) - approved)).toBigDecimal();
+    }
+
+    public PolicyExposure get(String policyNumber) {
+        Exposure exposure = exposures.get(policyNumber);
+        Totals totals = exposure != null ? exposure.snapshot() : new Totals(0, 0, 0);
+        return new PolicyExposure(policyNumber, Money.ofCents(totals.claimedCents()).toBigDecimal(),
+                Money.ofCents(totals.approvedCents()).toBigDecimal(), totals.claims());
+    }
+
+    /**
+     * Replaces the running totals with the database aggregates plus the reservations that were not
+     * stored yet when the aggregates were read.
+     */
+    public synchronized void reconcile() {
+        long startTime = System.nanoTime();
+        reconciling = true;
+        exposures.values().forEach(Exposure::beginReconcile);
+
+        try {
+            Snapshot snapshot = QuarkusTransaction.requiringNew().call(this::loadSnapshot);
+
+            snapshot.totals().forEach((policyNumber, totals) ->
+                    exposure(policyNumber).completeReconcile(totals, snapshot.storedClaims()));
+            exposures.forEach((policyNumber, exposure) -> {
+                if (!snapshot.totals().containsKey(policyNumber)) {
+                    exposure.completeReconcile(new Totals(0, 0, 0), snapshot.storedClaims());
+                }
+            });
+            Log.infof("[EXPOSURE] Reconciled totals for %d policies in %d ms",
+                    snapshot.totals().size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        } finally {
+            reconciling = false;
+            exposures.values().forEach(Exposure::endReconcile);
+        }
+    }
+
+    /**
+     * Queues a {@link #reconcile reconciliation} on the reconciler thread; a failure is logged, not thrown.
+     */
+    public void reconcileAsync() {
+        reconciler.execute(this::reconcileQuietly);
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            Log.errorf(e, "[EXPOSURE] Reconciliation failed, keeping running totals");
+        }
+    }
+
+    private Snapshot loadSnapshot() {
+        // Every query below has to see the same committed claims
+        entityManager.unwrap(Session.class).doWork(connection ->
+                connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ));
+
+        // The first query reads both partitioned tables, so partitions cannot be archived between the
+        // aggregates and the archived totals read below
+        Map<String, Totals> totals = new HashMap<>();
+        List<Object[]> approved = entityManager.createQuery(APPROVED_TOTALS_QUERY, Object[].class).getResultList();
+        for (Object[] row : approved) {
+            totals.merge((String) row[0], new Totals(0, cents((BigDecimal) row[1]), 0), Totals::plus);
+        }
+        List<Object[]> claimed = entityManager.createQuery(CLAIMED_TOTALS_QUERY, Object[].class).getResultList();
+        for (Object[] row : claimed) {
+            totals.merge((String) row[0], new Totals(cents((BigDecimal) row[1]), 0, (Long) row[2]), Totals::plus);
+        }
+        List<ArchivedPolicyExposure> archived = entityManager
+                .createQuery("FROM ArchivedPolicyExposure", ArchivedPolicyExposure.class)
+                .getResultList();
+        for (ArchivedPolicyExposure row : archived) {
+            totals.merge(row.getPolicyNumber(), new Totals(cents(row.getClaimedAmount()), cents(row.getApprovedAmount()),
+                    row.getClaimCount()), Totals::plus);
+        }
+
+        // Reservations opened from here on belong to claims that cannot be committed in this snapshot
+        List<String> tracked = new ArrayList<>();
+        exposures.values().forEach(exposure -> exposure.trackedClaims(tracked));
+        Set<String> stored = new HashSet<>();
+        for (int from = 0; from < tracked.size(); from += STORED_CLAIMS_CHUNK) {
+            stored.addAll(entityManager.createQuery(STORED_CLAIMS_QUERY, String.class)
+                    .setParameter("claimNumbers", tracked.subList(from, Math.min(tracked.size(), from + STORED_CLAIMS_CHUNK)))
+                    .getResultList());
+        }
+        return new Snapshot(totals, stored);
+    }
+
+    private Exposure exposure(String policyNumber) {
+        return exposures.computeIfAbsent(policyNumber, key -> new Exposure(reconciling));
+    }
+
+    private static long cents(BigDecimal amount) {
+        return Money.of(amount).cents();
+    }
+
+    public record PolicyExposure(String policyNumber, BigDecimal claimedAmount, BigDecimal approvedAmount, long claims) {
+    }
+
+    private record Totals(long claimedCents, long approvedCents, long claims) {
+
+        Totals plus(Totals other) {
+            return new Totals(claimedCents + other.claimedCents, approvedCents + other.approvedCents, claims + other.claims);
+        }
+    }
+
+    private record Snapshot(Map<String, Totals> totals, Set<String> storedClaims) {
+    }
+
+    private record Reservation(String claimNumber, long claimedCents, long approvedCents) {
+    }
+
+    private static final class Exposure {
+
+        private long claimedCents;
+        private long approvedCents;
+        private long claims;
+
+        // Reservations of claims that are neither confirmed nor released, by claim number; a redelivery
+        // may hold a second reservation for a claim number until it is found to be a duplicate
+        private final Map<String, List<Reservation>> open = new HashMap<>();
+
+        // While a reconciliation runs: the reservations that were open when it started or opened since,
+        // confirmed or not, which the database snapshot may or may not include
+        private List<Reservation> tracked;
+
+        Exposure(boolean tracking) {
+            tracked = tracking ? new ArrayList<>() : null;
+        }
+
+        synchronized long reserve(String claimNumber, long coverageCents, long claimedCents, long requestedApprovalCents) {
+            long granted = Math.max(0, Math.min(requestedApprovalCents, coverageCents - approvedCents));
+            Reservation reservation = new Reservation(claimNumber, claimedCents, granted);
+            open.computeIfAbsent(claimNumber, key -> new ArrayList<>(1)).add(reservation);
+            if (tracked != null) {
+                tracked.add(reservation);
+            }
+            add(reservation, 1);
+            return granted;
+        }
+
+        synchronized void confirm(String claimNumber) {
+            take(claimNumber);
+        }
+
+        synchronized void release(String claimNumber) {
+            Reservation reservation = take(claimNumber);
+            if (reservation != null) {
+                if (tracked != null) {
+                    tracked.remove(reservation);
+                }
+                add(reservation, -1);
+            }
+        }
+
+        private Reservation take(String claimNumber) {
+            List<Reservation> reservations = open.get(claimNumber);
+            if (reservations == null) {
+                return null;
+            }
+            Reservation reservation = reservations.remove(0);
+            if (reservations.isEmpty()) {
+                open.remove(claimNumber);
+            }
+            return reservation;
+        }
+
+        private void add(Reservation reservation, int sign) {
+            claimedCents += sign * reservation.claimedCents();
+            approvedCents += sign * reservation.approvedCents();
+            claims += sign;
+        }
+
+        synchronized void beginReconcile() {
+            tracked = new ArrayList<>();
+            open.values().forEach(tracked::addAll);
+        }
+
+        synchronized void trackedClaims(List<String> claimNumbers) {
+            if (tracked != null) {
+                tracked.forEach(reservation -> claimNumbers.add(reservation.claimNumber()));
+            }
+        }
+
+        synchronized void completeReconcile(Totals stored, Set<String> storedClaims) {
+            if (tracked == null) {
+                // Created as this reconciliation started without being tracked; corrected by the next one
+                return;
+            }
+            claimedCents = stored.claimedCents();
+            approvedCents = stored.approvedCents();
+            claims = stored.claims();
+            // A stored claim number is in the database totals once, however many reservations it has
+            Set<String> counted = new HashSet<>();
+            for (Reservation reservation : tracked) {
+                if (!storedClaims.contains(reservation.claimNumber()) || !counted.add(reservation.claimNumber())) {
+                    add(reservation, 1);
+                }
+            }
+        }
+
+        synchronized void endReconcile() {
+            tracked = null;
+        }
+
+        synchronized Totals snapshot() {
+            return new Totals(claimedCents, approvedCents, claims);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.insurance.repository;
+
+import com.example.insurance.entity.Policyholder;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clears the second-level cache regions holding policyholders on a fixed interval. The regions are local
+ * to each node and only expire entries that go unread, so without this a policyholder changed through
+ * another node could be served stale for as long as it stays in use.
+ */
+@ApplicationScoped
+public class PolicyholderCacheExpiry {
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @ConfigProperty(name = "claims.policyholder-cache.ttl-seconds", defaultValue = "300")
+    long ttlSeconds;
+
+    private ScheduledExecutorService expirer;
+
+    void onStart(@Observes StartupEvent event) {
+        expirer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "policyholder-cache-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        expirer.scheduleWithFixedDelay(this::expireQuietly, ttlSeconds, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (expirer != null) {
+            expirer.shutdownNow();
+        }
+    }
+
+    /**
+     * Drops every cached policyholder, its natural-id mapping and the cached lookups by email.
+     */
+    public void expire() {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(Policyholder.class);
+        cache.evictNaturalIdData(Policyholder.class);
+        cache.evictQueryRegion(PolicyholderRepository.EMAIL_QUERY_REGION);
+    }
+
+    private void expireQuietly() {
+        try {
+            expire();
+        } catch (RuntimeException e) {
+            Log.errorf(e, "[CACHE] Failed to expire cached policyholders");
+        }
+    }
+}
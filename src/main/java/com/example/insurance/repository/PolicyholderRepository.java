@@ -2,33 +2,67 @@ package com.example.insurance.repository;
 
 import com.example.insurance.entity.Policyholder;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class PolicyholderRepository implements PanacheRepositoryBase<Policyholder, Long> {
 
+    /**
+     * Query cache region of the lookups by email, kept apart so it can be cleared on its own.
+     */
+    public static final String EMAIL_QUERY_REGION = "policyholder-email-query";
+
     @Inject
     EntityManager entityManager;
 
+    @Inject
+    StatelessQueries statelessQueries;
+
+    /**
+     * Loads the policyholder through its natural id, so a policyholder in the second-level cache is
+     * returned without a query.
+     */
     public Optional<Policyholder> findByPolicyholderId(String policyholderId) {
-        return find("policyholderId", policyholderId).firstResultOptional();
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Policyholder.class).loadOptional(policyholderId);
     }
 
+    // The cached query holds the matching id and is invalidated by any write to policyholders
     public Optional<Policyholder> findByEmail(String email) {
-        return find("email", email).firstResultOptional();
+        return find("email", email)
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
+                .withHint(HibernateHints.HINT_CACHE_REGION, EMAIL_QUERY_REGION)
+                .firstResultOptional();
     }
 
     public List<Policyholder> findActivePolicyholders() {
         return find("isActive", true).list();
     }
 
+    /**
+     * Streaming variant of {@link #findActivePolicyholders}; see {@link StatelessQueries} for the transaction
+     * and closing requirements.
+     */
+    public Stream<Policyholder> streamActivePolicyholders() {
+        return statelessQueries.stream(Policyholder.class, "isActive = ?1", true);
+    }
+
+    // range(0, size) is inclusive and fetches one extra row to tell whether another page follows
+    public KeysetPage<Policyholder> findActivePolicyholdersPage(Long afterId, int size) {
+        return KeysetPage.of(find("isActive = ?1 AND id > ?2", Sort.by("id"), true, KeysetPage.seekFrom(afterId))
+                .range(0, size).list(), size, Policyholder::getId);
+    }
+
     @Transactional
     public Policyholder createOrUpdate(Policyholder policyholder) {
         if (policyholder.getId() == null) {
@@ -0,0 +1,87 @@
+package com.example.insurance.repository;
+
+import com.example.insurance.entity.Policyholder;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.CacheableDataStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.List;
+
+/**
+ * Hit and miss counts of the reference data caches: the policy lookup cache, and the second-level cache
+ * that holds policyholders, with its entity region, the natural-id region behind lookups by policyholder
+ * id and the query region behind lookups by email. The second-level cache counts are read from the
+ * Hibernate statistics, which {@code quarkus.hibernate-orm.statistics} enables; with statistics turned off
+ * they are reported as disabled and no gauges are registered.
+ */
+@ApplicationScoped
+public class ReferenceDataCacheStatistics {
+
+    private static final List<Class<?>> CACHED_ENTITIES = List.of(Policyholder.class);
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Inject
+    InsurancePolicyCache policyCache;
+
+    @Inject
+    MetricRegistry registry;
+
+    @PostConstruct
+    void registerMetrics() {
+        if (!statistics().isStatisticsEnabled()) {
+            return;
+        }
+        registry.gauge("claims.reference-cache.hits", this, stats -> stats.statistics().getSecondLevelCacheHitCount());
+        registry.gauge("claims.reference-cache.misses", this, stats -> stats.statistics().getSecondLevelCacheMissCount());
+        registry.gauge("claims.reference-cache.query-hits", this, stats -> stats.emailQueries().hits());
+        registry.gauge("claims.reference-cache.query-misses", this, stats -> stats.emailQueries().misses());
+    }
+
+    public ReferenceCacheStats stats() {
+        Statistics statistics = statistics();
+        List<CacheStats> entities = CACHED_ENTITIES.stream()
+                .map(entity -> CacheStats.of(entity.getSimpleName(), statistics.getEntityStatistics(entity.getName())))
+                .toList();
+        List<CacheStats> naturalIds = CACHED_ENTITIES.stream()
+                .map(entity -> CacheStats.of(entity.getSimpleName(), statistics.getNaturalIdStatistics(entity.getName())))
+                .toList();
+        return new ReferenceCacheStats(statistics.isStatisticsEnabled(), entities, naturalIds, emailQueries(), policyCache.stats());
+    }
+
+    // The region is only created by the first lookup by email
+    private CacheStats emailQueries() {
+        CacheRegionStatistics region = statistics().getQueryRegionStatistics(PolicyholderRepository.EMAIL_QUERY_REGION);
+        return region == null ?
+                new CacheStats(PolicyholderRepository.EMAIL_QUERY_REGION, 0, 0, 0) :
+                new CacheStats(PolicyholderRepository.EMAIL_QUERY_REGION, region.getHitCount(), region.getMissCount(), region.getPutCount());
+    }
+
+    private Statistics statistics() {
+        return sessionFactory.getStatistics();
+    }
+
+    public record CacheStats(String name, long hits, long misses, long puts, double hitRate) {
+
+        CacheStats(String name, long hits, long misses, long puts) {
+            this(name, hits, misses, puts, hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        }
+
+        static CacheStats of(String name, CacheableDataStatistics statistics) {
+            return new CacheStats(name, statistics.getCacheHitCount(), statistics.getCacheMissCount(), statistics.getCachePutCount());
+        }
+    }
+
+    /**
+     * @param policyLookups the policy lookup cache, the only cache holding policies
+     */
+    public record ReferenceCacheStats(boolean enabled, List<CacheStats> entities, List<CacheStats> naturalIds,
+                                      CacheStats queries, InsurancePolicyCache.CacheStats policyLookups) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.insurance.repository;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.SelectionQuery;
+
+import java.util.stream.Stream;
+
+/**
+ * Streams query results through a stateless session: rows are fetched from a cursor
+ * {@code claims.query.fetch-size} at a time and the entities are never added to a persistence context,
+ * so a report over any number of rows runs in constant memory. The returned streams must be consumed
+ * inside a transaction, which PostgreSQL needs to hold the cursor open, and closed afterwards.
+ */
+@ApplicationScoped
+class StatelessQueries {
+
+    @Inject
+    StatelessSession session;
+
+    @ConfigProperty(name = "claims.query.fetch-size", defaultValue = "500")
+    int fetchSize;
+
+    <T> Stream<T> stream(Class<T> entityType, String where, Object... params) {
+        SelectionQuery<T> query = session.createSelectionQuery(
+                "FROM " + entityType.getSimpleName() + " WHERE " + where + " ORDER BY id", entityType);
+        query.setFetchSize(fetchSize);
+        for (int i = 0; i < params.length; i++) {
+            query.setParameter(i + 1, params[i]);
+        }
+        return query.getResultStream();
+    }
+}
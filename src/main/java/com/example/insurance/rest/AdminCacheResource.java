@@ -0,0 +1,23 @@
+package com.example.insurance.rest;
+
+import com.example.insurance.dto.ApiResponse;
+import com.example.insurance.repository.ReferenceDataCacheStatistics;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+@Path("/api/admin/cache")
+@Produces(MediaType.APPLICATION_JSON)
+public class AdminCacheResource {
+
+    @Inject
+    ReferenceDataCacheStatistics cacheStatistics;
+
+    @GET
+    public Response getCacheStats() {
+        return Response.ok(ApiResponse.success("Reference data cache statistics", cacheStatistics.stats())).build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.insurance.rest;
+
+import com.example.insurance.dto.ApiResponse;
+import com.example.insurance.exception.ClaimProcessingException;
+import com.example.insurance.repository.ClaimBulkLoader;
+import io.quarkus.logging.Log;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.io.InputStream;
+
+@Path("/api/admin/import")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes("text/csv")
+public class AdminImportResource {
+
+    @Inject
+    ClaimBulkLoader bulkLoader;
+
+    @POST
+    @Path("/claims")
+    public Response importClaims(InputStream csv, @QueryParam("header") @DefaultValue("true") boolean header) {
+        Log.infof("[ADMIN-IMPORT] Starting bulk claim import (columns: %s)", ClaimBulkLoader.CLAIM_COLUMNS);
+
+        try {
+            ClaimBulkLoader.BulkLoadResult result = bulkLoader.importClaimsCsv(csv, header);
+            return Response.ok(ApiResponse.success("Claims imported successfully", result)).build();
+        } catch (IllegalStateException e) {
+            Log.errorf(e, "[ADMIN-IMPORT] Claim import failed: %s", e.getMessage());
+            throw new ClaimProcessingException(null, "Failed to import claims: " + failureMessage(e), "CLAIM_IMPORT_FAILED");
+        }
+    }
+
+    @POST
+    @Path("/assessments")
+    public Response importAssessments(InputStream csv, @QueryParam("header") @DefaultValue("true") boolean header) {
+        Log.infof("[ADMIN-IMPORT] Starting bulk assessment import (columns: %s)", ClaimBulkLoader.ASSESSMENT_COLUMNS);
+
+        try {
+            ClaimBulkLoader.BulkLoadResult result = bulkLoader.importAssessmentsCsv(csv, header);
+            return Response.ok(ApiResponse.success("Assessments imported successfully", result)).build();
+        } catch (IllegalStateException e) {
+            Log.errorf(e, "[ADMIN-IMPORT] Assessment import failed: %s", e.getMessage());
+            throw new ClaimProcessingException(null, "Failed to import assessments: " + failureMessage(e), "ASSESSMENT_IMPORT_FAILED");
+        }
+    }
+
+    // The loader wraps the SQL or I/O error that stopped the import
+    private static String failureMessage(IllegalStateException e) {
+        return e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.insurance.rest;
+
+import com.example.insurance.dto.ApiResponse;
+import com.example.insurance.exception.ClaimProcessingException;
+import com.example.insurance.scoring.RiskModelEngine;
+import io.quarkus.logging.Log;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+@Path("/api/admin/model")
+@Produces(MediaType.APPLICATION_JSON)
+public class AdminModelResource {
+
+    @Inject
+    RiskModelEngine modelEngine;
+
+    @GET
+    public Response getModel() {
+        return Response.ok(ApiResponse.success("Active risk model", modelEngine.info())).build();
+    }
+
+    @POST
+    @Path("/reload")
+    public Response reloadModel() {
+        try {
+            return Response.ok(ApiResponse.success("Risk model reloaded", modelEngine.reload())).build();
+        } catch (IllegalArgumentException e) {
+            Log.errorf(e, "[ADMIN-MODEL] Model reload rejected: %s", e.getMessage());
+            throw new ClaimProcessingException(null, "Failed to reload risk model: " + e.getMessage(), "MODEL_RELOAD_FAILED");
+        }
+    }
+}
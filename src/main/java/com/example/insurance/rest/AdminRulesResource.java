@@ -0,0 +1,37 @@
+package com.example.insurance.rest;
+
+import com.example.insurance.dto.ApiResponse;
+import com.example.insurance.exception.ClaimProcessingException;
+import com.example.insurance.rules.AssessmentRuleEngine;
+import io.quarkus.logging.Log;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+@Path("/api/admin/rules")
+@Produces(MediaType.APPLICATION_JSON)
+public class AdminRulesResource {
+
+    @Inject
+    AssessmentRuleEngine ruleEngine;
+
+    @GET
+    public Response getRules() {
+        return Response.ok(ApiResponse.success("Active assessment rules", ruleEngine.info())).build();
+    }
+
+    @POST
+    @Path("/reload")
+    public Response reloadRules() {
+        try {
+            return Response.ok(ApiResponse.success("Assessment rules reloaded", ruleEngine.reload())).build();
+        } catch (IllegalArgumentException e) {
+            Log.errorf(e, "[ADMIN-RULES] Rule reload rejected: %s", e.getMessage());
+            throw new ClaimProcessingException(null, "Failed to reload assessment rules: " + e.getMessage(), "RULES_RELOAD_FAILED");
+        }
+    }
+}
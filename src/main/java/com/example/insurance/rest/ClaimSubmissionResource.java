@@ -1,17 +1,29 @@
 package com.example.insurance.rest;
 
 import com.example.insurance.dto.ApiResponse;
+import com.example.insurance.dto.AssessmentSummary;
 import com.example.insurance.dto.ClaimSubmission;
 import com.example.insurance.dto.ClaimSubmissionResponse;
+import com.example.insurance.dto.ClaimSummary;
 import com.example.insurance.exception.ClaimProcessingException;
+import com.example.insurance.pipeline.PipelineStage;
+import com.example.insurance.repository.ClaimAssessmentRepository;
+import com.example.insurance.repository.ClaimRepository;
+import com.example.insurance.repository.KeysetPage;
+import com.example.insurance.service.ClaimProcessorService;
+import com.example.insurance.service.ClaimSlaScheduler;
 import com.example.insurance.service.KafkaProducerService;
 import io.quarkus.logging.Log;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
+import java.util.List;
+
 @Path("/api/claims")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
@@ -20,6 +32,15 @@ public class ClaimSubmissionResource {
     @Inject
     KafkaProducerService kafkaProducerService;
 
+    @Inject
+    ClaimProcessorService claimProcessorService;
+
+    @Inject
+    ClaimRepository claimRepository;
+
+    @Inject
+    ClaimAssessmentRepository assessmentRepository;
+
     @POST
     @Path("/submit")
     public Response submitClaim(@Valid ClaimSubmission claimSubmission) {
@@ -74,6 +95,42 @@ public class ClaimSubmissionResource {
         }
     }
 
+    @GET
+    @Path("/pending")
+    public Response getPendingClaims(@QueryParam("afterId") Long afterId,
+                                     @QueryParam("size") @DefaultValue("100") @Min(1) @Max(500) int size) {
+        KeysetPage<ClaimSummary> page = claimRepository.findPendingClaimSummaries(afterId, size);
+        return Response.ok(ApiResponse.success("Pending claims", page)).build();
+    }
+
+    @GET
+    @Path("/fraud-flagged")
+    public Response getFraudFlaggedAssessments(@QueryParam("afterId") Long afterId,
+                                               @QueryParam("size") @DefaultValue("100") @Min(1) @Max(500) int size) {
+        KeysetPage<AssessmentSummary> page = assessmentRepository.findFraudulentSummaries(afterId, size);
+        return Response.ok(ApiResponse.success("Fraud-flagged assessments", page)).build();
+    }
+
+    @GET
+    @Path("/pipeline")
+    public Response getPipelineStats() {
+        List<PipelineStage.StageStats> stats = claimProcessorService.getPipelineStats();
+        return Response.ok(ApiResponse.success("Claim pipeline statistics", stats)).build();
+    }
+
+    @GET
+    @Path("/sla")
+    public Response getSlaStats() {
+        List<ClaimSlaScheduler.SlaStats> stats = claimProcessorService.getSlaStats();
+        return Response.ok(ApiResponse.success("Claim deadline statistics", stats)).build();
+    }
+
+    @GET
+    @Path("/statistics")
+    public Response getStatistics() {
+        return Response.ok(ApiResponse.success("Claim statistics", claimProcessorService.getStatistics())).build();
+    }
+
     @GET
     @Path("/status")
     @Produces(MediaType.TEXT_PLAIN)
@@ -0,0 +1,88 @@
+package com.example.insurance.rules;
+
+import com.example.insurance.util.HotReloadedFile;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.logging.Log;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Holds the active {@link AssessmentRules} and swaps them atomically when the rule table changes.
+ * Rules come from {@code claims.rules.path} when set, which is polled for changes, and otherwise from the
+ * bundled {@code assessment-rules.json}. A table that fails validation is rejected and the previous
+ * rules stay active.
+ */
+@ApplicationScoped
+public class AssessmentRuleEngine {
+
+    private static final String BUNDLED_RULES = "assessment-rules.json";
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MetricRegistry registry;
+
+    @ConfigProperty(name = "claims.rules.path")
+    Optional<String> rulesPath;
+
+    @ConfigProperty(name = "claims.rules.reload-interval-seconds", defaultValue = "30")
+    long reloadIntervalSeconds;
+
+    private HotReloadedFile<AssessmentRules> rulesFile;
+
+    @PostConstruct
+    void init() {
+        rulesFile = new HotReloadedFile<>("assessment rules", "[RULES]", rulesPath, BUNDLED_RULES,
+                this::compile, AssessmentRules::version);
+        rulesFile.start("assessment-rules-watcher", reloadIntervalSeconds);
+        registry.gauge("claims.rules.reloads", rulesFile, HotReloadedFile::reloads);
+        registry.gauge("claims.rules.rejected-reloads", rulesFile, HotReloadedFile::rejectedReloads);
+        Log.infof("[RULES] Loaded assessment rules version %s from %s", current().version(), rulesFile.loaded().source());
+    }
+
+    @PreDestroy
+    void stop() {
+        rulesFile.stop();
+    }
+
+    /**
+     * Rules to evaluate one claim with. Callers should read this once per claim so a concurrent swap
+     * never mixes two rule versions within a single assessment.
+     */
+    public AssessmentRules current() {
+        return rulesFile.current();
+    }
+
+    public RulesInfo info() {
+        HotReloadedFile.Loaded<AssessmentRules> loaded = rulesFile.loaded();
+        return new RulesInfo(loaded.value().version(), loaded.source(), loaded.loadedAt(),
+                rulesFile.reloads(), rulesFile.rejectedReloads());
+    }
+
+    /**
+     * Reloads the rule table unconditionally.
+     *
+     * @throws IllegalArgumentException if the new table is invalid; the active rules are kept
+     */
+    public RulesInfo reload() {
+        rulesFile.reload();
+        return info();
+    }
+
+    private AssessmentRules compile(InputStream input) throws IOException {
+        return AssessmentRules.compile(objectMapper.readValue(input, RuleTableDefinition.class));
+    }
+
+    public record RulesInfo(String version, String source, Instant loadedAt, long reloads, long rejectedReloads) {
+    }
+}
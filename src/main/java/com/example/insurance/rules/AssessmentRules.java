@@ -0,0 +1,203 @@
+package com.example.insurance.rules;
+
+import com.example.insurance.entity.Claim;
+import com.example.insurance.util.Money;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Immutable, compiled form of a {@link RuleTableDefinition}. Per-type rules are flattened into arrays
+ * indexed by {@link Claim.ClaimType#ordinal()}, so evaluating a claim is a couple of array reads with no
+ * map lookups or boxing. Multipliers are held as basis points and amount thresholds as cents, so rules
+ * evaluate with {@link Money} integer arithmetic.
+ */
+public final class AssessmentRules {
+
+    private final String version;
+    private final long[] approvalBasisPoints;
+    private final int[] claimTypeRiskPoints;
+    private final int baseRiskMin;
+    private final int baseRiskRange;
+    private final int maxRiskScore;
+    private final long highAmountThresholdCents;
+    private final int highAmountRiskPoints;
+    private final int fraudRiskThreshold;
+    private final long fraudAmountThresholdCents;
+    private final long expressApprovalBasisPoints;
+    private final int expressRiskScore;
+    private final long velocityClaims1hThreshold;
+    private final long velocityClaims24hThreshold;
+    private final long velocityAmount30dThresholdCents;
+    private final int velocityRiskPoints;
+    private final int nearDuplicateRiskPoints;
+    private final boolean nearDuplicateFraud;
+
+    private AssessmentRules(RuleTableDefinition definition, long[] approvalBasisPoints, int[] claimTypeRiskPoints) {
+        this.version = definition.version();
+        this.approvalBasisPoints = approvalBasisPoints;
+        this.claimTypeRiskPoints = claimTypeRiskPoints;
+        this.baseRiskMin = definition.baseRiskMin();
+        this.baseRiskRange = definition.baseRiskRange();
+        this.maxRiskScore = definition.maxRiskScore();
+        this.highAmountThresholdCents = Money.floorCents(definition.highAmountThreshold());
+        this.highAmountRiskPoints = definition.highAmountRiskPoints();
+        this.fraudRiskThreshold = definition.fraudRiskThreshold();
+        this.fraudAmountThresholdCents = Money.floorCents(definition.fraudAmountThreshold());
+        this.expressApprovalBasisPoints = Money.toBasisPoints(definition.expressApprovalMultiplier());
+        this.expressRiskScore = definition.expressRiskScore();
+
+        RuleTableDefinition.VelocityRuleDefinition velocity = definition.velocity();
+        this.velocityClaims1hThreshold = velocity != null && velocity.claims1hThreshold() > 0
+                ? velocity.claims1hThreshold() : Long.MAX_VALUE;
+        this.velocityClaims24hThreshold = velocity != null && velocity.claims24hThreshold() > 0
+                ? velocity.claims24hThreshold() : Long.MAX_VALUE;
+        this.velocityAmount30dThresholdCents = velocity != null && velocity.amount30dThreshold() != null
+                && velocity.amount30dThreshold().signum() > 0
+                ? Money.floorCents(velocity.amount30dThreshold()) : Long.MAX_VALUE;
+        this.velocityRiskPoints = velocity != null ? velocity.riskPoints() : 0;
+
+        RuleTableDefinition.NearDuplicateRuleDefinition nearDuplicate = definition.nearDuplicate();
+        this.nearDuplicateRiskPoints = nearDuplicate != null ? nearDuplicate.riskPoints() : 0;
+        this.nearDuplicateFraud = nearDuplicate != null && nearDuplicate.flagAsFraud();
+    }
+
+    /**
+     * Validates a rule table and compiles it into lookup arrays.
+     *
+     * @throws IllegalArgumentException if the table is incomplete or inconsistent
+     */
+    public static AssessmentRules compile(RuleTableDefinition definition) {
+        require(definition.version() != null && !definition.version().isBlank(), "version is required");
+        require(definition.approvalMultipliers() != null, "approvalMultipliers are required");
+        require(definition.highAmountThreshold() != null, "highAmountThreshold is required");
+        require(definition.fraudAmountThreshold() != null, "fraudAmountThreshold is required");
+        require(definition.expressApprovalMultiplier() != null, "expressApprovalMultiplier is required");
+        require(hasBasisPointPrecision(definition.expressApprovalMultiplier()),
+                "expressApprovalMultiplier must have at most 4 decimal places");
+        require(definition.baseRiskRange() > 0, "baseRiskRange must be positive");
+        require(definition.maxRiskScore() > 0, "maxRiskScore must be positive");
+        require(definition.velocity() == null || definition.velocity().riskPoints() >= 0,
+                "velocity riskPoints must not be negative");
+        require(definition.nearDuplicate() == null || definition.nearDuplicate().riskPoints() >= 0,
+                "nearDuplicate riskPoints must not be negative");
+
+        Claim.ClaimType[] types = Claim.ClaimType.values();
+        long[] basisPoints = new long[types.length];
+        int[] riskPoints = new int[types.length];
+        for (Claim.ClaimType type : types) {
+            BigDecimal multiplier = definition.approvalMultipliers().get(type);
+            require(multiplier != null, "approval multiplier missing for " + type);
+            require(multiplier.signum() >= 0 && multiplier.compareTo(BigDecimal.ONE) <= 0,
+                    "approval multiplier for " + type + " must be between 0 and 1");
+            require(hasBasisPointPrecision(multiplier),
+                    "approval multiplier for " + type + " must have at most 4 decimal places");
+            basisPoints[type.ordinal()] = Money.toBasisPoints(multiplier);
+
+            if (definition.claimTypeRiskPoints() != null) {
+                riskPoints[type.ordinal()] = definition.claimTypeRiskPoints().getOrDefault(type, 0);
+            }
+        }
+        return new AssessmentRules(definition, basisPoints, riskPoints);
+    }
+
+    private static boolean hasBasisPointPrecision(BigDecimal multiplier) {
+        return multiplier.stripTrailingZeros().scale() <= 4;
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException("Invalid assessment rules: " + message);
+        }
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public long approvalBasisPoints(Claim.ClaimType type) {
+        return approvalBasisPoints[type.ordinal()];
+    }
+
+    public long approvalBasisPoints(int claimTypeOrdinal) {
+        return approvalBasisPoints[claimTypeOrdinal];
+    }
+
+    public int claimTypeRiskPoints(Claim.ClaimType type) {
+        return claimTypeRiskPoints[type.ordinal()];
+    }
+
+    public int claimTypeRiskPoints(int claimTypeOrdinal) {
+        return claimTypeRiskPoints[claimTypeOrdinal];
+    }
+
+    public int baseRiskMin() {
+        return baseRiskMin;
+    }
+
+    public int baseRiskRange() {
+        return baseRiskRange;
+    }
+
+    public int maxRiskScore() {
+        return maxRiskScore;
+    }
+
+    public boolean isHighAmount(Money claimedAmount) {
+        return isHighAmount(claimedAmount.cents());
+    }
+
+    public boolean isHighAmount(long claimedCents) {
+        return claimedCents > highAmountThresholdCents;
+    }
+
+    public int highAmountRiskPoints() {
+        return highAmountRiskPoints;
+    }
+
+    public boolean isFraudulent(int riskScore, Money claimedAmount) {
+        return isFraudulent(riskScore, claimedAmount.cents());
+    }
+
+    public boolean isFraudulent(int riskScore, long claimedCents) {
+        return riskScore > fraudRiskThreshold || claimedCents > fraudAmountThresholdCents;
+    }
+
+    /**
+     * Whether the most active of a claim's keys exceeds any enabled velocity threshold. Counts include the
+     * claim being assessed.
+     */
+    public boolean isHighVelocity(long claims1h, long claims24h, long amount30dCents) {
+        return claims1h > velocityClaims1hThreshold
+                || claims24h > velocityClaims24hThreshold
+                || amount30dCents > velocityAmount30dThresholdCents;
+    }
+
+    public int velocityRiskPoints() {
+        return velocityRiskPoints;
+    }
+
+    public int nearDuplicateRiskPoints() {
+        return nearDuplicateRiskPoints;
+    }
+
+    /**
+     * Whether a near-duplicate alone is enough to flag a claim as fraud, regardless of its risk score.
+     */
+    public boolean isNearDuplicateFraud() {
+        return nearDuplicateFraud;
+    }
+
+    public long expressApprovalBasisPoints() {
+        return expressApprovalBasisPoints;
+    }
+
+    public int expressRiskScore() {
+        return expressRiskScore;
+    }
+
+    @Override
+    public String toString() {
+        return "AssessmentRules{version=" + version + ", approvalBasisPoints=" + Arrays.toString(approvalBasisPoints) + "}";
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.insurance.rules;
+
+import com.example.insurance.entity.Claim;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Assessment rule table as maintained by actuaries, read from {@code assessment-rules.json}.
+ */
+public record RuleTableDefinition(
+        String version,
+        Map<Claim.ClaimType, BigDecimal> approvalMultipliers,
+        Map<Claim.ClaimType, Integer> claimTypeRiskPoints,
+        int baseRiskMin,
+        int baseRiskRange,
+        int maxRiskScore,
+        BigDecimal highAmountThreshold,
+        int highAmountRiskPoints,
+        int fraudRiskThreshold,
+        BigDecimal fraudAmountThreshold,
+        BigDecimal expressApprovalMultiplier,
+        int expressRiskScore,
+        VelocityRuleDefinition velocity,
+        NearDuplicateRuleDefinition nearDuplicate) {
+
+    /**
+     * Extra risk points for claims arriving faster than usual on the same policy, policyholder or email.
+     * A zero or missing threshold disables that check; the whole block is optional.
+     */
+    public record VelocityRuleDefinition(
+            int claims1hThreshold,
+            int claims24hThreshold,
+            BigDecimal amount30dThreshold,
+            int riskPoints) {
+    }
+
+    /**
+     * Consequence of a claim resembling an earlier claim of the same policyholder; optional.
+     */
+    public record NearDuplicateRuleDefinition(int riskPoints, boolean flagAsFraud) {
+    }
+}
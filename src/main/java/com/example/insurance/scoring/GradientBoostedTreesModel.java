@@ -0,0 +1,174 @@
+package com.example.insurance.scoring;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Gradient-boosted tree ensemble flattened into parallel primitive arrays. The nodes of each tree are
+ * laid out contiguously in depth-first order, so scoring walks a few adjacent array slots per tree
+ * instead of chasing node objects. A split sends a claim to {@code yes} when the feature is below the
+ * split condition, as in XGBoost, and the summed leaf values plus the base margin go through a sigmoid.
+ */
+public final class GradientBoostedTreesModel implements RiskModel {
+
+    public static final String TYPE = "gradient-boosted-trees";
+
+    private static final int LEAF = -1;
+
+    private final String version;
+    private final double baseMargin;
+    private final int[] roots;
+    // Per node: split feature ordinal or LEAF, split threshold or leaf value, and child node indexes
+    private final int[] features;
+    private final double[] values;
+    private final int[] yes;
+    private final int[] no;
+
+    private GradientBoostedTreesModel(String version, double baseMargin, int[] roots,
+                                      int[] features, double[] values, int[] yes, int[] no) {
+        this.version = version;
+        this.baseMargin = baseMargin;
+        this.roots = roots;
+        this.features = features;
+        this.values = values;
+        this.yes = yes;
+        this.no = no;
+    }
+
+    public static GradientBoostedTreesModel compile(RiskModelDefinition definition) {
+        RiskModels.requireVersion(definition);
+        RiskModels.require(definition.trees() != null && !definition.trees().isEmpty(), "trees are required");
+        RiskModels.require(Double.isFinite(definition.baseMargin()), "baseMargin must be a finite number");
+
+        Builder builder = new Builder();
+        int[] roots = new int[definition.trees().size()];
+        for (int tree = 0; tree < roots.length; tree++) {
+            RiskModelDefinition.TreeNode root = definition.trees().get(tree);
+            RiskModels.require(root != null, "tree " + tree + " is empty");
+            Map<Integer, RiskModelDefinition.TreeNode> nodesById = new HashMap<>();
+            index(root, nodesById, tree);
+            roots[tree] = builder.add(root, nodesById, tree, 0);
+        }
+        return new GradientBoostedTreesModel(definition.version(), definition.baseMargin(), roots,
+                builder.features(), builder.values(), builder.yes(), builder.no());
+    }
+
+    private static void index(RiskModelDefinition.TreeNode node, Map<Integer, RiskModelDefinition.TreeNode> nodesById, int tree) {
+        RiskModels.require(nodesById.put(node.nodeid(), node) == null, "tree " + tree + " repeats node " + node.nodeid());
+        if (node.children() != null) {
+            for (RiskModelDefinition.TreeNode child : node.children()) {
+                index(child, nodesById, tree);
+            }
+        }
+    }
+
+    public int treeCount() {
+        return roots.length;
+    }
+
+    public int nodeCount() {
+        return features.length;
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public String version() {
+        return version;
+    }
+
+    @Override
+    public double score(double[] x) {
+        double margin = baseMargin;
+        for (int root : roots) {
+            int node = root;
+            int feature;
+            while ((feature = features[node]) != LEAF) {
+                node = x[feature] < values[node] ? yes[node] : no[node];
+            }
+            margin += values[node];
+        }
+        return RiskModel.sigmoid(margin);
+    }
+
+    private static final class Builder {
+
+        private int size;
+        private int[] features = new int[64];
+        private double[] values = new double[64];
+        private int[] yes = new int[64];
+        private int[] no = new int[64];
+
+        int add(RiskModelDefinition.TreeNode node, Map<Integer, RiskModelDefinition.TreeNode> nodesById, int tree, int depth) {
+            RiskModels.require(depth <= nodesById.size(), "tree " + tree + " has a cycle");
+            int index = allocate();
+            if (node.isLeaf()) {
+                RiskModels.require(Double.isFinite(node.leaf()), "tree " + tree + " node " + node.nodeid() + " has an invalid leaf");
+                features[index] = LEAF;
+                values[index] = node.leaf();
+                return index;
+            }
+
+            RiskModels.require(node.split() != null && node.splitCondition() != null && node.yes() != null && node.no() != null,
+                    "tree " + tree + " node " + node.nodeid() + " must be a leaf or a complete split");
+            RiskModelDefinition.TreeNode yesNode = nodesById.get(node.yes());
+            RiskModelDefinition.TreeNode noNode = nodesById.get(node.no());
+            RiskModels.require(yesNode != null && noNode != null, "tree " + tree + " node " + node.nodeid() + " has a missing child");
+
+            features[index] = RiskFeature.fromKey(node.split()).ordinal();
+            values[index] = node.splitCondition();
+            int yesIndex = add(yesNode, nodesById, tree, depth + 1);
+            int noIndex = add(noNode, nodesById, tree, depth + 1);
+            yes[index] = yesIndex;
+            no[index] = noIndex;
+            return index;
+        }
+
+        private int allocate() {
+            if (size == features.length) {
+                int capacity = size * 2;
+                features = Arrays.copyOf(features, capacity);
+                values = Arrays.copyOf(values, capacity);
+                yes = Arrays.copyOf(yes, capacity);
+                no = Arrays.copyOf(no, capacity);
+            }
+            return size++;
+        }
+
+        int[] features() {
+            return Arrays.copyOf(features, size);
+        }
+
+        double[] values() {
+            return Arrays.copyOf(values, size);
+        }
+
+        int[] yes() {
+            return Arrays.copyOf(yes, size);
+        }
+
+        int[] no() {
+            return Arrays.copyOf(no, size);
+        }
+    }
+
+    @ApplicationScoped
+    public static class Factory implements RiskModelFactory {
+
+        @Override
+        public String type() {
+            return TYPE;
+        }
+
+        @Override
+        public RiskModel create(RiskModelDefinition definition) {
+            return compile(definition);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.insurance.scoring;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Map;
+
+/**
+ * {@code sigmoid(intercept + w . x)} with the weights laid out in {@link RiskFeature} order; features a
+ * model file does not mention have weight zero.
+ */
+public final class LogisticRegressionModel implements RiskModel {
+
+    public static final String TYPE = "logistic-regression";
+
+    private final String version;
+    private final double intercept;
+    private final double[] weights;
+
+    private LogisticRegressionModel(String version, double intercept, double[] weights) {
+        this.version = version;
+        this.intercept = intercept;
+        this.weights = weights;
+    }
+
+    public static LogisticRegressionModel compile(RiskModelDefinition definition) {
+        RiskModels.requireVersion(definition);
+        double[] weights = new double[RiskFeature.COUNT];
+        if (definition.weights() != null) {
+            for (Map.Entry<String, Double> weight : definition.weights().entrySet()) {
+                RiskModels.require(weight.getValue() != null && Double.isFinite(weight.getValue()),
+                        "weight for " + weight.getKey() + " must be a finite number");
+                weights[RiskFeature.fromKey(weight.getKey()).ordinal()] = weight.getValue();
+            }
+        }
+        RiskModels.require(Double.isFinite(definition.intercept()), "intercept must be a finite number");
+        return new LogisticRegressionModel(definition.version(), definition.intercept(), weights);
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public String version() {
+        return version;
+    }
+
+    @Override
+    public double score(double[] features) {
+        double margin = intercept;
+        for (int i = 0; i < weights.length; i++) {
+            margin += weights[i] * features[i];
+        }
+        return RiskModel.sigmoid(margin);
+    }
+
+    @ApplicationScoped
+    public static class Factory implements RiskModelFactory {
+
+        @Override
+        public String type() {
+            return TYPE;
+        }
+
+        @Override
+        public RiskModel create(RiskModelDefinition definition) {
+            return compile(definition);
+        }
+    }
+}
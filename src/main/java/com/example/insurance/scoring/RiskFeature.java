@@ -0,0 +1,37 @@
+package com.example.insurance.scoring;
+
+/**
+ * Inputs a {@link RiskModel} can use, in the order of the feature vector. Model files refer to features by
+ * {@link #key()}. The model only sees the claim itself: velocity and near-duplicate signals are scored by
+ * the rule table, so each signal adds to a claim's risk once.
+ */
+public enum RiskFeature {
+    CLAIMED_AMOUNT_LOG("claimed_amount_log"),
+    CLAIM_TYPE("claim_type"),
+    PRIORITY("priority"),
+    INCIDENT_AGE_LOG("incident_age_log");
+
+    public static final int COUNT = values().length;
+
+    private final String key;
+
+    RiskFeature(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    /**
+     * @throws IllegalArgumentException if no feature has the given key
+     */
+    public static RiskFeature fromKey(String key) {
+        for (RiskFeature feature : values()) {
+            if (feature.key.equals(key)) {
+                return feature;
+            }
+        }
+        throw new IllegalArgumentException("Unknown risk feature: " + key);
+    }
+}
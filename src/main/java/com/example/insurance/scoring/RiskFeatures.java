@@ -0,0 +1,49 @@
+package com.example.insurance.scoring;
+
+import com.example.insurance.entity.Claim;
+import com.example.insurance.util.Money;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Builds {@link RiskFeature} vectors. The per-claim and columnar batch paths both go through
+ * {@link #fill}, so a claim gets the same features either way.
+ * <p>
+ * Features only depend on the claim itself: the incident age is measured at the claim date, not at the
+ * time of scoring, so rescoring a claim on a later day gives the same features. A claim without a claim
+ * date is scored as filed on its incident date.
+ */
+public final class RiskFeatures {
+
+    private RiskFeatures() {
+    }
+
+    public static double[] of(Claim claim) {
+        double[] features = new double[RiskFeature.COUNT];
+        int priority = claim.getPriority() != null ? claim.getPriority().ordinal() : Claim.ClaimPriority.NORMAL.ordinal();
+        fill(features, Money.of(claim.getClaimedAmount()).cents(), claim.getClaimType().ordinal(), priority,
+                incidentAgeDays(claim));
+        return features;
+    }
+
+    /**
+     * Days from the incident to the claim date, or 0 when either is missing.
+     */
+    public static int incidentAgeDays(Claim claim) {
+        if (claim.getIncidentDate() == null || claim.getClaimDate() == null) {
+            return 0;
+        }
+        return (int) ChronoUnit.DAYS.between(claim.getIncidentDate(), claim.getClaimDate().toLocalDate());
+    }
+
+    public static void fill(double[] features, long claimedCents, int claimType, int priority, int incidentAgeDays) {
+        features[RiskFeature.CLAIMED_AMOUNT_LOG.ordinal()] = logAmount(claimedCents);
+        features[RiskFeature.CLAIM_TYPE.ordinal()] = claimType;
+        features[RiskFeature.PRIORITY.ordinal()] = priority;
+        features[RiskFeature.INCIDENT_AGE_LOG.ordinal()] = Math.log1p(Math.max(0, incidentAgeDays));
+    }
+
+    private static double logAmount(long cents) {
+        return Math.log1p(Math.max(0, cents) / 100.0);
+    }
+}
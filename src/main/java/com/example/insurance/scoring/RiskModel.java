@@ -0,0 +1,21 @@
+package com.example.insurance.scoring;
+
+/**
+ * A compiled risk model. Implementations are immutable and shared across threads, and {@link #score}
+ * should not allocate, so it can run inline in the assessment stage.
+ */
+public interface RiskModel {
+
+    String type();
+
+    String version();
+
+    /**
+     * Probability-like risk in {@code [0, 1]} for a feature vector laid out as {@link RiskFeature}.
+     */
+    double score(double[] features);
+
+    static double sigmoid(double margin) {
+        return 1.0 / (1.0 + Math.exp(-margin));
+    }
+}
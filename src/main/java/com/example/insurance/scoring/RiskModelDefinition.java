@@ -0,0 +1,38 @@
+package com.example.insurance.scoring;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Risk model file as exported by the data science team, read from {@code risk-model.json}. Logistic
+ * regression models use {@code intercept} and {@code weights}; gradient-boosted tree models use
+ * {@code baseMargin} and {@code trees}, each tree in the nested JSON dump format of XGBoost with
+ * features named by {@link RiskFeature#key()}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record RiskModelDefinition(
+        String type,
+        String version,
+        double intercept,
+        Map<String, Double> weights,
+        double baseMargin,
+        List<TreeNode> trees) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record TreeNode(
+            int nodeid,
+            String split,
+            @JsonProperty("split_condition") Double splitCondition,
+            Integer yes,
+            Integer no,
+            Double leaf,
+            List<TreeNode> children) {
+
+        public boolean isLeaf() {
+            return leaf != null;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.insurance.scoring;
+
+import com.example.insurance.util.HotReloadedFile;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.logging.Log;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Holds the active {@link RiskModel} and swaps it atomically when the model file changes. The model comes
+ * from {@code claims.model.path} when set, which is polled for changes, and otherwise from the bundled
+ * {@code risk-model.json}. The file's {@code type} selects the {@link RiskModelFactory} that compiles it;
+ * a file that fails to compile is rejected and the previous model stays active.
+ */
+@ApplicationScoped
+public class RiskModelEngine {
+
+    private static final String BUNDLED_MODEL = "risk-model.json";
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MetricRegistry registry;
+
+    @Inject
+    @Any
+    Instance<RiskModelFactory> factoryBeans;
+
+    @ConfigProperty(name = "claims.model.path")
+    Optional<String> modelPath;
+
+    @ConfigProperty(name = "claims.model.reload-interval-seconds", defaultValue = "30")
+    long reloadIntervalSeconds;
+
+    private final Map<String, RiskModelFactory> factories = new HashMap<>();
+    private HotReloadedFile<RiskModel> modelFile;
+
+    @PostConstruct
+    void init() {
+        for (RiskModelFactory factory : factoryBeans) {
+            factories.put(factory.type(), factory);
+        }
+        modelFile = new HotReloadedFile<>("risk model", "[MODEL]", modelPath, BUNDLED_MODEL,
+                this::compile, RiskModel::version);
+        modelFile.start("risk-model-watcher", reloadIntervalSeconds);
+        registry.gauge("claims.model.reloads", modelFile, HotReloadedFile::reloads);
+        registry.gauge("claims.model.rejected-reloads", modelFile, HotReloadedFile::rejectedReloads);
+        Log.infof("[MODEL] Loaded %s risk model version %s from %s",
+                current().type(), current().version(), modelFile.loaded().source());
+    }
+
+    @PreDestroy
+    void stop() {
+        modelFile.stop();
+    }
+
+    /**
+     * Model to score one claim or batch with. Read it once per unit of work so a concurrent swap never
+     * mixes two model versions within it.
+     */
+    public RiskModel current() {
+        return modelFile.current();
+    }
+
+    public ModelInfo info() {
+        HotReloadedFile.Loaded<RiskModel> loaded = modelFile.loaded();
+        return new ModelInfo(loaded.value().type(), loaded.value().version(), loaded.source(), loaded.loadedAt(),
+                modelFile.reloads(), modelFile.rejectedReloads());
+    }
+
+    /**
+     * Reloads the model file unconditionally.
+     *
+     * @throws IllegalArgumentException if the new model is invalid; the active model is kept
+     */
+    public ModelInfo reload() {
+        modelFile.reload();
+        return info();
+    }
+
+    private RiskModel compile(InputStream input) throws IOException {
+        RiskModelDefinition definition = objectMapper.readValue(input, RiskModelDefinition.class);
+        RiskModelFactory factory = factories.get(definition.type());
+        if (factory == null) {
+            throw new IllegalArgumentException("Unsupported risk model type: " + definition.type());
+        }
+        return factory.create(definition);
+    }
+
+    public record ModelInfo(String type, String version, String source, Instant loadedAt, long reloads, long rejectedReloads) {
+    }
+}
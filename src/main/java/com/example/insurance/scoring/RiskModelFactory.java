@@ -0,0 +1,15 @@
+package com.example.insurance.scoring;
+
+/**
+ * Compiles model files of one {@link RiskModelDefinition#type()}. Any CDI bean implementing this interface
+ * is picked up by {@link RiskModelEngine}, so further model kinds can be added without touching the engine.
+ */
+public interface RiskModelFactory {
+
+    String type();
+
+    /**
+     * @throws IllegalArgumentException if the definition is incomplete or inconsistent
+     */
+    RiskModel create(RiskModelDefinition definition);
+}
@@ -0,0 +1,20 @@
+package com.example.insurance.scoring;
+
+/**
+ * Validation shared by the built-in model compilers.
+ */
+final class RiskModels {
+
+    private RiskModels() {
+    }
+
+    static void requireVersion(RiskModelDefinition definition) {
+        require(definition.version() != null && !definition.version().isBlank(), "version is required");
+    }
+
+    static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException("Invalid risk model: " + message);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.insurance.service;
+
+import com.example.insurance.entity.ClaimAssessment;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of assessment results keyed by {@link ClaimContentHash}, so identical resubmissions under
+ * a new claim number reuse the assessment of the first stored claim instead of being scored again. Only
+ * claims that were stored are remembered. Entries expire after a TTL, are ignored once the rules or model
+ * they were computed with have been replaced, and the oldest entries are evicted once the cache exceeds its
+ * maximum size. Results are remembered before coverage capping, which still applies per claim.
+ */
+@ApplicationScoped
+public class AssessmentMemo {
+
+    @Inject
+    MetricRegistry registry;
+
+    @ConfigProperty(name = "claims.assessment-memo.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "claims.assessment-memo.ttl-seconds", defaultValue = "3600")
+    long ttlSeconds;
+
+    @ConfigProperty(name = "claims.assessment-memo.max-size", defaultValue = "10000")
+    int maxSize;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @PostConstruct
+    void registerMetrics() {
+        registry.gauge("claims.assessment-memo.size", entries, Map::size);
+        registry.gauge("claims.assessment-memo.hits", hits, LongAdder::sum);
+        registry.gauge("claims.assessment-memo.misses", misses, LongAdder::sum);
+        registry.gauge("claims.assessment-memo.evictions", evictions, LongAdder::sum);
+    }
+
+    /**
+     * Assessment of an earlier claim with the same content, assessed under the same rules and model.
+     * A redelivery of the remembered claim itself is not a repeat.
+     */
+    public Optional<RememberedAssessment> find(String contentHash, String claimNumber, String assessmentVersion) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Entry entry = entries.get(contentHash);
+        if (entry == null || entry.isExpired(System.nanoTime()) || !entry.assessmentVersion().equals(assessmentVersion)
+                || entry.assessment().claimNumber().equals(claimNumber)) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(entry.assessment());
+    }
+
+    public void remember(String contentHash, String assessmentVersion, RememberedAssessment remembered) {
+        if (!enabled) {
+            return;
+        }
+        entries.put(contentHash, new Entry(remembered, assessmentVersion,
+                System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        evictIfFull();
+    }
+
+    /**
+     * Replaces the fraud verdict remembered for a claim after its refinement changed it, so later repeats
+     * get the refined verdict. An entry that has since been taken over by another claim is left as is.
+     */
+    public void refine(String contentHash, String claimNumber, int riskScore, boolean fraudFlag, String assessmentNotes) {
+        if (!enabled || contentHash == null) {
+            return;
+        }
+        entries.computeIfPresent(contentHash, (hash, entry) -> entry.assessment().claimNumber().equals(claimNumber) ?
+                new Entry(entry.assessment().withVerdict(riskScore, fraudFlag, assessmentNotes),
+                        entry.assessmentVersion(), entry.expiresAtNanos()) :
+                entry);
+    }
+
+    // Forgets every remembered assessment, so tests sharing the application do not repeat each other's claims
+    void clear() {
+        entries.clear();
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        entries.entrySet().removeIf(mapping -> {
+            if (mapping.getValue().isExpired(now)) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        });
+
+        int excess = entries.size() - maxSize;
+        if (excess <= 0) {
+            return;
+        }
+        // Evict a tenth of the cache at once so a full cache does not pay for a scan on every insert
+        int toEvict = Math.max(excess, maxSize / 10);
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(mapping -> mapping.getValue().expiresAtNanos()))
+                .limit(toEvict)
+                .toList()
+                .forEach(mapping -> {
+                    if (entries.remove(mapping.getKey(), mapping.getValue())) {
+                        evictions.increment();
+                    }
+                });
+    }
+
+    /**
+     * Assessment outcome of the first stored claim with a given content, before coverage capping.
+     */
+    public record RememberedAssessment(
+            String claimNumber,
+            String assessorId,
+            BigDecimal approvedAmount,
+            Integer riskScore,
+            boolean fraudFlag,
+            String assessmentNotes) {
+
+        public static RememberedAssessment of(ClaimAssessment assessment) {
+            return new RememberedAssessment(assessment.getClaimNumber(), assessment.getAssessorId(),
+                    assessment.getApprovedAmount(), assessment.getRiskScore(), Boolean.TRUE.equals(assessment.getFraudFlag()),
+                    assessment.getAssessmentNotes());
+        }
+
+        /**
+         * The remembered outcome as an assessment of another claim, noting which claim it repeats.
+         */
+        public ClaimAssessment repeatFor(String repeatClaimNumber) {
+            return ClaimAssessment.builder()
+                    .claimNumber(repeatClaimNumber)
+                    .assessorId(assessorId)
+                    .approvedAmount(approvedAmount)
+                    .riskScore(riskScore)
+                    .fraudFlag(fraudFlag)
+                    .assessmentNotes((assessmentNotes != null ? assessmentNotes + " " : "") + "Repeat submission of " + claimNumber + ".")
+                    .repeatOf(claimNumber)
+                    .build();
+        }
+
+        RememberedAssessment withVerdict(int riskScore, boolean fraudFlag, String assessmentNotes) {
+            return new RememberedAssessment(claimNumber, assessorId, approvedAmount, riskScore, fraudFlag, assessmentNotes);
+        }
+    }
+
+    private record Entry(RememberedAssessment assessment, String assessmentVersion, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.insurance.service;
+
+import com.example.insurance.util.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * Primitive outputs of a {@link ClaimBatch} assessment, index-aligned with the input arrays.
+ */
+public record BatchAssessment(long[] approvedCents, int[] riskScores, boolean[] fraudFlags) {
+
+    public static BatchAssessment allocate(int size) {
+        return new BatchAssessment(new long[size], new int[size], new boolean[size]);
+    }
+
+    public BigDecimal approvedAmount(int index) {
+        return Money.ofCents(approvedCents[index]).toBigDecimal();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.insurance.service;
+
+import com.example.insurance.rules.AssessmentRules;
+import com.example.insurance.scoring.RiskFeature;
+import com.example.insurance.scoring.RiskFeatures;
+import com.example.insurance.scoring.RiskModel;
+import com.example.insurance.util.Money;
+
+import java.util.stream.IntStream;
+
+/**
+ * Columnar assessment kernel: applies one rule set and risk model to a whole {@link ClaimBatch} with
+ * long-cent and int arithmetic, writing into preallocated output arrays. It uses the same {@link Money}
+ * rounding and {@link RiskFeatures} as the per-claim path in {@link ClaimAssessmentService}, so both
+ * produce identical results.
+ */
+public final class BatchClaimAssessor {
+
+    /**
+     * Chunk size for parallel runs; large enough that splitting overhead stays small relative to the work.
+     */
+    static final int PARALLEL_CHUNK = 4096;
+
+    private BatchClaimAssessor() {
+    }
+
+    public static void assess(AssessmentRules rules, RiskModel model, ClaimBatch batch, BatchAssessment out, boolean parallel) {
+        int size = batch.size();
+        if (!parallel || size <= PARALLEL_CHUNK) {
+            assessRange(rules, model, batch, out, 0, size);
+            return;
+        }
+        int chunks = (size + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunk * PARALLEL_CHUNK;
+            assessRange(rules, model, batch, out, from, Math.min(size, from + PARALLEL_CHUNK));
+        });
+    }
+
+    private static void assessRange(AssessmentRules rules, RiskModel model, ClaimBatch batch, BatchAssessment out,
+                                    int from, int to) {
+        long[] claimedCents = batch.claimedCents();
+        int[] claimTypes = batch.claimTypes();
+        int[] priorities = batch.priorities();
+        int[] incidentDayOffsets = batch.incidentDayOffsets();
+        double[] features = new double[RiskFeature.COUNT];
+        long[] approvedCents = out.approvedCents();
+        int[] riskScores = out.riskScores();
+        boolean[] fraudFlags = out.fraudFlags();
+        int maxRiskScore = rules.maxRiskScore();
+        int highAmountRiskPoints = rules.highAmountRiskPoints();
+
+        for (int i = from; i < to; i++) {
+            long cents = claimedCents[i];
+            int type = claimTypes[i];
+
+            approvedCents[i] = Money.applyBasisPoints(cents, rules.approvalBasisPoints(type));
+
+            // Offsets are relative to the claim date, so an incident before it has a negative offset
+            RiskFeatures.fill(features, cents, type, priorities[i], -incidentDayOffsets[i]);
+            int score = RiskScoringContext.baseScore(model.score(features), rules) + rules.claimTypeRiskPoints(type);
+            if (rules.isHighAmount(cents)) {
+                score += highAmountRiskPoints;
+            }
+            score = Math.min(score, maxRiskScore);
+            riskScores[i] = score;
+            fraudFlags[i] = rules.isFraudulent(score, cents);
+        }
+    }
+}
@@ -2,128 +2,152 @@ package com.example.insurance.service;
 
 import com.example.insurance.entity.Claim;
 import com.example.insurance.entity.ClaimAssessment;
+import com.example.insurance.fraud.FraudSignals;
+import com.example.insurance.pipeline.ClaimStageTimer;
+import com.example.insurance.rules.AssessmentRuleEngine;
+import com.example.insurance.rules.AssessmentRules;
+import com.example.insurance.scoring.RiskFeatures;
+import com.example.insurance.scoring.RiskModelEngine;
+import com.example.insurance.util.Money;
 import io.quarkus.logging.Log;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
-import java.math.BigDecimal;
-import java.util.Random;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 @ApplicationScoped
 public class ClaimAssessmentService {
 
-    private final Random random = new Random();
+    @Inject
+    ClaimStageTimer stageTimer;
+
+    @Inject
+    AssessmentRuleEngine ruleEngine;
+
+    @Inject
+    RiskModelEngine modelEngine;
+
+    /**
+     * Identifies the rules and model currently in effect; assessments made under different versions are
+     * not interchangeable.
+     */
+    public String assessmentVersion() {
+        return ruleEngine.current().version() + "/" + modelEngine.current().version();
+    }
 
-    
     public ClaimAssessment performClaimAssessment(Claim claim) {
-        Log.debug("[ASSESSMENT] Starting standard claim assessment for: " + claim.getClaimNumber());
+        return performClaimAssessment(claim, FraudSignals.NONE);
+    }
+
+    /**
+     * Standard assessment with the claim's fraud signals (velocity, near-duplicates) folded into its risk score.
+     */
+    public ClaimAssessment performClaimAssessment(Claim claim, FraudSignals signals) {
+        long startTime = System.nanoTime();
+        Log.debugf("[ASSESSMENT] Starting standard claim assessment for: %s", claim.getClaimNumber());
+        AssessmentRules rules = ruleEngine.current();
+        Money claimedAmount = Money.of(claim.getClaimedAmount());
+        RiskScoringContext scoring = scoreRisk(claim, signals, rules);
+        if (scoring.fraud()) {
+            Log.debugf("[FRAUD-DETECTION] Fraud indicators detected for claim: %s | Risk Score: %d | Velocity Points: %d | Amount: %s",
+                    claim.getClaimNumber(), scoring.riskScore(), scoring.velocityPoints(), claim.getClaimedAmount());
+        }
 
         ClaimAssessment assessment = ClaimAssessment.builder()
                 .claimNumber(claim.getClaimNumber())
-                .assessorId("KAFKA_ASSESSOR_" + UUID.randomUUID().toString().substring(0, 6))
-                .approvedAmount(calculateApprovedAmount(claim))
-                .riskScore(calculateRiskScore(claim))
-                .fraudFlag(detectFraud(claim))
-                .assessmentNotes(generateAssessmentNotes(claim))
-                .processingTimeMs((int) calculateProcessingTime())
+                .assessorId("KAFKA_ASSESSOR_" + String.format("%06x", ThreadLocalRandom.current().nextInt(1 << 24)))
+                .approvedAmount(calculateApprovedAmount(claim, claimedAmount, rules).toBigDecimal())
+                .riskScore(scoring.riskScore())
+                .fraudFlag(scoring.fraud())
+                .assessmentNotes(scoring.notes())
                 .build();
+        assessment.setProcessingTimeMs(ClaimStageTimer.toMillis(stageTimer.record(ClaimStageTimer.Step.ASSESSMENT, startTime)));
 
-        Log.debug("[ASSESSMENT] Standard assessment completed for: " + claim.getClaimNumber() +
-                " | Approved: " + assessment.getApprovedAmount() +
-                " | Risk: " + assessment.getRiskScore() +
-                " | Fraud: " + assessment.getFraudFlag());
+        Log.debugf("[ASSESSMENT] Standard assessment completed for: %s | Approved: %s | Risk: %d | Fraud: %s",
+                claim.getClaimNumber(), assessment.getApprovedAmount(), assessment.getRiskScore(), assessment.getFraudFlag());
 
         return assessment;
     }
 
+    /**
+     * Risk score and fraud verdict of a claim under the current rules and model, without building an
+     * assessment. Used to refine a preliminary assessment once further fraud signals are known.
+     */
+    public RiskScoringContext scoreRisk(Claim claim, FraudSignals signals) {
+        return scoreRisk(claim, signals, ruleEngine.current());
+    }
+
+    private RiskScoringContext scoreRisk(Claim claim, FraudSignals signals, AssessmentRules rules) {
+        double modelScore = modelEngine.current().score(RiskFeatures.of(claim));
+        return RiskScoringContext.score(modelScore, Money.of(claim.getClaimedAmount()), claim.getClaimType(), signals, rules);
+    }
+
     public ClaimAssessment performExpressAssessment(Claim claim) {
-        Log.debug("[ASSESSMENT] Starting EXPRESS assessment for high priority claim: " + claim.getClaimNumber());
+        long startTime = System.nanoTime();
+        Log.debugf("[ASSESSMENT] Starting EXPRESS assessment for high priority claim: %s", claim.getClaimNumber());
+        AssessmentRules rules = ruleEngine.current();
 
         ClaimAssessment assessment = ClaimAssessment.builder()
                 .claimNumber(claim.getClaimNumber())
                 .assessorId("EXPRESS_ASSESSOR")
-                .approvedAmount(claim.getClaimedAmount().multiply(BigDecimal.valueOf(0.9)))
-                .riskScore(15)
+                .approvedAmount(Money.of(claim.getClaimedAmount()).timesBasisPoints(rules.expressApprovalBasisPoints()).toBigDecimal())
+                .riskScore(rules.expressRiskScore())
                 .fraudFlag(false)
                 .assessmentNotes("Express assessment for high priority claim")
-                .processingTimeMs(200)
                 .build();
+        assessment.setProcessingTimeMs(ClaimStageTimer.toMillis(stageTimer.record(ClaimStageTimer.Step.ASSESSMENT, startTime)));
 
-        Log.debug("[ASSESSMENT] Express assessment completed for: " + claim.getClaimNumber() +
-                " | Approved: " + assessment.getApprovedAmount() +
-                " | Processing Time: " + assessment.getProcessingTimeMs() + "ms");
+        Log.debugf("[ASSESSMENT] Express assessment completed for: %s | Approved: %s | Processing Time: %dms",
+                claim.getClaimNumber(), assessment.getApprovedAmount(), assessment.getProcessingTimeMs());
 
         return assessment;
     }
 
-    private BigDecimal calculateApprovedAmount(Claim claim) {
-        BigDecimal baseAmount = claim.getClaimedAmount();
-        BigDecimal multiplier = switch (claim.getClaimType()) {
-            case ACCIDENT -> BigDecimal.valueOf(0.85);
-            case ILLNESS, DISABILITY -> BigDecimal.valueOf(0.9);
-            case PROPERTY_DAMAGE -> BigDecimal.valueOf(0.8);
-            case THEFT -> BigDecimal.valueOf(0.75);
-            case NATURAL_DISASTER -> BigDecimal.valueOf(0.95);
-            case TRAVEL_CANCELATION -> BigDecimal.valueOf(0.7);
-            case DEATH -> BigDecimal.valueOf(1.0);
-            case OTHER -> BigDecimal.valueOf(0.6);
-        };
-
-        BigDecimal approvedAmount = baseAmount.multiply(multiplier);
-        Log.debug("[ASSESSMENT] Calculated approved amount for " + claim.getClaimType() +
-                " claim: " + approvedAmount + " (from " + baseAmount + ")");
-
-        return approvedAmount;
-    }
-
-    private int calculateRiskScore(Claim claim) {
-        int baseScore = random.nextInt(50) + 10;
-
-        // Higher risk for large amounts
-        if (claim.getClaimedAmount().compareTo(BigDecimal.valueOf(10000)) > 0) {
-            baseScore += 20;
-            Log.debug("[ASSESSMENT] Added 20 risk points for high claim amount: " + claim.getClaimedAmount());
-        }
-
-        // Higher risk for certain claim types
-        if (claim.getClaimType() == Claim.ClaimType.THEFT ||
-            claim.getClaimType() == Claim.ClaimType.NATURAL_DISASTER) {
-            baseScore += 15;
-            Log.debug("[ASSESSMENT] Added 15 risk points for claim type: " + claim.getClaimType());
-        }
-
-        int finalScore = Math.min(baseScore, 100);
-        Log.debug("[ASSESSMENT] Final risk score for " + claim.getClaimNumber() + ": " + finalScore);
-
-        return finalScore;
+    /**
+     * Assesses a columnar batch into primitive arrays, optionally split across the common fork-join pool.
+     */
+    public BatchAssessment assessBatch(ClaimBatch batch, boolean parallel) {
+        long startTime = System.nanoTime();
+        BatchAssessment result = BatchAssessment.allocate(batch.size());
+        BatchClaimAssessor.assess(ruleEngine.current(), modelEngine.current(), batch, result, parallel);
+        Log.debugf("[ASSESSMENT] Batch assessment of %d claims completed in %d us",
+                batch.size(), (System.nanoTime() - startTime) / 1_000);
+        return result;
     }
 
-    private boolean detectFraud(Claim claim) {
-        int fraudProbability = calculateRiskScore(claim);
-        boolean isFraud = fraudProbability > 70 || claim.getClaimedAmount().compareTo(BigDecimal.valueOf(50000)) > 0;
-
-        if (isFraud) {
-            Log.warn("[FRAUD-DETECTION] Fraud indicators detected for claim: " + claim.getClaimNumber() +
-                    " | Risk Score: " + fraudProbability +
-                    " | Amount: " + claim.getClaimedAmount());
+    /**
+     * Batch counterpart of {@link #performClaimAssessment(Claim)} for backfills: scores all claims through
+     * the columnar path and builds the assessment entities from the results.
+     */
+    public List<ClaimAssessment> performBatchAssessment(List<Claim> claims) {
+        long startTime = System.nanoTime();
+        BatchAssessment result = assessBatch(ClaimBatch.of(claims), true);
+        int processingTimeMs = ClaimStageTimer.toMillis(stageTimer.record(ClaimStageTimer.Step.ASSESSMENT, startTime));
+
+        List<ClaimAssessment> assessments = new ArrayList<>(claims.size());
+        for (int i = 0; i < claims.size(); i++) {
+            Claim claim = claims.get(i);
+            boolean fraud = result.fraudFlags()[i];
+            assessments.add(ClaimAssessment.builder()
+                    .claimNumber(claim.getClaimNumber())
+                    .assessorId("BATCH_ASSESSOR")
+                    .approvedAmount(result.approvedAmount(i))
+                    .riskScore(result.riskScores()[i])
+                    .fraudFlag(fraud)
+                    .assessmentNotes(RiskScoringContext.notes(claim.getClaimType(), result.riskScores()[i], fraud))
+                    .processingTimeMs(processingTimeMs)
+                    .build());
         }
-
-        return isFraud;
+        return assessments;
     }
 
-    private String generateAssessmentNotes(Claim claim) {
-        String notes = String.format("Standard assessment for %s claim. Risk score: %d. %s",
-                claim.getClaimType(),
-                calculateRiskScore(claim),
-                detectFraud(claim) ? "Flagged for potential fraud." : "No fraud indicators detected.");
+    private Money calculateApprovedAmount(Claim claim, Money baseAmount, AssessmentRules rules) {
+        Money approvedAmount = baseAmount.timesBasisPoints(rules.approvalBasisPoints(claim.getClaimType()));
+        Log.debugf("[ASSESSMENT] Calculated approved amount for %s claim: %s (from %s)",
+                claim.getClaimType(), approvedAmount, baseAmount);
 
-        Log.debug("[ASSESSMENT] Generated assessment notes for " + claim.getClaimNumber() + ": " + notes);
-        return notes;
-    }
-
-    private long calculateProcessingTime() {
-        long processingTime = 300 + random.nextInt(700);
-        Log.debug("[ASSESSMENT] Simulated processing time: " + processingTime + "ms");
-        return processingTime;
+        return approvedAmount;
     }
 }
\ No newline at end of file
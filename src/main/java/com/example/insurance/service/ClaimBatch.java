@@ -0,0 +1,43 @@
+package com.example.insurance.service;
+
+import com.example.insurance.entity.Claim;
+import com.example.insurance.scoring.RiskFeatures;
+import com.example.insurance.util.Money;
+
+import java.util.List;
+
+/**
+ * Struct-of-arrays view of a batch of claims for {@link BatchClaimAssessor}. Amounts are in cents,
+ * enums are ordinals and incident dates are day offsets from each claim's claim date. Index {@code i}
+ * across all arrays describes one claim.
+ */
+public record ClaimBatch(
+        int size,
+        long[] claimedCents,
+        int[] claimTypes,
+        int[] priorities,
+        int[] incidentDayOffsets) {
+
+    public ClaimBatch {
+        if (claimedCents.length < size || claimTypes.length < size || priorities.length < size ||
+                incidentDayOffsets.length < size) {
+            throw new IllegalArgumentException("Claim batch arrays are shorter than the batch size " + size);
+        }
+    }
+
+    public static ClaimBatch allocate(int size) {
+        return new ClaimBatch(size, new long[size], new int[size], new int[size], new int[size]);
+    }
+
+    public static ClaimBatch of(List<Claim> claims) {
+        ClaimBatch batch = allocate(claims.size());
+        for (int i = 0; i < claims.size(); i++) {
+            Claim claim = claims.get(i);
+            batch.claimedCents[i] = Money.of(claim.getClaimedAmount()).cents();
+            batch.claimTypes[i] = claim.getClaimType().ordinal();
+            batch.priorities[i] = claim.getPriority() != null ? claim.getPriority().ordinal() : Claim.ClaimPriority.NORMAL.ordinal();
+            batch.incidentDayOffsets[i] = -RiskFeatures.incidentAgeDays(claim);
+        }
+        return batch;
+    }
+}
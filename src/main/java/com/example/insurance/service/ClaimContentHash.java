@@ -0,0 +1,56 @@
+package com.example.insurance.service;
+
+import com.example.insurance.dto.ClaimSubmission;
+import com.example.insurance.entity.Claim;
+import com.example.insurance.util.Money;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Content hash of a claim submission that ignores the claim number and formatting noise, so a client
+ * retry or partner replay under a new claim number hashes the same as the original. Text fields are
+ * trimmed, lower-cased and whitespace-collapsed, and the amount is compared in whole cents.
+ */
+public final class ClaimContentHash {
+
+    private static final char SEPARATOR = '\u001f';
+
+    private ClaimContentHash() {
+    }
+
+    public static String of(ClaimSubmission submission) {
+        StringBuilder content = new StringBuilder(256);
+        append(content, submission.getPolicyNumber());
+        append(content, submission.getClaimType() != null ? submission.getClaimType().name() : null);
+        append(content, submission.getIncidentDate() != null ? submission.getIncidentDate().toString() : null);
+        append(content, Long.toString(Money.of(submission.getClaimedAmount()).cents()));
+        append(content, submission.getDescription());
+        append(content, (submission.getPriority() != null ? submission.getPriority() : Claim.ClaimPriority.NORMAL).name());
+        append(content, submission.getPolicyholderId());
+        append(content, submission.getPolicyholderEmail());
+        return digest(content.toString());
+    }
+
+    private static void append(StringBuilder content, String value) {
+        if (value != null) {
+            String normalized = value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+            content.append(normalized);
+        }
+        content.append(SEPARATOR);
+    }
+
+    private static String digest(String content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            // 128 bits is plenty to tell submissions apart and keeps cache keys short
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
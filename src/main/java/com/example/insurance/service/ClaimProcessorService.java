@@ -3,19 +3,58 @@ package com.example.insurance.service;
 import com.example.insurance.dto.ClaimSubmission;
 import com.example.insurance.entity.Claim;
 import com.example.insurance.entity.ClaimAssessment;
+import com.example.insurance.entity.InsurancePolicy;
+import com.example.insurance.exception.ClaimProcessingException;
+import com.example.insurance.fraud.DuplicateCandidate;
+import com.example.insurance.fraud.FraudSignals;
+import com.example.insurance.fraud.NearDuplicateDetector;
+import com.example.insurance.fraud.VelocityTracker;
+import com.example.insurance.logging.ClaimEventLogger;
+import com.example.insurance.pipeline.ClaimStageTimer;
+import com.example.insurance.pipeline.PipelineStage;
+import com.example.insurance.pipeline.PipelineStages;
 import com.example.insurance.repository.ClaimAssessmentRepository;
+import com.example.insurance.repository.ClaimBatchWriter;
+import com.example.insurance.repository.ClaimBulkLoader;
 import com.example.insurance.repository.ClaimRepository;
-import com.example.insurance.repository.InsurancePolicyRepository;
+import com.example.insurance.repository.ClaimStatisticsTracker;
+import com.example.insurance.repository.InsurancePolicyCache;
+import com.example.insurance.repository.PolicyExposureTracker;
+import com.example.insurance.util.Money;
 import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
-import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 @ApplicationScoped
 public class ClaimProcessorService {
 
+    // Quarkus accepts these names for the PostgreSQL datasource kind
+    private static final Set<String> POSTGRESQL_DB_KINDS = Set.of("postgresql", "postgres", "pgsql");
+
     @Inject
     ClaimRepository claimRepository;
 
@@ -23,7 +62,7 @@ public class ClaimProcessorService {
     ClaimAssessmentRepository assessmentRepository;
 
     @Inject
-    InsurancePolicyRepository policyRepository;
+    InsurancePolicyCache policyCache;
 
     @Inject
     ClaimAssessmentService assessmentService;
@@ -31,93 +70,513 @@ public class ClaimProcessorService {
     @Inject
     KafkaProducerService producerService;
 
-    @Transactional
+    @Inject
+    ClaimBatchWriter batchWriter;
+
+    @Inject
+    PipelineStages pipelineStages;
+
+    @Inject
+    ClaimBulkLoader bulkLoader;
+
+    @Inject
+    ClaimEventLogger claimLogger;
+
+    @Inject
+    ClaimStageTimer stageTimer;
+
+    @Inject
+    PolicyExposureTracker exposureTracker;
+
+    @Inject
+    ClaimStatisticsTracker statisticsTracker;
+
+    @Inject
+    VelocityTracker velocityTracker;
+
+    @Inject
+    NearDuplicateDetector duplicateDetector;
+
+    @Inject
+    AssessmentMemo assessmentMemo;
+
+    @Inject
+    ClaimSlaScheduler slaScheduler;
+
+    @ConfigProperty(name = "claims.write-behind.enabled", defaultValue = "true")
+    boolean writeBehindEnabled;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    @ConfigProperty(name = "claims.pipeline.refine.drain-timeout-seconds", defaultValue = "30")
+    long refineDrainTimeoutSeconds;
+
+    private PipelineStage<ClaimWorkItem, ClaimWorkItem> validationStage;
+    private PipelineStage<ClaimWorkItem, ClaimWorkItem> assessmentStage;
+    private PipelineStage<ClaimWorkItem, CompletableFuture<ClaimWorkItem>> persistenceStage;
+    private PipelineStage<ClaimWorkItem, ClaimWorkItem> publishStage;
+    private PipelineStage<ClaimWorkItem, ClaimWorkItem> refinementStage;
+
+    @PostConstruct
+    void initPipeline() {
+        validationStage = pipelineStages.create("validate", this::validate, ClaimSlaScheduler.EARLIEST_DEADLINE_FIRST);
+        assessmentStage = pipelineStages.create("assess", this::assess, ClaimSlaScheduler.EARLIEST_DEADLINE_FIRST);
+        persistenceStage = pipelineStages.create("persist", this::persist, ClaimSlaScheduler.EARLIEST_DEADLINE_FIRST);
+        publishStage = pipelineStages.create("publish", this::publish, ClaimSlaScheduler.EARLIEST_DEADLINE_FIRST);
+        refinementStage = pipelineStages.create("refine", this::refine);
+    }
+
+    /**
+     * Refuses to start with write-behind disabled on a database other than PostgreSQL: claims are then
+     * inserted directly with {@link ClaimRepository#insertIfAbsent}, whose advisory lock and
+     * {@code INSERT ... RETURNING} against {@code claim_registry} only exist in the migrated PostgreSQL schema.
+     */
+    void onStart(@Observes StartupEvent event) {
+        checkDirectWritesSupported(writeBehindEnabled, dbKind);
+    }
+
+    static void checkDirectWritesSupported(boolean writeBehindEnabled, String dbKind) {
+        if (!writeBehindEnabled && !POSTGRESQL_DB_KINDS.contains(dbKind.toLowerCase(Locale.ROOT))) {
+            throw new IllegalStateException("claims.write-behind.enabled=false needs a PostgreSQL datasource, but "
+                    + "quarkus.datasource.db-kind is " + dbKind);
+        }
+    }
+
+    /**
+     * Runs the queued fraud refinements while the datasource and Kafka emitters are still up; the other
+     * stages are stopped later, when their beans are destroyed. Claims that complete after this point are
+     * refined on their caller's thread. Refinements still queued at the timeout are dropped and logged,
+     * and those claims keep their preliminary verdict.
+     */
+    void onShutdown(@Observes ShutdownEvent event) {
+        List<ClaimWorkItem> abandoned = refinementStage.drain(Duration.ofSeconds(refineDrainTimeoutSeconds));
+        for (ClaimWorkItem item : abandoned) {
+            Log.warnf("[FRAUD-DETECTION] Refinement of claim %s dropped at shutdown; its preliminary verdict stands",
+                    item.getClaim().getClaimNumber());
+        }
+    }
+
     public void processClaimSubmission(ClaimSubmission claimSubmission) {
-        String startTime = java.time.Instant.now().toString();
+        runPipeline(new ClaimWorkItem(claimSubmission, false));
+    }
+
+    public void processHighPriorityClaim(ClaimSubmission claimSubmission) {
+        runPipeline(new ClaimWorkItem(claimSubmission, true));
+    }
 
-        Log.info("[CLAIM-PROCESSOR] Starting claim processing for policy: " + claimSubmission.getPolicyNumber());
+    public ClaimBulkLoader.BulkLoadResult processBackfillBatch(List<ClaimSubmission> claimSubmissions) {
+        List<Claim> claims = new ArrayList<>(claimSubmissions.size());
 
-        // Validate that policy exists before processing
-        if (!policyRepository.existsByPolicyNumber(claimSubmission.getPolicyNumber())) {
-            Log.warn("[VALIDATION] Policy not found: " + claimSubmission.getPolicyNumber() + " - rejecting claim");
-            throw new RuntimeException("Policy not found: " + claimSubmission.getPolicyNumber());
+        List<InsurancePolicy> policies = new ArrayList<>(claimSubmissions.size());
+        for (ClaimSubmission claimSubmission : claimSubmissions) {
+            Optional<InsurancePolicy> policy = policyCache.get(claimSubmission.getPolicyNumber());
+            if (policy.isEmpty()) {
+                claimLogger.rejected(claimSubmission.getPolicyNumber(),
+                        String.format("Policy not found, skipping backfill claim %s", claimSubmission.getClaimNumber()));
+                continue;
+            }
+            claims.add(buildClaimFromSubmission(claimSubmission));
+            policies.add(policy.get());
         }
 
-        // Create claim entity
-        Claim claim = buildClaimFromSubmission(claimSubmission);
-        claimRepository.createOrUpdate(claim);
-        Log.info("[DATABASE] Claim saved to database: " + claim.getClaimNumber());
+        // Backfills go through the columnar assessment path
+        List<ClaimAssessment> assessments = assessmentService.performBatchAssessment(claims);
+        for (int i = 0; i < claims.size(); i++) {
+            reserveCoverage(policies.get(i), claims.get(i), assessments.get(i));
+        }
 
-        // Perform assessment
-        ClaimAssessment assessment = assessmentService.performClaimAssessment(claim);
-        assessmentRepository.create(assessment);
-        Log.info("[DATABASE] Claim assessment created: " + assessment.getClaimNumber() +
-                " | Approved Amount: " + assessment.getApprovedAmount() +
-                " | Risk Score: " + assessment.getRiskScore() +
-                " | Fraud Flag: " + assessment.getFraudFlag());
+        if (claims.isEmpty()) {
+            return new ClaimBulkLoader.BulkLoadResult(0, 0, 0);
+        }
+        if (bulkLoader.isSupported()) {
+            try {
+                ClaimBulkLoader.BulkLoadResult result = bulkLoader.copyClaimsWithAssessments(claims, assessments);
+                // A redelivered batch stores only the claims that were still missing
+                Set<String> stored = new HashSet<>(result.storedClaimNumbers());
+                for (int i = 0; i < claims.size(); i++) {
+                    Claim claim = claims.get(i);
+                    if (stored.remove(claim.getClaimNumber())) {
+                        confirmCoverage(claim);
+                    } else {
+                        releaseCoverage(claim);
+                        claimLogger.duplicate(claim.getClaimNumber());
+                    }
+                }
+                return result;
+            } catch (RuntimeException e) {
+                for (int i = 0; i < claims.size(); i++) {
+                    releaseCoverage(claims.get(i));
+                }
+                throw e;
+            }
+        }
 
-        // Handle fraud detection
-        handleFraudDetection(claim, assessment);
+        // COPY needs PostgreSQL; other databases fall back to the write-behind batches
+        long startTime = System.nanoTime();
+        AtomicLong stored = new AtomicLong();
+        List<CompletableFuture<Boolean>> writes = new ArrayList<>(claims.size());
+        for (int i = 0; i < claims.size(); i++) {
+            Claim claim = claims.get(i);
+            ClaimAssessment assessment = assessments.get(i);
+            writes.add(batchWriter.write(claim, assessment).whenComplete((inserted, failure) -> {
+                if (failure != null || !inserted) {
+                    releaseCoverage(claim);
+                } else {
+                    stored.incrementAndGet();
+                    confirmCoverage(claim);
+                }
+            }));
+        }
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).join();
+        return new ClaimBulkLoader.BulkLoadResult(stored.get(), stored.get(), (System.nanoTime() - startTime) / 1_000_000);
+    }
 
-        // Handle high priority claims
-        handleHighPriorityClaims(claim, assessment);
+    public List<PipelineStage.StageStats> getPipelineStats() {
+        return pipelineStages.stats();
+    }
 
-        // Send events
-        producerService.sendProcessedClaimEvent(claim, assessment);
-        producerService.sendClaimLifecycleEvent(claim, "CLAIM_PROCESSED");
+    public List<ClaimSlaScheduler.SlaStats> getSlaStats() {
+        return slaScheduler.stats();
+    }
 
-        String endTime = java.time.Instant.now().toString();
-        Log.info("[CLAIM-PROCESSOR] Claim processing completed successfully for: " + claim.getClaimNumber());
-        Log.info("[CLAIM-PROCESSOR] Processing started at: " + startTime + " | completed at: " + endTime);
+    public ClaimStatisticsTracker.ClaimStatistics getStatistics() {
+        return statisticsTracker.snapshot();
+    }
 
+    private ClaimWorkItem runPipeline(ClaimWorkItem item) {
+        slaScheduler.schedule(item);
+        try {
+            // Persist workers only hand the claim to the batch writer; the stored claim is published from this
+            // thread so no stage worker or flusher thread waits on a batch commit
+            ClaimWorkItem stored = validationStage.submit(item)
+                    .thenCompose(assessmentStage::submit)
+                    .thenCompose(persistenceStage::submit)
+                    .thenCompose(Function.identity())
+                    .join();
+            ClaimWorkItem completed = publishStage.submit(stored).join();
+            slaScheduler.complete(completed);
+            submitRefinement(completed);
+            return completed;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ClaimProcessingException(item.getSubmission().getClaimNumber(), "Claim processing failed", e.getCause());
+        }
     }
 
-    @Transactional
-    public void processHighPriorityClaim(ClaimSubmission claimSubmission) {
-        String startTime = java.time.Instant.now().toString();
+    /**
+     * Hands a stored claim to the fraud refinement stage without waiting for it. Redeliveries are skipped,
+     * as the claim they stand for was refined when it was first processed, and so are repeats, which take
+     * the verdict of the claim they repeat.
+     */
+    private void submitRefinement(ClaimWorkItem item) {
+        if (item.isDuplicate() || item.isRepeat()) {
+            return;
+        }
+        refinementStage.submit(item).whenComplete((refined, failure) -> {
+            if (failure instanceof RejectedExecutionException) {
+                // The stage has been drained for shutdown
+                refineOnCallerThread(item);
+            } else if (failure != null && !(failure instanceof CancellationException)) {
+                claimLogger.failed("fraud-refinement", item.getClaim().getClaimNumber(), failure);
+            }
+        });
+    }
+
+    private void refineOnCallerThread(ClaimWorkItem item) {
+        try {
+            refine(item);
+        } catch (RuntimeException e) {
+            claimLogger.failed("fraud-refinement", item.getClaim().getClaimNumber(), e);
+        }
+    }
 
-        Log.info("[CLAIM-PROCESSOR] Starting HIGH PRIORITY claim processing for policy: " + claimSubmission.getPolicyNumber());
+    private ClaimWorkItem validate(ClaimWorkItem item) {
+        ClaimSubmission claimSubmission = item.getSubmission();
 
         // Validate that policy exists before processing
-        if (!policyRepository.existsByPolicyNumber(claimSubmission.getPolicyNumber())) {
-            Log.warn("[VALIDATION] Policy not found for high priority claim: " + claimSubmission.getPolicyNumber() + " - rejecting claim");
-            throw new RuntimeException("Policy not found: " + claimSubmission.getPolicyNumber());
+        long startTime = System.nanoTime();
+        Optional<InsurancePolicy> policy = policyCache.get(claimSubmission.getPolicyNumber());
+        stageTimer.record(ClaimStageTimer.Step.POLICY_VALIDATION, startTime);
+        item.setPolicy(policy.orElseThrow(() -> {
+            claimLogger.rejected(claimSubmission.getPolicyNumber(), "Policy not found");
+            return new ClaimProcessingException(claimSubmission.getClaimNumber(),
+                    "Policy not found: " + claimSubmission.getPolicyNumber(), "POLICY_NOT_FOUND");
+        }));
+        validatePolicyPeriod(item.getPolicy(), claimSubmission);
+
+        item.setClaim(item.isExpress() ?
+                buildHighPriorityClaimFromSubmission(claimSubmission) :
+                buildClaimFromSubmission(claimSubmission));
+        collectFraudSignals(item);
+        return item;
+    }
+
+    /**
+     * Reads the claim's velocity, which is cheap enough for the preliminary assessment. The claim itself is
+     * counted in {@link #persist} once it is stored; the near-duplicate check runs later, in {@link #refine}.
+     */
+    private void collectFraudSignals(ClaimWorkItem item) {
+        ClaimSubmission claimSubmission = item.getSubmission();
+        item.setFraudSignals(velocityTracker.peek(claimSubmission.getPolicyNumber(),
+                claimSubmission.getPolicyholderId(), claimSubmission.getPolicyholderEmail(),
+                Money.of(item.getClaim().getClaimedAmount())));
+    }
+
+    private void recordVelocity(ClaimWorkItem item) {
+        ClaimSubmission claimSubmission = item.getSubmission();
+        velocityTracker.record(claimSubmission.getPolicyNumber(), claimSubmission.getPolicyholderId(),
+                claimSubmission.getPolicyholderEmail(), Money.of(item.getClaim().getClaimedAmount()));
+    }
+
+    /**
+     * Remembers a stored claim's assessment for later repeats. Done only once the claim is stored, so a
+     * retry of a claim that failed or was rejected is assessed on its own rather than as a repeat.
+     */
+    private void rememberAssessment(ClaimWorkItem item) {
+        if (item.getReusableAssessment() != null) {
+            assessmentMemo.remember(item.getContentHash(), item.getAssessmentVersion(), item.getReusableAssessment());
+        }
+    }
+
+    private ClaimWorkItem assess(ClaimWorkItem item) {
+        Claim claim = item.getClaim();
+        String contentHash = ClaimContentHash.of(item.getSubmission());
+        String assessmentVersion = assessmentService.assessmentVersion();
+        item.setContentHash(contentHash);
+        item.setAssessmentVersion(assessmentVersion);
+
+        // An identical payload under a new claim number repeats an earlier stored claim: it reuses that claim's
+        // score and verdict instead of being scored again, and only its coverage cap is its own
+        Optional<AssessmentMemo.RememberedAssessment> previous =
+                assessmentMemo.find(contentHash, claim.getClaimNumber(), assessmentVersion);
+        ClaimAssessment assessment;
+        if (previous.isPresent()) {
+            item.setRepeat(true);
+            assessment = previous.get().repeatFor(claim.getClaimNumber());
+            claimLogger.repeat(claim.getClaimNumber(), previous.get().claimNumber());
+        } else if (item.isExpress()) {
+            assessment = assessmentService.performExpressAssessment(claim);
+            item.setReusableAssessment(AssessmentMemo.RememberedAssessment.of(assessment));
+        } else if (slaScheduler.shouldDegrade(item, assessmentStage)) {
+            // Under overload a low-risk claim takes the cheap path rather than miss its deadline; the
+            // shallow result is not remembered for repeats
+            item.setDegraded(true);
+            assessment = assessmentService.performExpressAssessment(claim);
+            assessment.setAssessmentNotes("Express assessment under load to meet the " +
+                    item.getSlaPriority() + " claim deadline");
+        } else {
+            // Preliminary verdict on the velocity signals only; refine() adds the near-duplicate check
+            assessment = assessmentService.performClaimAssessment(claim, item.getFraudSignals());
+            item.setReusableAssessment(AssessmentMemo.RememberedAssessment.of(assessment));
+        }
+        // Store the claim's own processing time so far, including validation and stage hand-offs
+        assessment.setProcessingTimeMs(ClaimStageTimer.toMillis(System.nanoTime() - item.getStartNanos()));
+        reserveCoverage(item.getPolicy(), claim, assessment);
+        item.setAssessment(assessment);
+        return item;
+    }
+
+    private CompletableFuture<ClaimWorkItem> persist(ClaimWorkItem item) {
+        Claim claim = item.getClaim();
+        ClaimAssessment assessment = item.getAssessment();
+
+        CompletableFuture<Boolean> write;
+        try {
+            write = persistClaimWithAssessment(claim, assessment);
+        } catch (RuntimeException e) {
+            releaseCoverage(claim);
+            throw e;
+        }
+        return write.handle((inserted, failure) -> {
+            if (failure != null) {
+                releaseCoverage(claim);
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null ?
+                        failure.getCause() : failure;
+                throw new ClaimProcessingException(claim.getClaimNumber(), "Failed to persist claim", cause);
+            }
+            if (!inserted) {
+                // The first delivery already counted this claim against the policy
+                releaseCoverage(claim);
+                claimLogger.duplicate(claim.getClaimNumber());
+                item.setDuplicate(true);
+                return item;
+            }
+            confirmCoverage(claim);
+            recordVelocity(item);
+            rememberAssessment(item);
+            return item;
+        });
+    }
+
+    /**
+     * Second phase of the assessment, run once the claim is stored and its events are published: checks the
+     * claim against the policyholder's earlier claims and re-scores it if a near-duplicate turns up. The
+     * stored assessment is rewritten in its own short transaction, and a fraud alert goes out only when the
+     * refined verdict differs from the preliminary one.
+     */
+    private ClaimWorkItem refine(ClaimWorkItem item) {
+        Claim claim = item.getClaim();
+        ClaimAssessment assessment = item.getAssessment();
+        ClaimSubmission claimSubmission = item.getSubmission();
+
+        // Policyholders are the duplicate scope; fall back to the policy when the submission has no holder id
+        String scope = claimSubmission.getPolicyholderId() != null ?
+                claimSubmission.getPolicyholderId() : claimSubmission.getPolicyNumber();
+        long startTime = System.nanoTime();
+        Optional<DuplicateCandidate> duplicate = duplicateDetector.checkAndIndex(scope, claim.getClaimNumber(),
+                claim.getDescription(), Money.of(claim.getClaimedAmount()), claim.getIncidentDate());
+        stageTimer.record(ClaimStageTimer.Step.DUPLICATE_CHECK, startTime);
+
+        // Express and load-routed assessments ignore fraud signals; their claims are only indexed for later claims
+        if (duplicate.isEmpty() || item.isExpress() || item.isDegraded()) {
+            return item;
+        }
+
+        startTime = System.nanoTime();
+        FraudSignals signals = item.getFraudSignals().withNearDuplicate(duplicate.get());
+        item.setFraudSignals(signals);
+        RiskScoringContext refined = assessmentService.scoreRisk(claim, signals);
+        boolean wasFraud = Boolean.TRUE.equals(assessment.getFraudFlag());
+        if (assessment.getRiskScore() != null && refined.riskScore() == assessment.getRiskScore() && refined.fraud() == wasFraud) {
+            return item;
+        }
+
+        String capNote = coverageCapNote(assessment.getApprovedAmount());
+        boolean capped = assessment.getAssessmentNotes() != null && assessment.getAssessmentNotes().endsWith(capNote);
+        Integer previousRiskScore = assessment.getRiskScore();
+        assessment.setRiskScore(refined.riskScore());
+        assessment.setFraudFlag(refined.fraud());
+        assessment.setAssessmentNotes(capped ? refined.notes() + capNote : refined.notes());
+        QuarkusTransaction.requiringNew().run(() -> {
+            boolean updated = assessmentRepository.updateFraudVerdict(claim.getClaimNumber(), refined.riskScore(),
+                    refined.fraud(), assessment.getAssessmentNotes());
+            if (updated && previousRiskScore != null) {
+                statisticsTracker.recordVerdictChange(previousRiskScore, wasFraud, refined.riskScore(), refined.fraud());
+            }
+        });
+        assessmentMemo.refine(item.getContentHash(), claim.getClaimNumber(), refined.riskScore(), refined.fraud(), refined.notes());
+        stageTimer.record(ClaimStageTimer.Step.FRAUD_REFINEMENT, startTime);
+
+        if (refined.fraud() != wasFraud) {
+            Log.debugf("[FRAUD-DETECTION] Refined fraud verdict for claim %s: %s -> %s",
+                    claim.getClaimNumber(), wasFraud, refined.fraud());
+            handleFraudDetection(claim, assessment);
+        }
+        return item;
+    }
+
+    private void validatePolicyPeriod(InsurancePolicy policy, ClaimSubmission claimSubmission) {
+        LocalDate incidentDate = claimSubmission.getIncidentDate();
+        if (incidentDate == null || policy.getStartDate() == null || policy.getEndDate() == null) {
+            return;
         }
+        if (incidentDate.isBefore(policy.getStartDate()) || incidentDate.isAfter(policy.getEndDate())) {
+            claimLogger.rejected(policy.getPolicyNumber(), "Incident date outside policy period");
+            throw new ClaimProcessingException(claimSubmission.getClaimNumber(),
+                    "Incident date " + incidentDate + " is outside the coverage period of policy " + policy.getPolicyNumber(),
+                    "OUTSIDE_POLICY_PERIOD");
+        }
+    }
+
+    private void reserveCoverage(InsurancePolicy policy, Claim claim, ClaimAssessment assessment) {
+        BigDecimal requested = assessment.getApprovedAmount();
+        BigDecimal granted = exposureTracker.reserve(policy.getPolicyNumber(), claim.getClaimNumber(),
+                policy.getCoverageAmount(), claim.getClaimedAmount(), requested);
+        if (requested != null && granted.compareTo(requested) < 0) {
+            assessment.setApprovedAmount(granted);
+            assessment.setAssessmentNotes(assessment.getAssessmentNotes() + coverageCapNote(granted));
+        }
+    }
+
+    private static String coverageCapNote(BigDecimal granted) {
+        return " Approved amount capped at remaining policy coverage of " + granted + ".";
+    }
 
-        // Create high priority claim entity
-        Claim claim = buildHighPriorityClaimFromSubmission(claimSubmission);
-        claimRepository.createOrUpdate(claim);
-        Log.info("[DATABASE] High priority claim saved to database: " + claim.getClaimNumber());
+    private void confirmCoverage(Claim claim) {
+        exposureTracker.confirm(claim.getPolicyNumber(), claim.getClaimNumber());
+    }
 
-        // Perform express assessment
-        ClaimAssessment assessment = assessmentService.performExpressAssessment(claim);
-        assessmentRepository.create(assessment);
-        Log.info("[DATABASE] Express assessment created for high priority claim: " + assessment.getClaimNumber() +
-                " | Approved Amount: " + assessment.getApprovedAmount() +
-                " | Processing Time: " + assessment.getProcessingTimeMs() + "ms");
+    private void releaseCoverage(Claim claim) {
+        exposureTracker.release(claim.getPolicyNumber(), claim.getClaimNumber());
+    }
 
-        // Send urgent events
-        producerService.sendUrgentProcessedClaimEvent(claim, assessment);
-        producerService.sendClaimLifecycleEvent(claim, "HIGH_PRIORITY_CLAIM_PROCESSED");
+    private ClaimWorkItem publish(ClaimWorkItem item) {
+        Claim claim = item.getClaim();
+        ClaimAssessment assessment = item.getAssessment();
 
-        String endTime = java.time.Instant.now().toString();
-        Log.info("[CLAIM-PROCESSOR] High priority claim processing completed successfully for: " + claim.getClaimNumber());
-        Log.info("[CLAIM-PROCESSOR] High priority processing started at: " + startTime + " | completed at: " + endTime);
+        if (item.isDuplicate()) {
+            // Events were published when the claim was first processed
+            return item;
+        }
 
+        long startTime = System.nanoTime();
+        try {
+            publishEvents(item, claim, assessment);
+        } finally {
+            stageTimer.record(ClaimStageTimer.Step.PUBLISH, startTime);
+        }
+        return item;
+    }
+
+    private void publishEvents(ClaimWorkItem item, Claim claim, ClaimAssessment assessment) {
+        if (item.isExpress()) {
+            // Send urgent events
+            producerService.sendUrgentProcessedClaimEvent(claim, assessment);
+            producerService.sendClaimLifecycleEvent(claim, "HIGH_PRIORITY_CLAIM_PROCESSED");
+            claimLogger.processed(claim, assessment, true);
+            return;
+        }
+
+        // Handle fraud detection
+        handleFraudDetection(claim, assessment);
+
+        // Handle high priority claims
+        handleHighPriorityClaims(claim, assessment);
+
+        // Send events
+        producerService.sendProcessedClaimEvent(claim, assessment);
+        producerService.sendClaimLifecycleEvent(claim, "CLAIM_PROCESSED");
+        claimLogger.processed(claim, assessment, false);
+    }
+
+    /**
+     * Completes once the claim is durable, so events are only published for stored claims. With write-behind
+     * the future completes when the batch carrying the claim commits; otherwise the claim is inserted here,
+     * which needs PostgreSQL (see {@link #onStart}).
+     */
+    private CompletableFuture<Boolean> persistClaimWithAssessment(Claim claim, ClaimAssessment assessment) {
+        if (writeBehindEnabled) {
+            return batchWriter.write(claim, assessment);
+        }
+
+        return CompletableFuture.completedFuture(QuarkusTransaction.requiringNew().call(() -> {
+            long startTime = System.nanoTime();
+            boolean inserted = claimRepository.insertIfAbsent(claim);
+            stageTimer.record(ClaimStageTimer.Step.CLAIM_PERSIST, startTime);
+            if (!inserted) {
+                return false;
+            }
+            startTime = System.nanoTime();
+            boolean assessed = assessmentRepository.insertIfAbsent(assessment);
+            stageTimer.record(ClaimStageTimer.Step.ASSESSMENT_PERSIST, startTime);
+            statisticsTracker.recordStored(claim, assessed ? assessment : null);
+            return true;
+        }));
     }
 
     private void handleFraudDetection(Claim claim, ClaimAssessment assessment) {
         if (assessment.getFraudFlag()) {
-            Log.info("[FRAUD-DETECTION] High fraud risk detected for claim: " + claim.getClaimNumber());
+            claimLogger.fraud(claim, assessment);
             producerService.sendFraudAlert(claim, assessment);
-        } else {
-            Log.info("[FRAUD-DETECTION] No fraud indicators detected for claim: " + claim.getClaimNumber());
         }
     }
 
     private void handleHighPriorityClaims(Claim claim, ClaimAssessment assessment) {
         if (claim.getPriority() == Claim.ClaimPriority.HIGH || claim.getPriority() == Claim.ClaimPriority.URGENT) {
-            Log.info("[PRIORITY] High/Urgent priority claim detected: " + claim.getClaimNumber() + " (" + claim.getPriority() + ")");
+            Log.debugf("[PRIORITY] High/Urgent priority claim detected: %s (%s)", claim.getClaimNumber(), claim.getPriority());
             producerService.sendHighPriorityNotification(claim, assessment);
         }
     }
@@ -130,6 +589,7 @@ public class ClaimProcessorService {
                 .policyNumber(claimSubmission.getPolicyNumber())
                 .claimType(claimSubmission.getClaimType())
                 .incidentDate(claimSubmission.getIncidentDate())
+                .claimDate(claimDate(claimSubmission))
                 .claimedAmount(claimSubmission.getClaimedAmount())
                 .description(claimSubmission.getDescription())
                 .priority(claimSubmission.getPriority())
@@ -145,10 +605,19 @@ public class ClaimProcessorService {
                 .policyNumber(claimSubmission.getPolicyNumber())
                 .claimType(claimSubmission.getClaimType())
                 .incidentDate(claimSubmission.getIncidentDate())
+                .claimDate(claimDate(claimSubmission))
                 .claimedAmount(claimSubmission.getClaimedAmount())
                 .description(claimSubmission.getDescription())
                 .priority(Claim.ClaimPriority.HIGH)
                 .status(Claim.ClaimStatus.UNDER_REVIEW)
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Backfills carry their historical claim date; live submissions are dated here rather than on insert, so
+     * the claim is scored against the same date it is stored with.
+     */
+    private static LocalDateTime claimDate(ClaimSubmission claimSubmission) {
+        return claimSubmission.getClaimDate() != null ? claimSubmission.getClaimDate() : LocalDateTime.now();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.insurance.service;
+
+import com.example.insurance.entity.Claim;
+import com.example.insurance.fraud.FraudSignals;
+import com.example.insurance.pipeline.PipelineStage;
+import com.example.insurance.rules.AssessmentRuleEngine;
+import com.example.insurance.rules.AssessmentRules;
+import com.example.insurance.util.Money;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline-aware scheduling of claims through the pipeline. Each claim gets a deadline of its ingest time
+ * plus the SLA budget of its priority ({@code claims.sla.deadline-ms.<priority>}), pipeline stages take
+ * queued claims earliest deadline first, and completions are counted as met or missed per priority.
+ * When the assessment stage is overloaded or a claim is running out of slack, low-risk claims are routed
+ * to the express assessment so they still make their deadline.
+ */
+@ApplicationScoped
+public class ClaimSlaScheduler {
+
+    public static final Comparator<ClaimWorkItem> EARLIEST_DEADLINE_FIRST =
+            Comparator.comparingLong(ClaimWorkItem::getDeadlineNanos);
+
+    private static final Map<Claim.ClaimPriority, Long> DEFAULT_BUDGET_MS = Map.of(
+            Claim.ClaimPriority.URGENT, 500L,
+            Claim.ClaimPriority.HIGH, 2_000L,
+            Claim.ClaimPriority.NORMAL, 10_000L,
+            Claim.ClaimPriority.LOW, 60_000L);
+
+    @Inject
+    MetricRegistry registry;
+
+    @Inject
+    Config config;
+
+    @Inject
+    AssessmentRuleEngine ruleEngine;
+
+    @ConfigProperty(name = "claims.sla.degrade.enabled", defaultValue = "true")
+    boolean degradeEnabled;
+
+    @ConfigProperty(name = "claims.sla.degrade.queue-depth", defaultValue = "500")
+    int overloadQueueDepth;
+
+    @ConfigProperty(name = "claims.sla.degrade.min-slack-fraction", defaultValue = "0.25")
+    double minSlackFraction;
+
+    @ConfigProperty(name = "claims.sla.degrade.max-amount", defaultValue = "5000")
+    BigDecimal maxDegradeAmount;
+
+    private final Map<Claim.ClaimPriority, Long> budgetNanos = new EnumMap<>(Claim.ClaimPriority.class);
+    private final Map<Claim.ClaimPriority, Counter> met = new EnumMap<>(Claim.ClaimPriority.class);
+    private final Map<Claim.ClaimPriority, Counter> missed = new EnumMap<>(Claim.ClaimPriority.class);
+    private final Map<Claim.ClaimPriority, Counter> degraded = new EnumMap<>(Claim.ClaimPriority.class);
+    private long maxDegradeCents;
+
+    @PostConstruct
+    void init() {
+        for (Claim.ClaimPriority priority : Claim.ClaimPriority.values()) {
+            String key = priority.name().toLowerCase(Locale.ROOT);
+            long budgetMs = config.getOptionalValue("claims.sla.deadline-ms." + key, Long.class)
+                    .orElse(DEFAULT_BUDGET_MS.get(priority));
+            budgetNanos.put(priority, TimeUnit.MILLISECONDS.toNanos(budgetMs));
+
+            Tag tag = new Tag("priority", key);
+            met.put(priority, registry.counter("claims.sla.deadline-met", tag));
+            missed.put(priority, registry.counter("claims.sla.deadline-missed", tag));
+            degraded.put(priority, registry.counter("claims.sla.degraded", tag));
+        }
+        maxDegradeCents = Money.of(maxDegradeAmount).cents();
+    }
+
+    /**
+     * Tags a claim with its SLA priority and deadline. Claims from the high-priority topic are treated as
+     * at least {@link Claim.ClaimPriority#HIGH}.
+     */
+    public void schedule(ClaimWorkItem item) {
+        Claim.ClaimPriority priority = item.getSubmission().getPriority() != null ?
+                item.getSubmission().getPriority() : Claim.ClaimPriority.NORMAL;
+        if (item.isExpress() && priority.compareTo(Claim.ClaimPriority.HIGH) < 0) {
+            priority = Claim.ClaimPriority.HIGH;
+        }
+        item.setSlaPriority(priority);
+        item.setDeadlineNanos(item.getStartNanos() + budgetNanos.get(priority));
+    }
+
+    /**
+     * Whether a standard claim should take the express assessment instead: only when the assessment stage
+     * is overloaded or the claim has used most of its budget, and only for claims that carry no risk
+     * signal the express path would ignore.
+     */
+    public boolean shouldDegrade(ClaimWorkItem item, PipelineStage<?, ?> assessmentStage) {
+        if (!degradeEnabled || item.isExpress() || !isUnderPressure(item, assessmentStage) || !isLowRisk(item)) {
+            return false;
+        }
+        degraded.get(item.getSlaPriority()).inc();
+        return true;
+    }
+
+    public void complete(ClaimWorkItem item) {
+        if (System.nanoTime() - item.getDeadlineNanos() > 0) {
+            missed.get(item.getSlaPriority()).inc();
+        } else {
+            met.get(item.getSlaPriority()).inc();
+        }
+    }
+
+    public List<SlaStats> stats() {
+        return budgetNanos.keySet().stream()
+                .map(priority -> new SlaStats(priority, TimeUnit.NANOSECONDS.toMillis(budgetNanos.get(priority)),
+                        met.get(priority).getCount(), missed.get(priority).getCount(), degraded.get(priority).getCount()))
+                .toList();
+    }
+
+    private boolean isUnderPressure(ClaimWorkItem item, PipelineStage<?, ?> assessmentStage) {
+        if (assessmentStage.queueDepth() >= overloadQueueDepth) {
+            return true;
+        }
+        long slack = item.getDeadlineNanos() - System.nanoTime();
+        return slack < budgetNanos.get(item.getSlaPriority()) * minSlackFraction;
+    }
+
+    private boolean isLowRisk(ClaimWorkItem item) {
+        Claim claim = item.getClaim();
+        Money claimedAmount = Money.of(claim.getClaimedAmount());
+        AssessmentRules rules = ruleEngine.current();
+        FraudSignals signals = item.getFraudSignals();
+        return claimedAmount.cents() <= maxDegradeCents
+                && !rules.isHighAmount(claimedAmount)
+                && rules.claimTypeRiskPoints(claim.getClaimType()) == 0
+                && signals.nearDuplicate() == null
+                && !rules.isHighVelocity(signals.maxClaims1h(), signals.maxClaims24h(), signals.maxAmount30dCents());
+    }
+
+    public record SlaStats(Claim.ClaimPriority priority, long deadlineMs, long met, long missed, long degraded) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.insurance.service;
+
+import com.example.insurance.dto.ClaimSubmission;
+import com.example.insurance.entity.Claim;
+import com.example.insurance.entity.ClaimAssessment;
+import com.example.insurance.entity.InsurancePolicy;
+import com.example.insurance.fraud.FraudSignals;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ClaimWorkItem {
+
+    private final ClaimSubmission submission;
+    private final boolean express;
+    private final long startNanos = System.nanoTime();
+    private Claim.ClaimPriority slaPriority = Claim.ClaimPriority.NORMAL;
+    private long deadlineNanos = Long.MAX_VALUE;
+    private boolean degraded;
+    private InsurancePolicy policy;
+    private Claim claim;
+    private FraudSignals fraudSignals = FraudSignals.NONE;
+    private String contentHash;
+    private String assessmentVersion;
+    private ClaimAssessment assessment;
+    // The assessment before coverage capping, remembered for repeats once the claim is stored
+    private AssessmentMemo.RememberedAssessment reusableAssessment;
+    private boolean repeat;
+    private boolean duplicate;
+
+    public ClaimWorkItem(ClaimSubmission submission, boolean express) {
+        this.submission = submission;
+        this.express = express;
+    }
+}
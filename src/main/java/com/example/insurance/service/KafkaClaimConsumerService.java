@@ -1,6 +1,9 @@
 package com.example.insurance.service;
 
 import com.example.insurance.dto.ClaimSubmission;
+import com.example.insurance.exception.ClaimProcessingException;
+import com.example.insurance.logging.ClaimEventLogger;
+import com.example.insurance.pipeline.ClaimStageTimer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.quarkus.logging.Log;
 import io.smallrye.common.annotation.RunOnVirtualThread;
@@ -8,35 +11,45 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
 @ApplicationScoped
 public class KafkaClaimConsumerService {
 
+    // Error codes of claims the processor rejected, which it has already logged as rejections
+    private static final Set<String> REJECTION_CODES = Set.of("POLICY_NOT_FOUND", "OUTSIDE_POLICY_PERIOD");
+
     @Inject
     ObjectMapper objectMapper;
 
     @Inject
     ClaimProcessorService claimProcessor;
 
+    @Inject
+    ClaimEventLogger claimLogger;
+
+    @Inject
+    ClaimStageTimer stageTimer;
+
     @Incoming("claim-submissions")
     @RunOnVirtualThread
     public void processClaimSubmission(String claimJson) {
-        String startTime = java.time.Instant.now().toString();
-
+        ClaimSubmission claimSubmission = null;
         try {
-            Log.info("[KAFKA-CONSUMER] Starting to process claim submission from claim-submissions topic");
-            Log.info("[KAFKA-CONSUMER] Processing started at: " + startTime);
-            Log.debug("[KAFKA-CONSUMER] Claim JSON data: " + claimJson);
+            Log.debugf("[KAFKA-CONSUMER] Claim JSON data: %s", claimJson);
 
-            ClaimSubmission claimSubmission = objectMapper.readValue(claimJson, ClaimSubmission.class);
-            Log.info("[KAFKA-CONSUMER] Successfully parsed claim submission for policy: " + claimSubmission.getPolicyNumber());
+            long startTime = System.nanoTime();
+            claimSubmission = objectMapper.readValue(claimJson, ClaimSubmission.class);
+            stageTimer.record(ClaimStageTimer.Step.PARSE, startTime);
+            claimLogger.received("claim-submissions", claimSubmission.getPolicyNumber());
 
             claimProcessor.processClaimSubmission(claimSubmission);
 
-            Log.info("[KAFKA-CONSUMER] Claim submission processing completed successfully");
-
         } catch (Exception e) {
-            Log.error("[KAFKA-CONSUMER] Error processing claim submission: " + e.getMessage(), e);
-            Log.error("[KAFKA-CONSUMER] Failed claim data: " + claimJson);
+            logFailure("consume", claimSubmission, e);
+            Log.debugf("[KAFKA-CONSUMER] Failed claim data: %s", claimJson);
             throw new RuntimeException("Failed to process claim submission", e);
         }
     }
@@ -44,24 +57,50 @@ public class KafkaClaimConsumerService {
     @Incoming("high-priority-claims")
     @RunOnVirtualThread
     public void processHighPriorityClaim(String claimJson) {
-        String startTime = java.time.Instant.now().toString();
-
+        ClaimSubmission claimSubmission = null;
         try {
-            Log.info("[KAFKA-CONSUMER] Starting to process HIGH PRIORITY claim from high-priority-claims topic");
-            Log.info("[KAFKA-CONSUMER] High priority processing started at: " + startTime);
-            Log.debug("[KAFKA-CONSUMER] High priority claim JSON data: " + claimJson);
+            Log.debugf("[KAFKA-CONSUMER] High priority claim JSON data: %s", claimJson);
 
-            ClaimSubmission claimSubmission = objectMapper.readValue(claimJson, ClaimSubmission.class);
-            Log.info("[KAFKA-CONSUMER] Successfully parsed high priority claim submission for policy: " + claimSubmission.getPolicyNumber());
+            long startTime = System.nanoTime();
+            claimSubmission = objectMapper.readValue(claimJson, ClaimSubmission.class);
+            stageTimer.record(ClaimStageTimer.Step.PARSE, startTime);
+            claimLogger.received("high-priority-claims", claimSubmission.getPolicyNumber());
 
             claimProcessor.processHighPriorityClaim(claimSubmission);
 
-            Log.info("[KAFKA-CONSUMER] High priority claim processing completed successfully");
-
         } catch (Exception e) {
-            Log.error("[KAFKA-CONSUMER] Error processing high priority claim: " + e.getMessage(), e);
-            Log.error("[KAFKA-CONSUMER] Failed high priority claim data: " + claimJson);
+            logFailure("consume-high-priority", claimSubmission, e);
+            Log.debugf("[KAFKA-CONSUMER] Failed high priority claim data: %s", claimJson);
             throw new RuntimeException("Failed to process high priority claim", e);
         }
     }
-}
\ No newline at end of file
+
+    @Incoming("claim-backfill")
+    @RunOnVirtualThread
+    public void processClaimBackfill(List<String> claimJsonBatch) {
+        Log.infof("[KAFKA-CONSUMER] Received backfill batch of %d claims from claim-backfill topic", claimJsonBatch.size());
+
+        List<ClaimSubmission> claimSubmissions = new ArrayList<>(claimJsonBatch.size());
+        for (String claimJson : claimJsonBatch) {
+            try {
+                claimSubmissions.add(objectMapper.readValue(claimJson, ClaimSubmission.class));
+            } catch (Exception e) {
+                Log.errorf("[KAFKA-CONSUMER] Skipping unparseable backfill claim: %s", e.getMessage());
+            }
+        }
+
+        try {
+            claimProcessor.processBackfillBatch(claimSubmissions);
+        } catch (Exception e) {
+            Log.errorf(e, "[KAFKA-CONSUMER] Error processing backfill batch: %s", e.getMessage());
+            throw new RuntimeException("Failed to process claim backfill batch", e);
+        }
+    }
+
+    private void logFailure(String stage, ClaimSubmission claimSubmission, Exception e) {
+        if (e instanceof ClaimProcessingException rejection && REJECTION_CODES.contains(rejection.getErrorCode())) {
+            return;
+        }
+        claimLogger.failed(stage, claimSubmission != null ? claimSubmission.getClaimNumber() : null, e);
+    }
+}
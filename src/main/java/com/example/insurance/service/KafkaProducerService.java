@@ -3,6 +3,7 @@ package com.example.insurance.service;
 import com.example.insurance.dto.ClaimSubmission;
 import com.example.insurance.entity.Claim;
 import com.example.insurance.entity.ClaimAssessment;
+import com.example.insurance.logging.ClaimEventLogger;
 import com.example.insurance.util.SampleDataGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.quarkus.logging.Log;
@@ -19,6 +20,9 @@ public class KafkaProducerService {
     @Inject
     ObjectMapper objectMapper;
 
+    @Inject
+    ClaimEventLogger claimLogger;
+
     @Inject
     @Channel("processed-claims")
     Emitter<String> processedClaimsEmitter;
@@ -43,19 +47,16 @@ public class KafkaProducerService {
         try {
             String event = buildProcessedClaimEvent(claim, assessment);
 
-            Log.info("[KAFKA-PRODUCER] Sending processed claim event to processed-claims topic for: " + claim.getClaimNumber());
-            Log.debug("[KAFKA-PRODUCER] Event data: " + event);
-
             processedClaimsEmitter.send(event)
                     .whenComplete((success, failure) -> {
                         if (failure == null) {
-                            Log.info("[KAFKA-PRODUCER] Successfully sent processed claim event for: " + claim.getClaimNumber());
+                            claimLogger.published("processed-claims", claim.getClaimNumber());
                         } else {
-                            Log.error("[KAFKA-PRODUCER] Failed to send processed claim event for: " + claim.getClaimNumber(), failure);
+                            claimLogger.failed("publish-processed", claim.getClaimNumber(), failure);
                         }
                     });
         } catch (Exception e) {
-            Log.error("[KAFKA-PRODUCER] Error creating processed claim event: " + e.getMessage(), e);
+            claimLogger.failed("publish-processed", claim.getClaimNumber(), e);
         }
     }
 
@@ -63,20 +64,16 @@ public class KafkaProducerService {
         try {
             String alert = buildFraudAlert(claim, assessment);
 
-            Log.warn("[KAFKA-PRODUCER] Sending FRAUD ALERT to fraud-alerts topic for claim: " + claim.getClaimNumber() +
-                    " (Risk Score: " + assessment.getRiskScore() + ")");
-            Log.debug("[KAFKA-PRODUCER] Fraud alert data: " + alert);
-
             fraudAlertsEmitter.send(alert)
                     .whenComplete((success, failure) -> {
                         if (failure == null) {
-                            Log.warn("[KAFKA-PRODUCER] Successfully sent fraud alert for claim: " + claim.getClaimNumber());
+                            claimLogger.published("fraud-alerts", claim.getClaimNumber());
                         } else {
-                            Log.error("[KAFKA-PRODUCER] Failed to send fraud alert for claim: " + claim.getClaimNumber(), failure);
+                            claimLogger.failed("publish-fraud-alert", claim.getClaimNumber(), failure);
                         }
                     });
         } catch (Exception e) {
-            Log.error("[KAFKA-PRODUCER] Error creating fraud alert: " + e.getMessage(), e);
+            claimLogger.failed("publish-fraud-alert", claim.getClaimNumber(), e);
         }
     }
 
@@ -85,9 +82,9 @@ public class KafkaProducerService {
             String notification = buildHighPriorityNotification(claim, assessment);
 
             claimEventsEmitter.send(notification);
-            Log.info("Sent high priority notification for claim: " + claim.getClaimNumber());
+            claimLogger.published("claim-events", claim.getClaimNumber());
         } catch (Exception e) {
-            Log.error("Error sending high priority notification: " + e.getMessage(), e);
+            claimLogger.failed("publish-high-priority-notification", claim.getClaimNumber(), e);
         }
     }
 
@@ -96,9 +93,9 @@ public class KafkaProducerService {
             String event = buildClaimLifecycleEvent(claim, eventType);
 
             claimEventsEmitter.send(event);
-            Log.info("Sent lifecycle event for claim: " + claim.getClaimNumber());
+            claimLogger.published("claim-events", claim.getClaimNumber());
         } catch (Exception e) {
-            Log.error("Error sending claim lifecycle event: " + e.getMessage(), e);
+            claimLogger.failed("publish-lifecycle", claim.getClaimNumber(), e);
         }
     }
 
@@ -107,9 +104,9 @@ public class KafkaProducerService {
             String event = buildUrgentProcessedClaimEvent(claim, assessment);
 
             processedClaimsEmitter.send(event);
-            Log.info("Sent urgent processed claim event for: " + claim.getClaimNumber());
+            claimLogger.published("processed-claims", claim.getClaimNumber());
         } catch (Exception e) {
-            Log.error("Error sending urgent processed claim event: " + e.getMessage(), e);
+            claimLogger.failed("publish-urgent-processed", claim.getClaimNumber(), e);
         }
     }
 
@@ -117,20 +114,19 @@ public class KafkaProducerService {
         try {
             String claimJson = objectMapper.writeValueAsString(claimSubmission);
 
-            Log.info("[KAFKA-PRODUCER] Publishing claim to claim-submissions topic: " + claimSubmission.getClaimNumber());
-            Log.debug("[KAFKA-PRODUCER] Claim data: " + claimJson);
+            Log.debugf("[KAFKA-PRODUCER] Publishing claim to claim-submissions topic: %s", claimSubmission.getClaimNumber());
 
             claimSubmissionsEmitter.send(claimJson)
                     .whenComplete((success, failure) -> {
                         if (failure == null) {
-                            Log.info("[KAFKA-PRODUCER] Successfully published claim to Kafka: " + claimSubmission.getClaimNumber());
+                            claimLogger.published("claim-submissions", claimSubmission.getClaimNumber());
                         } else {
-                            Log.error("[KAFKA-PRODUCER] Failed to publish claim to Kafka: " + claimSubmission.getClaimNumber(), failure);
+                            claimLogger.failed("publish-submission", claimSubmission.getClaimNumber(), failure);
                             throw new RuntimeException("Failed to publish claim to Kafka", failure);
                         }
                     });
         } catch (Exception e) {
-            Log.error("[KAFKA-PRODUCER] Error publishing claim to Kafka: " + e.getMessage(), e);
+            claimLogger.failed("publish-submission", claimSubmission.getClaimNumber(), e);
             throw new RuntimeException("Failed to publish claim to Kafka", e);
         }
     }
@@ -139,20 +135,19 @@ public class KafkaProducerService {
         try {
             String claimJson = objectMapper.writeValueAsString(claimSubmission);
 
-            Log.info("[KAFKA-PRODUCER] Publishing high priority claim to high-priority-claims topic: " + claimSubmission.getClaimNumber());
-            Log.debug("[KAFKA-PRODUCER] High priority claim data: " + claimJson);
+            Log.debugf("[KAFKA-PRODUCER] Publishing high priority claim to high-priority-claims topic: %s", claimSubmission.getClaimNumber());
 
             highPriorityClaimsEmitter.send(claimJson)
                     .whenComplete((success, failure) -> {
                         if (failure == null) {
-                            Log.info("[KAFKA-PRODUCER] Successfully published high priority claim to Kafka: " + claimSubmission.getClaimNumber());
+                            claimLogger.published("high-priority-claims", claimSubmission.getClaimNumber());
                         } else {
-                            Log.error("[KAFKA-PRODUCER] Failed to publish high priority claim to Kafka: " + claimSubmission.getClaimNumber(), failure);
+                            claimLogger.failed("publish-high-priority-submission", claimSubmission.getClaimNumber(), failure);
                             throw new RuntimeException("Failed to publish high priority claim to Kafka", failure);
                         }
                     });
         } catch (Exception e) {
-            Log.error("[KAFKA-PRODUCER] Error publishing high priority claim to Kafka: " + e.getMessage(), e);
+            claimLogger.failed("publish-high-priority-submission", claimSubmission.getClaimNumber(), e);
             throw new RuntimeException("Failed to publish high priority claim to Kafka", e);
         }
     }
@@ -194,6 +189,7 @@ public class KafkaProducerService {
                 "riskScore": %d,
                 "assessorId": "%s",
                 "assessmentNotes": "%s",
+                "repeatOf": %s,
                 "timestamp": "%s"
             }
             """,
@@ -203,6 +199,7 @@ public class KafkaProducerService {
             assessment.getRiskScore(),
             assessment.getAssessorId(),
             assessment.getAssessmentNotes(),
+            assessment.getRepeatOf() != null ? "\"" + assessment.getRepeatOf() + "\"" : "null",
             LocalDateTime.now()
         );
     }
@@ -0,0 +1,72 @@
+package com.example.insurance.service;
+
+import com.example.insurance.entity.Claim;
+import com.example.insurance.fraud.DuplicateCandidate;
+import com.example.insurance.fraud.FraudSignals;
+import com.example.insurance.rules.AssessmentRules;
+import com.example.insurance.util.Money;
+
+import java.util.Locale;
+
+/**
+ * Risk features and score of one claim, computed once and shared by the approved amount, the fraud flag
+ * and the assessment notes. The base score scales the active {@link com.example.insurance.scoring.RiskModel}
+ * output into the rule table's base range. The model features come from the claim alone (see
+ * {@link com.example.insurance.scoring.RiskFeatures}), so a redelivered claim scores the same as the original.
+ * Velocity and near-duplicate points come from the claim's {@link FraudSignals} and are zero when none
+ * were collected, as on the batch path.
+ */
+public record RiskScoringContext(
+        Claim.ClaimType claimType,
+        double modelScore,
+        int baseScore,
+        int highAmountPoints,
+        int claimTypePoints,
+        int velocityPoints,
+        int duplicatePoints,
+        DuplicateCandidate nearDuplicate,
+        int riskScore,
+        boolean fraud) {
+
+    public static RiskScoringContext score(double modelScore, Money claimedAmount, Claim.ClaimType claimType,
+                                           FraudSignals signals, AssessmentRules rules) {
+        int baseScore = baseScore(modelScore, rules);
+        int highAmountPoints = rules.isHighAmount(claimedAmount) ? rules.highAmountRiskPoints() : 0;
+        int claimTypePoints = rules.claimTypeRiskPoints(claimType);
+        int velocityPoints = rules.isHighVelocity(signals.maxClaims1h(), signals.maxClaims24h(), signals.maxAmount30dCents())
+                ? rules.velocityRiskPoints() : 0;
+        DuplicateCandidate nearDuplicate = signals.nearDuplicate();
+        int duplicatePoints = nearDuplicate != null ? rules.nearDuplicateRiskPoints() : 0;
+        int riskScore = Math.min(baseScore + highAmountPoints + claimTypePoints + velocityPoints + duplicatePoints,
+                rules.maxRiskScore());
+        boolean fraud = rules.isFraudulent(riskScore, claimedAmount) || (nearDuplicate != null && rules.isNearDuplicateFraud());
+        return new RiskScoringContext(claimType, modelScore, baseScore, highAmountPoints, claimTypePoints, velocityPoints,
+                duplicatePoints, nearDuplicate, riskScore, fraud);
+    }
+
+    /**
+     * Base score in {@code [baseRiskMin, baseRiskMin + baseRiskRange)} for a model score in {@code [0, 1]}.
+     */
+    public static int baseScore(double modelScore, AssessmentRules rules) {
+        int range = rules.baseRiskRange();
+        int scaled = (int) (Math.max(0.0, modelScore) * range);
+        return rules.baseRiskMin() + Math.min(scaled, range - 1);
+    }
+
+    public String notes() {
+        StringBuilder notes = new StringBuilder(notes(claimType, riskScore, fraud));
+        if (velocityPoints > 0) {
+            notes.append(" High claim velocity.");
+        }
+        if (nearDuplicate != null) {
+            notes.append(String.format(Locale.ROOT, " Possible duplicate of %s (similarity %.2f).",
+                    nearDuplicate.claimNumber(), nearDuplicate.similarity()));
+        }
+        return notes.toString();
+    }
+
+    public static String notes(Claim.ClaimType claimType, int riskScore, boolean fraud) {
+        return String.format(Locale.ROOT, "Standard assessment for %s claim. Risk score: %d. %s",
+                claimType, riskScore, fraud ? "Flagged for potential fraud." : "No fraud indicators detected.");
+    }
+}
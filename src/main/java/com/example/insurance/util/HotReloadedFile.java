@@ -0,0 +1,158 @@
+package com.example.insurance.util;
+
+import io.quarkus.logging.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * A value compiled from a file and swapped atomically when the file changes. The file is read from a
+ * configured path when one is set, which is polled for changes, and otherwise from a bundled classpath
+ * resource. A file that fails to compile is rejected and the previous value stays active; a rejected
+ * file is only retried once it changes again.
+ */
+public final class HotReloadedFile<T> {
+
+    @FunctionalInterface
+    public interface Compiler<T> {
+
+        /**
+         * @throws IllegalArgumentException if the content is invalid
+         */
+        T compile(InputStream input) throws IOException;
+    }
+
+    private final String name;
+    private final String logTag;
+    private final Optional<String> path;
+    private final String bundledResource;
+    private final Compiler<T> compiler;
+    private final Function<T, String> version;
+
+    private final AtomicReference<Loaded<T>> active = new AtomicReference<>();
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong rejectedReloads = new AtomicLong();
+    private ScheduledExecutorService watcher;
+    private volatile long lastRejectedModified;
+
+    /**
+     * @param name    what the file holds, for log and error messages, e.g. {@code "assessment rules"}
+     * @param logTag  log prefix, e.g. {@code "[RULES]"}
+     * @param version version of a compiled value, for log messages
+     */
+    public HotReloadedFile(String name, String logTag, Optional<String> path, String bundledResource,
+                           Compiler<T> compiler, Function<T, String> version) {
+        this.name = name;
+        this.logTag = logTag;
+        this.path = path;
+        this.bundledResource = bundledResource;
+        this.compiler = compiler;
+        this.version = version;
+    }
+
+    /**
+     * Loads the file and, when it comes from a path, starts polling it on a daemon thread.
+     *
+     * @throws IllegalArgumentException if the file is invalid
+     */
+    public void start(String watcherThreadName, long reloadIntervalSeconds) {
+        active.set(load());
+        if (path.isPresent()) {
+            watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, watcherThreadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+            watcher.scheduleWithFixedDelay(this::reloadIfModified, reloadIntervalSeconds, reloadIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    public void stop() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+
+    public Loaded<T> loaded() {
+        return active.get();
+    }
+
+    public T current() {
+        return active.get().value();
+    }
+
+    public long reloads() {
+        return reloads.get();
+    }
+
+    public long rejectedReloads() {
+        return rejectedReloads.get();
+    }
+
+    /**
+     * Reloads the file unconditionally.
+     *
+     * @throws IllegalArgumentException if the new file is invalid; the active value is kept
+     */
+    public Loaded<T> reload() {
+        try {
+            Loaded<T> loaded = load();
+            Loaded<T> previous = active.getAndSet(loaded);
+            reloads.incrementAndGet();
+            Log.infof("%s Swapped %s from version %s to %s", logTag, name,
+                    version.apply(previous.value()), version.apply(loaded.value()));
+            return loaded;
+        } catch (IllegalArgumentException e) {
+            rejectedReloads.incrementAndGet();
+            throw e;
+        }
+    }
+
+    private void reloadIfModified() {
+        long modified = 0;
+        try {
+            modified = Files.getLastModifiedTime(Path.of(path.get())).toMillis();
+            if (modified != active.get().lastModified() && modified != lastRejectedModified) {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            lastRejectedModified = modified;
+            Log.errorf(e, "%s Failed to reload %s from %s, keeping version %s",
+                    logTag, name, path.get(), version.apply(current()));
+        }
+    }
+
+    private Loaded<T> load() {
+        if (path.isPresent()) {
+            Path file = Path.of(path.get());
+            try (InputStream input = Files.newInputStream(file)) {
+                long modified = Files.getLastModifiedTime(file).toMillis();
+                return new Loaded<>(compiler.compile(input), file.toString(), Instant.now(), modified);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot read " + name + " from " + file, e);
+            }
+        }
+
+        try (InputStream input = Thread.currentThread().getContextClassLoader().getResourceAsStream(bundledResource)) {
+            if (input == null) {
+                throw new IllegalArgumentException("Bundled " + name + " not found: " + bundledResource);
+            }
+            return new Loaded<>(compiler.compile(input), "classpath:" + bundledResource, Instant.now(), 0);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read bundled " + name, e);
+        }
+    }
+
+    public record Loaded<T>(T value, String source, Instant loadedAt, long lastModified) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.insurance.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point monetary amount held as a {@code long} number of cents. Arithmetic is exact integer math,
+ * and every operation that can produce fractions of a cent rounds half-up (away from zero on ties),
+ * matching {@link RoundingMode#HALF_UP} at scale 2. Convert to and from {@link BigDecimal} only at the
+ * entity and DTO boundaries.
+ */
+public record Money(long cents) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private static final long BASIS_POINTS_PER_UNIT = 10_000;
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Converts a decimal amount, rounding half-up to whole cents. {@code null} is treated as zero.
+     */
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            return ZERO;
+        }
+        return ofCents(amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Largest amount in cents that is still strictly below any amount greater than {@code threshold}, so that
+     * {@code amount > threshold} holds exactly when {@code amount.cents() > floorCents(threshold)}.
+     */
+    public static long floorCents(BigDecimal threshold) {
+        return threshold.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValueExact();
+    }
+
+    /**
+     * Converts a multiplier such as {@code 0.85} to basis points (8500).
+     *
+     * @throws ArithmeticException if the multiplier has more than four decimal places
+     */
+    public static long toBasisPoints(BigDecimal multiplier) {
+        return multiplier.movePointRight(4).setScale(0, RoundingMode.UNNECESSARY).longValueExact();
+    }
+
+    /**
+     * {@code cents * basisPoints / 10000}, rounded half-up to whole cents.
+     */
+    public static long applyBasisPoints(long cents, long basisPoints) {
+        long product = Math.multiplyExact(cents, basisPoints);
+        long quotient = product / BASIS_POINTS_PER_UNIT;
+        long remainder = product % BASIS_POINTS_PER_UNIT;
+        if (Math.abs(remainder) * 2 >= BASIS_POINTS_PER_UNIT) {
+            quotient += Long.signum(product);
+        }
+        return quotient;
+    }
+
+    public Money timesBasisPoints(long basisPoints) {
+        return ofCents(applyBasisPoints(cents, basisPoints));
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money min(Money other) {
+        return cents <= other.cents ? this : other;
+    }
+
+    public Money max(Money other) {
+        return cents >= other.cents ? this : other;
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return cents > other.cents;
+    }
+
+    public boolean isLessThan(Money other) {
+        return cents < other.cents;
+    }
+
+    public int signum() {
+        return Long.signum(cents);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,115 @@
+-- Baseline schema, as created by init-scripts/01-init-db.sql before migrations were introduced.
+-- Databases bootstrapped by that script are baselined at this version. The script has since also gained
+-- V2's claim_statistics table and the unique claim_number index on claim_assessments that V3_2 enforces;
+-- V2 creates the table only if it is missing and V3_2 rebuilds the index, so both still apply on top of
+-- such a baseline.
+
+-- Id sequences step by 50 to match the pooled-lo allocation size of the entity generators,
+-- so Hibernate reserves a block of ids per round trip and can batch inserts.
+-- Rows inserted without an id (COPY, native SQL) consume a whole block; ids stay unique but not dense.
+CREATE SEQUENCE IF NOT EXISTS policyholders_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS insurance_policies_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS claims_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS claim_assessments_id_seq START WITH 1 INCREMENT BY 50;
+
+-- Create policyholders table
+CREATE TABLE IF NOT EXISTS policyholders (
+    id BIGINT PRIMARY KEY DEFAULT nextval('policyholders_id_seq'),
+    policyholder_id VARCHAR(50) UNIQUE NOT NULL,
+    name VARCHAR(200) NOT NULL,
+    email VARCHAR(100) UNIQUE NOT NULL,
+    phone VARCHAR(20),
+    date_of_birth DATE,
+    address TEXT,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create insurance policies table
+CREATE TABLE IF NOT EXISTS insurance_policies (
+    id BIGINT PRIMARY KEY DEFAULT nextval('insurance_policies_id_seq'),
+    policy_number VARCHAR(50) UNIQUE NOT NULL,
+    policyholder_id VARCHAR(50) NOT NULL,
+    policy_type VARCHAR(30) NOT NULL CHECK (policy_type IN ('LIFE', 'HEALTH', 'AUTO', 'PROPERTY', 'TRAVEL')),
+    coverage_amount DECIMAL(15,2) NOT NULL CHECK (coverage_amount > 0),
+    premium_amount DECIMAL(10,2) NOT NULL CHECK (premium_amount > 0),
+    currency VARCHAR(3) NOT NULL DEFAULT 'USD',
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE' CHECK (status IN ('ACTIVE', 'EXPIRED', 'CANCELLED', 'SUSPENDED')),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (policyholder_id) REFERENCES policyholders(policyholder_id)
+);
+
+-- Create claims table
+CREATE TABLE IF NOT EXISTS claims (
+    id BIGINT PRIMARY KEY DEFAULT nextval('claims_id_seq'),
+    claim_number VARCHAR(50) UNIQUE NOT NULL,
+    policy_number VARCHAR(50) NOT NULL,
+    claim_type VARCHAR(30) NOT NULL,
+    incident_date DATE NOT NULL,
+    claim_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claimed_amount DECIMAL(15,2) NOT NULL CHECK (claimed_amount > 0),
+    description TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'SUBMITTED' CHECK (status IN ('SUBMITTED', 'UNDER_REVIEW', 'APPROVED', 'REJECTED', 'PAID', 'CLOSED')),
+    priority VARCHAR(10) NOT NULL DEFAULT 'NORMAL' CHECK (priority IN ('LOW', 'NORMAL', 'HIGH', 'URGENT')),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (policy_number) REFERENCES insurance_policies(policy_number)
+);
+
+-- Create claim assessments table for storing processed claims
+CREATE TABLE IF NOT EXISTS claim_assessments (
+    id BIGINT PRIMARY KEY DEFAULT nextval('claim_assessments_id_seq'),
+    claim_number VARCHAR(50) NOT NULL,
+    assessor_id VARCHAR(50),
+    assessment_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    approved_amount DECIMAL(15,2),
+    risk_score INTEGER CHECK (risk_score >= 0 AND risk_score <= 100),
+    fraud_flag BOOLEAN NOT NULL DEFAULT FALSE,
+    assessment_notes TEXT,
+    processing_time_ms INTEGER,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (claim_number) REFERENCES claims(claim_number)
+);
+
+-- Create claim documents table
+CREATE TABLE IF NOT EXISTS claim_documents (
+    id BIGSERIAL PRIMARY KEY,
+    claim_number VARCHAR(50) NOT NULL,
+    document_type VARCHAR(30) NOT NULL CHECK (document_type IN ('MEDICAL_REPORT', 'POLICE_REPORT', 'PHOTO', 'RECEIPT', 'OTHER')),
+    document_name VARCHAR(200) NOT NULL,
+    file_path VARCHAR(500),
+    upload_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (claim_number) REFERENCES claims(claim_number)
+);
+
+-- Create indexes for better performance
+CREATE INDEX IF NOT EXISTS idx_policyholders_policyholder_id ON policyholders(policyholder_id);
+CREATE INDEX IF NOT EXISTS idx_policyholders_email ON policyholders(email);
+CREATE INDEX IF NOT EXISTS idx_insurance_policies_policy_number ON insurance_policies(policy_number);
+CREATE INDEX IF NOT EXISTS idx_insurance_policies_policyholder_id ON insurance_policies(policyholder_id);
+CREATE INDEX IF NOT EXISTS idx_insurance_policies_status ON insurance_policies(status);
+CREATE INDEX IF NOT EXISTS idx_claims_claim_number ON claims(claim_number);
+CREATE INDEX IF NOT EXISTS idx_claims_policy_number ON claims(policy_number);
+CREATE INDEX IF NOT EXISTS idx_claims_status ON claims(status);
+CREATE INDEX IF NOT EXISTS idx_claims_claim_date ON claims(claim_date);
+-- One assessment per claim; also the conflict target for idempotent assessment upserts
+CREATE UNIQUE INDEX IF NOT EXISTS idx_claim_assessments_claim_number ON claim_assessments(claim_number);
+CREATE INDEX IF NOT EXISTS idx_claim_assessments_fraud_flag ON claim_assessments(fraud_flag);
+CREATE INDEX IF NOT EXISTS idx_claim_documents_claim_number ON claim_documents(claim_number);
+
+-- Create trigger for updated_at
+CREATE OR REPLACE FUNCTION update_updated_at_column()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.updated_at = CURRENT_TIMESTAMP;
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER update_policyholders_updated_at BEFORE UPDATE ON policyholders FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+CREATE TRIGGER update_insurance_policies_updated_at BEFORE UPDATE ON insurance_policies FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+CREATE TRIGGER update_claims_updated_at BEFORE UPDATE ON claims FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
@@ -0,0 +1,6 @@
+-- Checkpoint of the running claim and assessment statistics, one row per counter
+CREATE TABLE IF NOT EXISTS claim_statistics (
+    stat_key VARCHAR(64) PRIMARY KEY,
+    stat_value BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
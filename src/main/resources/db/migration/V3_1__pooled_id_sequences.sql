@@ -0,0 +1,18 @@
+-- Id sequences for the pooled-lo generators of the entities, which reserve 50 ids per nextval.
+-- Databases created by the init script before the switch to pooled ids got these sequences from BIGSERIAL
+-- columns: they step by 1, so Hibernate would hand out overlapping id blocks, and V1 left them alone
+-- because they already existed. They are also owned by their columns, which would drop them together
+-- with the unpartitioned tables in V4 while the partitioned tables still use them as defaults.
+--
+-- The next nextval is moved past both the highest stored id and the last block the sequence may already
+-- have handed out (last_value + 49 with an increment of 50), so no id in use is issued again.
+
+ALTER SEQUENCE policyholders_id_seq INCREMENT BY 50 OWNED BY NONE;
+ALTER SEQUENCE insurance_policies_id_seq INCREMENT BY 50 OWNED BY NONE;
+ALTER SEQUENCE claims_id_seq INCREMENT BY 50 OWNED BY NONE;
+ALTER SEQUENCE claim_assessments_id_seq INCREMENT BY 50 OWNED BY NONE;
+
+SELECT setval('policyholders_id_seq', GREATEST(COALESCE((SELECT max(id) FROM policyholders), 0), (SELECT last_value + 49 FROM policyholders_id_seq)) + 1, false);
+SELECT setval('insurance_policies_id_seq', GREATEST(COALESCE((SELECT max(id) FROM insurance_policies), 0), (SELECT last_value + 49 FROM insurance_policies_id_seq)) + 1, false);
+SELECT setval('claims_id_seq', GREATEST(COALESCE((SELECT max(id) FROM claims), 0), (SELECT last_value + 49 FROM claims_id_seq)) + 1, false);
+SELECT setval('claim_assessments_id_seq', GREATEST(COALESCE((SELECT max(id) FROM claim_assessments), 0), (SELECT last_value + 49 FROM claim_assessments_id_seq)) + 1, false);
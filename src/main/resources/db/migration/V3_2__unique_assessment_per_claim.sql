@@ -0,0 +1,13 @@
+-- One assessment per claim. Databases created before assessments became idempotent already have a
+-- non-unique idx_claim_assessments_claim_number, so the unique index of the same name in V1 was skipped
+-- there and a claim may have been assessed more than once. The first assessment stored for a claim is the
+-- one its events were published for, so later copies are removed before the index is rebuilt as unique.
+-- V4 relies on this when it records each claim's assessment in claim_registry.
+
+DELETE FROM claim_assessments a
+USING claim_assessments b
+WHERE a.claim_number = b.claim_number
+  AND a.id > b.id;
+
+DROP INDEX IF EXISTS idx_claim_assessments_claim_number;
+CREATE UNIQUE INDEX idx_claim_assessments_claim_number ON claim_assessments(claim_number);
@@ -0,0 +1,224 @@
+-- Monthly range partitioning of claims (by claim_date) and claim_assessments (by assessment_date).
+-- Date range queries only touch the months they cover, and archiving a month detaches one partition
+-- instead of deleting rows. Existing rows are copied into the partitioned tables once, here.
+--
+-- A unique index on a partitioned table must include the partition key, so claim numbers can no longer
+-- be unique on claims or claim_assessments themselves. claim_registry holds one row per claim number
+-- instead: it enforces uniqueness, is the foreign key target for assessments and documents, and keeps
+-- the numbers of archived claims reserved.
+
+CREATE SCHEMA IF NOT EXISTS claims_archive;
+
+CREATE TABLE claim_registry (
+    claim_number VARCHAR(50) PRIMARY KEY,
+    assessment_id BIGINT
+);
+
+INSERT INTO claim_registry (claim_number, assessment_id)
+SELECT c.claim_number, (SELECT a.id FROM claim_assessments a WHERE a.claim_number = c.claim_number)
+FROM claims c;
+
+ALTER TABLE claim_assessments DROP CONSTRAINT IF EXISTS claim_assessments_claim_number_fkey;
+ALTER TABLE claim_documents DROP CONSTRAINT IF EXISTS claim_documents_claim_number_fkey;
+
+ALTER TABLE claims RENAME TO claims_unpartitioned;
+ALTER TABLE claim_assessments RENAME TO claim_assessments_unpartitioned;
+
+CREATE TABLE claims (
+    id BIGINT NOT NULL DEFAULT nextval('claims_id_seq'),
+    claim_number VARCHAR(50) NOT NULL,
+    policy_number VARCHAR(50) NOT NULL,
+    claim_type VARCHAR(30) NOT NULL,
+    incident_date DATE NOT NULL,
+    claim_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claimed_amount DECIMAL(15,2) NOT NULL CHECK (claimed_amount > 0),
+    description TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'SUBMITTED' CHECK (status IN ('SUBMITTED', 'UNDER_REVIEW', 'APPROVED', 'REJECTED', 'PAID', 'CLOSED')),
+    priority VARCHAR(10) NOT NULL DEFAULT 'NORMAL' CHECK (priority IN ('LOW', 'NORMAL', 'HIGH', 'URGENT')),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) PARTITION BY RANGE (claim_date);
+
+CREATE TABLE claim_assessments (
+    id BIGINT NOT NULL DEFAULT nextval('claim_assessments_id_seq'),
+    claim_number VARCHAR(50) NOT NULL,
+    assessor_id VARCHAR(50),
+    assessment_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    approved_amount DECIMAL(15,2),
+    risk_score INTEGER CHECK (risk_score >= 0 AND risk_score <= 100),
+    fraud_flag BOOLEAN NOT NULL DEFAULT FALSE,
+    assessment_notes TEXT,
+    processing_time_ms INTEGER,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) PARTITION BY RANGE (assessment_date);
+
+-- Rows dated outside every monthly partition, e.g. backfilled history, land here until their month is created
+CREATE TABLE claims_default PARTITION OF claims DEFAULT;
+CREATE TABLE claim_assessments_default PARTITION OF claim_assessments DEFAULT;
+
+-- Creates the partition of one month unless it exists. Rows of that month already in the default
+-- partition are moved into it first, because a partition cannot be attached while the default
+-- partition holds rows in its range.
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent_table TEXT, month_start DATE)
+RETURNS BOOLEAN AS $$
+DECLARE
+    lower_bound DATE := date_trunc('month', month_start)::DATE;
+    upper_bound DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := parent_table || '_p' || to_char(lower_bound, 'YYYY_MM');
+    key_column TEXT := substring(pg_get_partkeydef(parent_table::regclass) FROM '\((.*)\)');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name, parent_table);
+    PERFORM set_config('claims.moving_partition_rows', 'on', TRUE);
+    EXECUTE format('WITH moved AS (DELETE FROM %I WHERE %I >= %L AND %I < %L RETURNING *) INSERT INTO %I SELECT * FROM moved',
+                   parent_table || '_default', key_column, lower_bound, key_column, upper_bound, partition_name);
+    PERFORM set_config('claims.moving_partition_rows', 'off', TRUE);
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   parent_table, partition_name, lower_bound, upper_bound);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Creates the monthly partitions from the month of from_date through months_ahead months after the
+-- current one, and returns how many were new
+CREATE OR REPLACE FUNCTION ensure_monthly_partitions(parent_table TEXT, months_ahead INTEGER, from_date DATE DEFAULT CURRENT_DATE)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := date_trunc('month', LEAST(from_date, CURRENT_DATE))::DATE;
+    last_month DATE := (date_trunc('month', CURRENT_DATE) + make_interval(months => months_ahead))::DATE;
+    created INTEGER := 0;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        IF create_monthly_partition(parent_table, month_start) THEN
+            created := created + 1;
+        END IF;
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detaches the monthly partitions that ended more than retention_months months before the current month
+-- and moves them to the claims_archive schema, where they stay queryable until exported or dropped.
+-- Returns how many were archived.
+CREATE OR REPLACE FUNCTION archive_monthly_partitions(parent_table TEXT, retention_months INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    cutoff DATE := (date_trunc('month', CURRENT_DATE) - make_interval(months => retention_months))::DATE;
+    partition_name TEXT;
+    archived INTEGER := 0;
+BEGIN
+    FOR partition_name IN
+        SELECT child.relname
+        FROM pg_inherits
+        JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+        WHERE pg_inherits.inhparent = parent_table::regclass
+          AND child.relname ~ ('^' || parent_table || '_p[0-9]{4}_[0-9]{2}$')
+          AND to_date(right(child.relname, 7), 'YYYY_MM') < cutoff
+        ORDER BY child.relname
+    LOOP
+        EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', parent_table, partition_name);
+        EXECUTE format('ALTER TABLE %I SET SCHEMA claims_archive', partition_name);
+        archived := archived + 1;
+    END LOOP;
+    RETURN archived;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT ensure_monthly_partitions('claims', 3,
+                                 COALESCE((SELECT min(claim_date) FROM claims_unpartitioned)::DATE, CURRENT_DATE));
+SELECT ensure_monthly_partitions('claim_assessments', 3,
+                                 COALESCE((SELECT min(assessment_date) FROM claim_assessments_unpartitioned)::DATE, CURRENT_DATE));
+
+INSERT INTO claims (id, claim_number, policy_number, claim_type, incident_date, claim_date, claimed_amount,
+                    description, status, priority, created_at, updated_at)
+SELECT id, claim_number, policy_number, claim_type, incident_date, claim_date, claimed_amount,
+       description, status, priority, created_at, updated_at
+FROM claims_unpartitioned;
+
+INSERT INTO claim_assessments (id, claim_number, assessor_id, assessment_date, approved_amount, risk_score,
+                               fraud_flag, assessment_notes, processing_time_ms, created_at)
+SELECT id, claim_number, assessor_id, assessment_date, approved_amount, risk_score,
+       fraud_flag, assessment_notes, processing_time_ms, created_at
+FROM claim_assessments_unpartitioned;
+
+DROP TABLE claim_assessments_unpartitioned;
+DROP TABLE claims_unpartitioned;
+
+-- Keys and indexes are created on the parents after the copy and cascade to every partition
+ALTER TABLE claims ADD CONSTRAINT claims_pkey PRIMARY KEY (id, claim_date);
+ALTER TABLE claims ADD CONSTRAINT claims_policy_number_fkey
+    FOREIGN KEY (policy_number) REFERENCES insurance_policies(policy_number);
+ALTER TABLE claim_assessments ADD CONSTRAINT claim_assessments_pkey PRIMARY KEY (id, assessment_date);
+ALTER TABLE claim_assessments ADD CONSTRAINT claim_assessments_claim_number_fkey
+    FOREIGN KEY (claim_number) REFERENCES claim_registry(claim_number);
+ALTER TABLE claim_documents ADD CONSTRAINT claim_documents_claim_number_fkey
+    FOREIGN KEY (claim_number) REFERENCES claim_registry(claim_number);
+
+CREATE INDEX idx_claims_claim_number ON claims(claim_number);
+CREATE INDEX idx_claims_policy_number ON claims(policy_number);
+CREATE INDEX idx_claims_status ON claims(status);
+CREATE INDEX idx_claims_claim_date ON claims(claim_date);
+CREATE INDEX idx_claims_status_priority ON claims(status, priority);
+CREATE INDEX idx_claims_pending_id ON claims(id) WHERE status IN ('SUBMITTED', 'UNDER_REVIEW');
+CREATE INDEX idx_claims_status_id ON claims(status, id);
+CREATE INDEX idx_claim_assessments_claim_number ON claim_assessments(claim_number);
+CREATE INDEX idx_claim_assessments_fraud_flag ON claim_assessments(fraud_flag);
+CREATE INDEX idx_claim_assessments_risk_score ON claim_assessments(risk_score);
+CREATE INDEX idx_claim_assessments_assessment_date ON claim_assessments(assessment_date);
+CREATE INDEX idx_claim_assessments_assessor_id ON claim_assessments(assessor_id);
+CREATE INDEX idx_claim_assessments_fraud_id ON claim_assessments(id) WHERE fraud_flag;
+
+-- Registers a new claim number; a number that is already registered, including one of an archived
+-- claim, fails the insert with a unique violation as the old unique constraint did
+CREATE OR REPLACE FUNCTION register_claim_number()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' THEN
+        UPDATE claim_registry SET claim_number = NEW.claim_number WHERE claim_number = OLD.claim_number;
+    ELSE
+        INSERT INTO claim_registry (claim_number) VALUES (NEW.claim_number);
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Records the claim's assessment, failing the insert if the claim already has a different one. The
+-- assessment id is compared rather than a flag so an update that moves an assessment to another month's
+-- partition, which PostgreSQL runs as a delete and an insert of the same row, still passes. A claim
+-- number that is not registered at all is left to the foreign key.
+CREATE OR REPLACE FUNCTION register_claim_assessment()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        IF current_setting('claims.moving_partition_rows', TRUE) IS DISTINCT FROM 'on'
+                AND NOT EXISTS (SELECT 1 FROM claim_assessments WHERE id = OLD.id) THEN
+            UPDATE claim_registry SET assessment_id = NULL
+            WHERE claim_number = OLD.claim_number AND assessment_id = OLD.id;
+        END IF;
+        RETURN OLD;
+    END IF;
+
+    UPDATE claim_registry SET assessment_id = NEW.id
+    WHERE claim_number = NEW.claim_number AND (assessment_id IS NULL OR assessment_id = NEW.id);
+    IF NOT FOUND AND EXISTS (SELECT 1 FROM claim_registry WHERE claim_number = NEW.claim_number) THEN
+        RAISE unique_violation USING MESSAGE = format('claim %s already has an assessment', NEW.claim_number),
+            CONSTRAINT = 'idx_claim_assessments_claim_number';
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER register_claims_claim_number BEFORE INSERT ON claims
+    FOR EACH ROW EXECUTE FUNCTION register_claim_number();
+CREATE TRIGGER rename_claims_claim_number BEFORE UPDATE OF claim_number ON claims
+    FOR EACH ROW WHEN (OLD.claim_number IS DISTINCT FROM NEW.claim_number) EXECUTE FUNCTION register_claim_number();
+CREATE TRIGGER register_claim_assessments_claim_number BEFORE INSERT ON claim_assessments
+    FOR EACH ROW EXECUTE FUNCTION register_claim_assessment();
+CREATE TRIGGER release_claim_assessments_claim_number AFTER DELETE ON claim_assessments
+    FOR EACH ROW EXECUTE FUNCTION register_claim_assessment();
+CREATE TRIGGER update_claims_updated_at BEFORE UPDATE ON claims
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
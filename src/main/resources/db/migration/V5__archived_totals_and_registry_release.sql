@@ -0,0 +1,115 @@
+-- Totals of the archived monthly partitions. Archiving moves rows out of claims and claim_assessments,
+-- but archived claims still count against their policy's coverage and in the claim statistics, so each
+-- partition's contribution is added here in the same transaction that detaches it. The exposure and
+-- statistics reconciliations add these baselines to their aggregates over the live tables.
+CREATE TABLE archived_policy_exposure (
+    policy_number VARCHAR(50) PRIMARY KEY,
+    claimed_amount DECIMAL(17,2) NOT NULL DEFAULT 0,
+    approved_amount DECIMAL(17,2) NOT NULL DEFAULT 0,
+    claim_count BIGINT NOT NULL DEFAULT 0
+);
+
+-- Keyed like claim_statistics
+CREATE TABLE archived_claim_statistics (
+    stat_key VARCHAR(64) PRIMARY KEY,
+    stat_value BIGINT NOT NULL
+);
+
+-- Adds the totals of one partition being archived. claims and claim_assessments are partitioned
+-- on different dates, so a claim and its assessment may be archived in different runs: the approved
+-- amount is counted by whichever of the two is archived first, while the other is still live to join.
+-- The high-risk threshold matches ClaimStatisticsTracker.HIGH_RISK_THRESHOLD.
+CREATE OR REPLACE FUNCTION record_archived_totals(parent_table TEXT, partition_name TEXT)
+RETURNS VOID AS $$
+BEGIN
+    IF parent_table = 'claims' THEN
+        EXECUTE format($sql$
+            INSERT INTO archived_policy_exposure AS e (policy_number, claimed_amount, approved_amount, claim_count)
+            SELECT c.policy_number, SUM(c.claimed_amount), COALESCE(SUM(a.approved_amount), 0), COUNT(*)
+            FROM %I c
+            LEFT JOIN claim_assessments a ON a.claim_number = c.claim_number
+            GROUP BY c.policy_number
+            ON CONFLICT (policy_number) DO UPDATE
+            SET claimed_amount = e.claimed_amount + EXCLUDED.claimed_amount,
+                approved_amount = e.approved_amount + EXCLUDED.approved_amount,
+                claim_count = e.claim_count + EXCLUDED.claim_count
+            $sql$, partition_name);
+        EXECUTE format($sql$
+            INSERT INTO archived_claim_statistics AS s (stat_key, stat_value)
+            SELECT 'claims.status.' || lower(status), COUNT(*) FROM %1$I GROUP BY status
+            UNION ALL
+            SELECT 'claims.priority.' || lower(priority), COUNT(*) FROM %1$I GROUP BY priority
+            ON CONFLICT (stat_key) DO UPDATE SET stat_value = s.stat_value + EXCLUDED.stat_value
+            $sql$, partition_name);
+    ELSE
+        EXECUTE format($sql$
+            INSERT INTO archived_policy_exposure AS e (policy_number, approved_amount)
+            SELECT c.policy_number, COALESCE(SUM(a.approved_amount), 0)
+            FROM %I a
+            JOIN claims c ON c.claim_number = a.claim_number
+            GROUP BY c.policy_number
+            ON CONFLICT (policy_number) DO UPDATE
+            SET approved_amount = e.approved_amount + EXCLUDED.approved_amount
+            $sql$, partition_name);
+        EXECUTE format($sql$
+            INSERT INTO archived_claim_statistics AS s (stat_key, stat_value)
+            SELECT totals.stat_key, SUM(totals.stat_value)
+            FROM %I a,
+                 LATERAL (VALUES ('assessments.count', 1),
+                                 ('assessments.fraudulent', CASE WHEN a.fraud_flag THEN 1 ELSE 0 END),
+                                 ('assessments.high-risk', CASE WHEN a.risk_score >= 40 THEN 1 ELSE 0 END),
+                                 ('assessments.processing-time-ms.sum', COALESCE(a.processing_time_ms, 0)),
+                                 ('assessments.processing-time-ms.count', CASE WHEN a.processing_time_ms IS NULL THEN 0 ELSE 1 END),
+                                 ('assessments.risk-score.sum', COALESCE(a.risk_score, 0)),
+                                 ('assessments.risk-score.count', CASE WHEN a.risk_score IS NULL THEN 0 ELSE 1 END))
+                         AS totals (stat_key, stat_value)
+            GROUP BY totals.stat_key
+            ON CONFLICT (stat_key) DO UPDATE SET stat_value = s.stat_value + EXCLUDED.stat_value
+            $sql$, partition_name);
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- As in V4, with the totals of each partition recorded as it is detached
+CREATE OR REPLACE FUNCTION archive_monthly_partitions(parent_table TEXT, retention_months INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    cutoff DATE := (date_trunc('month', CURRENT_DATE) - make_interval(months => retention_months))::DATE;
+    partition_name TEXT;
+    archived INTEGER := 0;
+BEGIN
+    FOR partition_name IN
+        SELECT child.relname
+        FROM pg_inherits
+        JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+        WHERE pg_inherits.inhparent = parent_table::regclass
+          AND child.relname ~ ('^' || parent_table || '_p[0-9]{4}_[0-9]{2}$')
+          AND to_date(right(child.relname, 7), 'YYYY_MM') < cutoff
+        ORDER BY child.relname
+    LOOP
+        EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', parent_table, partition_name);
+        PERFORM record_archived_totals(parent_table, partition_name);
+        EXECUTE format('ALTER TABLE %I SET SCHEMA claims_archive', partition_name);
+        archived := archived + 1;
+    END LOOP;
+    RETURN archived;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Releases the claim number of a deleted claim, so it can be submitted again. Rows moved between
+-- partitions are deleted and inserted again under the same number and keep their registration, as do the
+-- claims of archived partitions, which are detached rather than deleted. A claim that still has an
+-- assessment or documents cannot be deleted: their foreign keys on claim_registry reject the release.
+CREATE OR REPLACE FUNCTION release_claim_number()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF current_setting('claims.moving_partition_rows', TRUE) IS DISTINCT FROM 'on'
+            AND NOT EXISTS (SELECT 1 FROM claims WHERE claim_number = OLD.claim_number) THEN
+        DELETE FROM claim_registry WHERE claim_number = OLD.claim_number;
+    END IF;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER release_claims_claim_number AFTER DELETE ON claims
+    FOR EACH ROW EXECUTE FUNCTION release_claim_number();
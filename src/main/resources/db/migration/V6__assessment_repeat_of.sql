@@ -0,0 +1,4 @@
+-- Claim number of the earlier claim with identical content that an assessed claim repeats, if any.
+-- Repeats are not scored again but reuse the remembered assessment of that claim; the column lets
+-- reviewers and reports tell them apart from claims that were scored on their own.
+ALTER TABLE claim_assessments ADD COLUMN repeat_of VARCHAR(50);
@@ -0,0 +1,15 @@
+package com.example.insurance.fraud;
+
+/**
+ * Resets the in-memory fraud history for tests outside this package.
+ */
+public final class FraudHistory {
+
+    private FraudHistory() {
+    }
+
+    public static void clear(NearDuplicateDetector duplicateDetector, VelocityTracker velocityTracker) {
+        duplicateDetector.clear();
+        velocityTracker.clear();
+    }
+}
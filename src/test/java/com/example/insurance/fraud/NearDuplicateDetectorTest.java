@@ -0,0 +1,67 @@
+package com.example.insurance.fraud;
+
+import com.example.insurance.util.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NearDuplicateDetectorTest {
+
+    private static final LocalDate INCIDENT = LocalDate.of(2024, 5, 10);
+    private static final String DESCRIPTION =
+            "Rear-ended at the traffic lights on Main Street, bumper and tail light damaged, car towed to garage";
+
+    private NearDuplicateDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        detector = new NearDuplicateDetector();
+        detector.enabled = true;
+        detector.similarityThreshold = 0.6;
+        detector.claimsPerPolicyholder = 50;
+        detector.maxPolicyholders = 1_000;
+    }
+
+    @Test
+    public void testCheckAndIndex_FlagsRewordedResubmission() {
+        assertTrue(detector.checkAndIndex("PH-DUP", "CLM-DUP-1", DESCRIPTION, Money.ofCents(480_000), INCIDENT).isEmpty());
+
+        Optional<DuplicateCandidate> candidate = detector.checkAndIndex("PH-DUP", "CLM-DUP-2",
+                "Rear ended at the traffic lights on Main St. Bumper and tail-light damaged; car towed to the garage.",
+                Money.ofCents(510_000), INCIDENT.plusDays(2));
+
+        assertTrue(candidate.isPresent());
+        assertEquals("CLM-DUP-1", candidate.get().claimNumber());
+        assertTrue(candidate.get().similarity() >= 0.6);
+    }
+
+    @Test
+    public void testCheckAndIndex_IgnoresOtherPolicyholdersAndDistantClaims() {
+        detector.checkAndIndex("PH-DUP", "CLM-DUP-1", DESCRIPTION, Money.ofCents(480_000), INCIDENT);
+
+        assertTrue(detector.checkAndIndex("PH-OTHER", "CLM-DUP-2", DESCRIPTION, Money.ofCents(480_000), INCIDENT).isEmpty());
+        assertTrue(detector.checkAndIndex("PH-DUP", "CLM-DUP-3", DESCRIPTION, Money.ofCents(2_000_000), INCIDENT).isEmpty(),
+                "Amounts far apart should not match");
+        assertTrue(detector.checkAndIndex("PH-DUP", "CLM-DUP-4", DESCRIPTION, Money.ofCents(480_000), INCIDENT.plusMonths(3)).isEmpty(),
+                "Incidents months apart should not match");
+        assertTrue(detector.checkAndIndex("PH-DUP", "CLM-DUP-5",
+                "Burst pipe flooded the kitchen and ruined the flooring", Money.ofCents(480_000), INCIDENT).isEmpty());
+    }
+
+    @Test
+    public void testCheckAndIndex_RedeliveryIsNotADuplicateOfItself() {
+        detector.checkAndIndex("PH-DUP", "CLM-DUP-1", DESCRIPTION, Money.ofCents(480_000), INCIDENT);
+
+        assertTrue(detector.checkAndIndex("PH-DUP", "CLM-DUP-1", DESCRIPTION, Money.ofCents(480_000), INCIDENT).isEmpty());
+    }
+
+    @Test
+    public void testSignature_IdenticalAfterNormalization() {
+        assertArrayEquals(MinHasher.signature("Car  accident, claim!"), MinHasher.signature("car accident claim"));
+        assertNull(MinHasher.signature(" -- "));
+    }
+}
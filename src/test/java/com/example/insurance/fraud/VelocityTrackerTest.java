@@ -0,0 +1,83 @@
+package com.example.insurance.fraud;
+
+import com.example.insurance.util.Money;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class VelocityTrackerTest {
+
+    @Inject
+    VelocityTracker velocityTracker;
+
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    public void testRecord_CountsEachDimensionIncludingCurrentClaim() {
+        velocityTracker.record("POL-VEL-" + suffix, "PH-VEL-" + suffix, "vel-" + suffix + "@email.com", Money.ofCents(100_000));
+        FraudSignals signals = velocityTracker.record("POL-VEL-" + suffix, "PH-OTHER-" + suffix,
+                "VEL-" + suffix + "@Email.com", Money.ofCents(50_000));
+
+        assertEquals(2, signals.policy().claims1h());
+        assertEquals(2, signals.policy().claims30d());
+        assertEquals(Money.ofCents(150_000), signals.policy().amount24h());
+        assertEquals(1, signals.policyholder().claims1h());
+        assertEquals(2, signals.email().claims24h(), "Emails should be matched case-insensitively");
+        assertEquals(2, signals.maxClaims1h());
+    }
+
+    @Test
+    public void testRecord_MissingKeysYieldEmptySnapshots() {
+        FraudSignals signals = velocityTracker.record("POL-VEL-" + suffix, null, " ", Money.ofCents(100));
+
+        assertEquals(1, signals.policy().claims1h());
+        assertEquals(VelocitySnapshot.EMPTY, signals.policyholder());
+        assertEquals(VelocitySnapshot.EMPTY, signals.email());
+    }
+
+    @Test
+    public void testPeek_IncludesClaimWithoutCountingIt() {
+        velocityTracker.record("POL-VEL-" + suffix, "PH-VEL-" + suffix, "vel-" + suffix + "@email.com", Money.ofCents(100_000));
+
+        FraudSignals first = velocityTracker.peek("POL-VEL-" + suffix, "PH-VEL-" + suffix, "vel-" + suffix + "@email.com", Money.ofCents(50_000));
+        FraudSignals again = velocityTracker.peek("POL-VEL-" + suffix, "PH-VEL-" + suffix, "vel-" + suffix + "@email.com", Money.ofCents(50_000));
+
+        assertEquals(2, first.policy().claims1h());
+        assertEquals(Money.ofCents(150_000), first.policy().amount30d());
+        assertEquals(first, again, "Peeking must not count the claim");
+        assertEquals(1, velocityTracker.get(VelocityTracker.Dimension.POLICYHOLDER, "PH-VEL-" + suffix).claims24h());
+        assertEquals(1, velocityTracker.peek("POL-NEW-" + suffix, null, null, Money.ofCents(100)).policy().claims1h());
+    }
+
+    @Test
+    public void testSlidingWindowCounter_DropsExpiredBuckets() {
+        long minute = TimeUnit.MINUTES.toMillis(1);
+        SlidingWindowCounter counter = new SlidingWindowCounter(minute, 60);
+        long start = TimeUnit.DAYS.toMillis(20_000);
+
+        counter.add(start, 1, 500);
+        counter.add(start + 30 * minute, 2, 700);
+
+        assertEquals(3, counter.count(start + 59 * minute));
+        assertEquals(1_200, counter.amount(start + 59 * minute));
+        assertEquals(2, counter.count(start + 60 * minute));
+        assertEquals(0, counter.count(start + 90 * minute));
+
+        // The slot of the first bucket is reused a full lap later without carrying its old value
+        counter.add(start + 60 * minute, 1, 100);
+        assertEquals(3, counter.count(start + 60 * minute));
+        assertEquals(800, counter.amount(start + 60 * minute));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.insurance.repository;
+
+import com.example.insurance.entity.Claim;
+import com.example.insurance.entity.ClaimAssessment;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class ClaimBatchWriterTest {
+
+    @Inject
+    ClaimBatchWriter batchWriter;
+
+    @Inject
+    ClaimRepository claimRepository;
+
+    @Inject
+    ClaimAssessmentRepository assessmentRepository;
+
+    @Test
+    public void testWrite_PersistsClaimAndAssessment() throws Exception {
+        String claimNumber = "BATCH-" + UUID.randomUUID().toString().substring(0, 8);
+
+        assertTrue(batchWriter.write(buildClaim(claimNumber), buildAssessment(claimNumber)).get(5, TimeUnit.SECONDS));
+
+        Claim savedClaim = claimRepository.findByClaimNumber(claimNumber)
+                .orElseThrow(() -> new AssertionError("Claim should be written by the batch writer"));
+        assertEquals(new BigDecimal("1500.00"), savedClaim.getClaimedAmount());
+        assertEquals(Claim.ClaimStatus.SUBMITTED, savedClaim.getStatus());
+        assertNotNull(savedClaim.getClaimDate());
+
+        ClaimAssessment savedAssessment = assessmentRepository.findByClaimNumber(claimNumber)
+                .orElseThrow(() -> new AssertionError("Assessment should be written by the batch writer"));
+        assertEquals(20, savedAssessment.getRiskScore());
+        assertFalse(savedAssessment.getFraudFlag());
+    }
+
+    @Test
+    public void testWrite_ConcurrentWritesAllComplete() throws Exception {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        List<String> claimNumbers = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            String claimNumber = "BATCH-" + UUID.randomUUID().toString().substring(0, 8);
+            claimNumbers.add(claimNumber);
+            futures.add(CompletableFuture.supplyAsync(() -> batchWriter.write(buildClaim(claimNumber), buildAssessment(claimNumber)))
+                    .thenCompose(future -> future));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        for (String claimNumber : claimNumbers) {
+            assertTrue(claimRepository.findByClaimNumber(claimNumber).isPresent(), "Claim should be persisted: " + claimNumber);
+            assertTrue(assessmentRepository.findByClaimNumber(claimNumber).isPresent(), "Assessment should be persisted: " + claimNumber);
+        }
+    }
+
+    @Test
+    public void testWrite_RedeliveredClaimIsSkipped() throws Exception {
+        String claimNumber = "BATCH-" + UUID.randomUUID().toString().substring(0, 8);
+        assertTrue(batchWriter.write(buildClaim(claimNumber), buildAssessment(claimNumber)).get(5, TimeUnit.SECONDS));
+
+        String otherClaimNumber = "BATCH-" + UUID.randomUUID().toString().substring(0, 8);
+        CompletableFuture<Boolean> redelivery = batchWriter.write(buildClaim(claimNumber), buildAssessment(claimNumber));
+        CompletableFuture<Boolean> other = batchWriter.writeClaim(buildClaim(otherClaimNumber));
+
+        assertFalse(redelivery.get(5, TimeUnit.SECONDS), "Redelivered claim should not be inserted again");
+        assertTrue(other.get(5, TimeUnit.SECONDS));
+        assertEquals(1, assessmentRepository.find("claimNumber", claimNumber).count());
+        assertTrue(claimRepository.findByClaimNumber(otherClaimNumber).isPresent());
+    }
+
+    @Test
+    public void testWrite_AssessmentOfSkippedClaimIsNotWritten() throws Exception {
+        String claimNumber = "BATCH-" + UUID.randomUUID().toString().substring(0, 8);
+        assertTrue(batchWriter.writeClaim(buildClaim(claimNumber)).get(5, TimeUnit.SECONDS));
+
+        assertFalse(batchWriter.write(buildClaim(claimNumber), buildAssessment(claimNumber)).get(5, TimeUnit.SECONDS));
+        assertTrue(assessmentRepository.findByClaimNumber(claimNumber).isEmpty(),
+                "An assessment must not be stored for a claim this write did not insert");
+    }
+
+    @Test
+    public void testWrite_SameClaimTwiceIsInsertedOnce() throws Exception {
+        String claimNumber = "BATCH-" + UUID.randomUUID().toString().substring(0, 8);
+
+        CompletableFuture<Boolean> first = batchWriter.writeClaim(buildClaim(claimNumber));
+        CompletableFuture<Boolean> second = batchWriter.writeClaim(buildClaim(claimNumber));
+
+        assertNotEquals(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, claimRepository.find("claimNumber", claimNumber).count());
+    }
+
+    private Claim buildClaim(String claimNumber) {
+        return Claim.builder()
+                .claimNumber(claimNumber)
+                .policyNumber("POL-BATCH")
+                .claimType(Claim.ClaimType.ACCIDENT)
+                .incidentDate(LocalDate.of(2024, 1, 15))
+                .claimedAmount(new BigDecimal("1500.00"))
+                .description("Batch writer test claim")
+                .status(Claim.ClaimStatus.SUBMITTED)
+                .priority(Claim.ClaimPriority.NORMAL)
+                .build();
+    }
+
+    private ClaimAssessment buildAssessment(String claimNumber) {
+        return ClaimAssessment.builder()
+                .claimNumber(claimNumber)
+                .assessorId("BATCH_ASSESSOR")
+                .approvedAmount(new BigDecimal("1275.00"))
+                .riskScore(20)
+                .fraudFlag(false)
+                .assessmentNotes("Batch writer test assessment")
+                .processingTimeMs(5)
+                .build();
+    }
+}
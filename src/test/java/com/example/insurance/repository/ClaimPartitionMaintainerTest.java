@@ -0,0 +1,151 @@
+package com.example.insurance.repository;
+
+import com.example.insurance.entity.Claim;
+import com.example.insurance.entity.ClaimAssessment;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Archiving monthly partitions and deleting claims on the partitioned PostgreSQL schema: archived claims
+ * keep counting in the policy exposure and claim statistics, and deleted claims release their number.
+ */
+@QuarkusTest
+@TestProfile(PostgresTestProfile.class)
+@EnabledIfSystemProperty(named = "claims.test.postgres", matches = "true")
+public class ClaimPartitionMaintainerTest {
+
+    private static final String POLICY_NUMBER = "POL-ARCHIVE";
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    ClaimPartitionMaintainer partitionMaintainer;
+
+    @Inject
+    PolicyExposureTracker exposureTracker;
+
+    @Inject
+    ClaimStatisticsTracker statisticsTracker;
+
+    @Inject
+    ClaimRepository claimRepository;
+
+    @Inject
+    ClaimAssessmentRepository assessmentRepository;
+
+    @BeforeEach
+    void createPolicy() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO policyholders (policyholder_id, name, email)
+                    VALUES ('PH-ARCHIVE', 'Archive Holder', 'archive@partitions.test')
+                    ON CONFLICT DO NOTHING
+                    """);
+            statement.execute("""
+                    INSERT INTO insurance_policies (policy_number, policyholder_id, policy_type, coverage_amount,
+                                                    premium_amount, start_date, end_date)
+                    VALUES ('%s', 'PH-ARCHIVE', 'AUTO', 100000, 100, CURRENT_DATE - 3650, CURRENT_DATE + 365)
+                    ON CONFLICT DO NOTHING
+                    """.formatted(POLICY_NUMBER));
+        }
+    }
+
+    @Test
+    public void testArchive_KeepsExposureAndStatistics() {
+        // Older than the 24 month retention, so the partitions created for it are archived right away
+        LocalDateTime filedAt = LocalDateTime.now().minusMonths(30);
+        String claimNumber = newClaimNumber();
+        assertTrue(claimRepository.insertIfAbsent(buildClaim(claimNumber, filedAt)));
+        assertTrue(assessmentRepository.insertIfAbsent(buildAssessment(claimNumber, filedAt)));
+
+        exposureTracker.reconcile();
+        statisticsTracker.reconcile();
+        PolicyExposureTracker.PolicyExposure exposureBefore = exposureTracker.get(POLICY_NUMBER);
+        ClaimStatisticsTracker.ClaimStatistics statisticsBefore = statisticsTracker.snapshot();
+
+        assertTrue(partitionMaintainer.maintain().archived() >= 2);
+        assertTrue(claimRepository.findByClaimNumber(claimNumber).isEmpty());
+
+        exposureTracker.reconcile();
+        statisticsTracker.reconcile();
+        assertEquals(exposureBefore, exposureTracker.get(POLICY_NUMBER));
+        ClaimStatisticsTracker.ClaimStatistics statisticsAfter = statisticsTracker.snapshot();
+        assertEquals(statisticsBefore.claimsByStatus(), statisticsAfter.claimsByStatus());
+        assertEquals(statisticsBefore.assessments(), statisticsAfter.assessments());
+        assertEquals(statisticsBefore.fraudulentClaims(), statisticsAfter.fraudulentClaims());
+        assertEquals(statisticsBefore.averageRiskScore(), statisticsAfter.averageRiskScore(), 1e-9);
+
+        // Archived claim numbers stay reserved
+        assertFalse(claimRepository.insertIfAbsent(buildClaim(claimNumber, LocalDateTime.now())));
+    }
+
+    @Test
+    public void testDeleteClaim_ReleasesClaimNumber() {
+        String claimNumber = newClaimNumber();
+        assertTrue(claimRepository.insertIfAbsent(buildClaim(claimNumber, LocalDateTime.now())));
+
+        QuarkusTransaction.requiringNew().run(() -> claimRepository.delete("claimNumber", claimNumber));
+
+        assertTrue(claimRepository.insertIfAbsent(buildClaim(claimNumber, LocalDateTime.now())));
+    }
+
+    @Test
+    public void testDeleteClaim_AssessedClaimIsRejected() {
+        String claimNumber = newClaimNumber();
+        assertTrue(claimRepository.insertIfAbsent(buildClaim(claimNumber, LocalDateTime.now())));
+        assertTrue(assessmentRepository.insertIfAbsent(buildAssessment(claimNumber, LocalDateTime.now())));
+
+        assertThrows(RuntimeException.class, () ->
+                QuarkusTransaction.requiringNew().run(() -> claimRepository.delete("claimNumber", claimNumber)));
+        assertTrue(claimRepository.findByClaimNumber(claimNumber).isPresent());
+    }
+
+    private static String newClaimNumber() {
+        return "CLM-ARCH-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static Claim buildClaim(String claimNumber, LocalDateTime claimDate) {
+        return Claim.builder()
+                .claimNumber(claimNumber)
+                .policyNumber(POLICY_NUMBER)
+                .claimType(Claim.ClaimType.PROPERTY_DAMAGE)
+                .incidentDate(claimDate.toLocalDate().minusDays(3))
+                .claimDate(claimDate)
+                .claimedAmount(new BigDecimal("2500.00"))
+                .description("Partition archive test claim")
+                .status(Claim.ClaimStatus.APPROVED)
+                .priority(Claim.ClaimPriority.LOW)
+                .build();
+    }
+
+    private static ClaimAssessment buildAssessment(String claimNumber, LocalDateTime assessmentDate) {
+        return ClaimAssessment.builder()
+                .claimNumber(claimNumber)
+                .assessorId("ARCHIVE_ASSESSOR")
+                .assessmentDate(assessmentDate)
+                .approvedAmount(new BigDecimal("2100.00"))
+                .riskScore(55)
+                .fraudFlag(true)
+                .assessmentNotes("Partition archive test assessment")
+                .processingTimeMs(7)
+                .createdAt(assessmentDate)
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.insurance.repository;
 
+import com.example.insurance.dto.ClaimSummary;
 import com.example.insurance.entity.Claim;
 import com.example.insurance.entity.ClaimAssessment;
 import io.quarkus.test.junit.QuarkusTest;
@@ -11,9 +12,11 @@ import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -185,6 +188,47 @@ public class ClaimRepositoryTest {
         assertTrue(claimNumbers.contains("TEST-002"));
     }
 
+    @Test
+    public void testFindPendingClaimsPage_WalksAllPendingClaimsInIdOrder() {
+        List<Long> expected = claimRepository.findPendingClaims().stream().map(Claim::getId).sorted().toList();
+
+        List<Long> paged = new ArrayList<>();
+        KeysetPage<Claim> page = claimRepository.findPendingClaimsPage(null, 2);
+        paged.addAll(page.items().stream().map(Claim::getId).toList());
+        while (page.hasNext()) {
+            assertEquals(2, page.items().size());
+            page = claimRepository.findPendingClaimsPage(page.nextAfterId(), 2);
+            paged.addAll(page.items().stream().map(Claim::getId).toList());
+        }
+
+        assertEquals(expected, paged);
+    }
+
+    @Test
+    public void testFindSummariesByPolicyNumber_ProjectsListedColumns() {
+        List<ClaimSummary> summaries = claimRepository.findSummariesByPolicyNumber(testClaim1.getPolicyNumber());
+
+        assertEquals(1, summaries.size());
+        ClaimSummary summary = summaries.get(0);
+        assertEquals(testClaim1.getClaimNumber(), summary.claimNumber());
+        assertEquals(Claim.ClaimType.ACCIDENT, summary.claimType());
+        assertEquals(Claim.ClaimStatus.SUBMITTED, summary.status());
+        assertEquals(0, new BigDecimal("5000.00").compareTo(summary.claimedAmount()));
+    }
+
+    @Test
+    @Transactional
+    public void testStreamPendingClaims_MatchesList() {
+        List<String> expected = claimRepository.findPendingClaims().stream().map(Claim::getClaimNumber).sorted().toList();
+
+        List<String> streamed;
+        try (Stream<Claim> claims = claimRepository.streamPendingClaims()) {
+            streamed = claims.map(Claim::getClaimNumber).sorted().toList();
+        }
+
+        assertEquals(expected, streamed);
+    }
+
     @Test
     public void testFindClaimsByDateRange_Success() {
         LocalDateTime startDate = LocalDate.of(2024, 1, 1).atStartOfDay();
@@ -233,36 +277,6 @@ public class ClaimRepositoryTest {
         assertFalse(updated);
     }
 
-    @Test
-    public void testCountByStatus_Success() {
-        long submittedCount = claimRepository.countByStatus(Claim.ClaimStatus.SUBMITTED);
-        assertEquals(1, submittedCount);
-
-        long underReviewCount = claimRepository.countByStatus(Claim.ClaimStatus.UNDER_REVIEW);
-        assertEquals(1, underReviewCount);
-
-        long approvedCount = claimRepository.countByStatus(Claim.ClaimStatus.APPROVED);
-        assertEquals(1, approvedCount);
-    }
-
-    @Test
-    public void testCountByPriority_Success() {
-        long normalCount = claimRepository.countByPriority(Claim.ClaimPriority.NORMAL);
-        assertEquals(1, normalCount);
-
-        long highCount = claimRepository.countByPriority(Claim.ClaimPriority.HIGH);
-        assertEquals(1, highCount);
-
-        long urgentCount = claimRepository.countByPriority(Claim.ClaimPriority.URGENT);
-        assertEquals(1, urgentCount);
-    }
-
-    @Test
-    public void testCountPendingClaims_Success() {
-        long pendingCount = claimRepository.countPendingClaims();
-        assertEquals(2, pendingCount);
-    }
-
     @Test
     public void testListAllClaims_Success() {
         List<Claim> allClaims = claimRepository.listAll();
@@ -0,0 +1,227 @@
+package com.example.insurance.repository;
+
+import com.example.insurance.entity.Claim;
+import com.example.insurance.entity.ClaimAssessment;
+import com.example.insurance.entity.ClaimStatistic;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class ClaimStatisticsTrackerTest {
+
+    @Inject
+    ClaimStatisticsTracker statisticsTracker;
+
+    @Inject
+    ClaimRepository claimRepository;
+
+    @Inject
+    ClaimAssessmentRepository assessmentRepository;
+
+    @Test
+    public void testRepositoryWrites_MatchReconciledTotals() {
+        statisticsTracker.reconcile();
+        ClaimStatisticsTracker.ClaimStatistics before = statisticsTracker.snapshot();
+
+        String claimNumber = "STATS-" + UUID.randomUUID().toString().substring(0, 8);
+        Claim claim = Claim.builder()
+                .claimNumber(claimNumber)
+                .policyNumber("POL-STATS")
+                .claimType(Claim.ClaimType.THEFT)
+                .incidentDate(LocalDate.of(2024, 4, 2))
+                .claimedAmount(new BigDecimal("20000.00"))
+                .description("Statistics test claim")
+                .status(Claim.ClaimStatus.UNDER_REVIEW)
+                .priority(Claim.ClaimPriority.HIGH)
+                .build();
+        ClaimAssessment assessment = ClaimAssessment.builder()
+                .claimNumber(claimNumber)
+                .assessorId("ASSESSOR-STATS")
+                .approvedAmount(new BigDecimal("15000.00"))
+                .riskScore(80)
+                .fraudFlag(true)
+                .assessmentNotes("Statistics test assessment")
+                .processingTimeMs(120)
+                .build();
+        claimRepository.createOrUpdate(claim);
+        assessmentRepository.create(assessment);
+
+        ClaimStatisticsTracker.ClaimStatistics after = statisticsTracker.snapshot();
+        assertEquals(before.claimsByStatus().get(Claim.ClaimStatus.UNDER_REVIEW) + 1,
+                after.claimsByStatus().get(Claim.ClaimStatus.UNDER_REVIEW));
+        assertEquals(before.claimsByPriority().get(Claim.ClaimPriority.HIGH) + 1,
+                after.claimsByPriority().get(Claim.ClaimPriority.HIGH));
+        assertEquals(before.assessments() + 1, after.assessments());
+        assertEquals(before.fraudulentClaims() + 1, after.fraudulentClaims());
+        assertEquals(before.highRiskAssessments() + 1, after.highRiskAssessments());
+
+        statisticsTracker.reconcile();
+        ClaimStatisticsTracker.ClaimStatistics reconciled = statisticsTracker.snapshot();
+        assertEquals(after.claimsByStatus(), reconciled.claimsByStatus());
+        assertEquals(after.assessments(), reconciled.assessments());
+        assertEquals(after.averageRiskScore(), reconciled.averageRiskScore(), 1e-9);
+        assertEquals(assessmentRepository.count("fraudFlag", true), reconciled.fraudulentClaims());
+        assertEquals(assessmentRepository.count("riskScore >= ?1", ClaimStatisticsTracker.HIGH_RISK_THRESHOLD),
+                reconciled.highRiskAssessments());
+        assertEquals(after.averageProcessingTimeMs(), reconciled.averageProcessingTimeMs(), 1e-9);
+    }
+
+    @Test
+    public void testRecordVerdictChange_MovesFraudAndHighRiskCounts() {
+        ClaimStatisticsTracker.ClaimStatistics before = statisticsTracker.snapshot();
+
+        statisticsTracker.recordVerdictChange(30, false, 75, true);
+
+        ClaimStatisticsTracker.ClaimStatistics after = statisticsTracker.snapshot();
+        assertEquals(before.fraudulentClaims() + 1, after.fraudulentClaims());
+        assertEquals(before.highRiskAssessments() + 1, after.highRiskAssessments());
+        statisticsTracker.reconcile();
+    }
+
+    @Test
+    public void testUpdateClaimStatus_MovesStatusCount() {
+        Claim claim = storeClaim(Claim.ClaimStatus.SUBMITTED);
+        ClaimStatisticsTracker.ClaimStatistics before = statisticsTracker.snapshot();
+
+        assertTrue(claimRepository.updateClaimStatus(claim.getClaimNumber(), Claim.ClaimStatus.APPROVED));
+        assertTrue(claimRepository.updateClaimPriority(claim.getClaimNumber(), Claim.ClaimPriority.URGENT));
+
+        ClaimStatisticsTracker.ClaimStatistics after = statisticsTracker.snapshot();
+        assertEquals(before.claimsByStatus().get(Claim.ClaimStatus.SUBMITTED) - 1,
+                after.claimsByStatus().get(Claim.ClaimStatus.SUBMITTED));
+        assertEquals(before.claimsByStatus().get(Claim.ClaimStatus.APPROVED) + 1,
+                after.claimsByStatus().get(Claim.ClaimStatus.APPROVED));
+        assertEquals(before.claimsByPriority().get(Claim.ClaimPriority.NORMAL) - 1,
+                after.claimsByPriority().get(Claim.ClaimPriority.NORMAL));
+        assertEquals(before.claimsByPriority().get(Claim.ClaimPriority.URGENT) + 1,
+                after.claimsByPriority().get(Claim.ClaimPriority.URGENT));
+
+        statisticsTracker.reconcile();
+        assertEquals(after.claimsByStatus(), statisticsTracker.snapshot().claimsByStatus());
+        assertEquals(after.claimsByPriority(), statisticsTracker.snapshot().claimsByPriority());
+    }
+
+    @Test
+    public void testDeleteAssessment_UncountsAssessment() {
+        Claim claim = storeClaim(Claim.ClaimStatus.UNDER_REVIEW);
+        ClaimAssessment assessment = ClaimAssessment.builder()
+                .claimNumber(claim.getClaimNumber())
+                .assessorId("ASSESSOR-STATS")
+                .approvedAmount(new BigDecimal("1000.00"))
+                .riskScore(90)
+                .fraudFlag(true)
+                .assessmentNotes("Statistics delete test assessment")
+                .processingTimeMs(300)
+                .build();
+        assessmentRepository.create(assessment);
+        statisticsTracker.reconcile();
+        ClaimStatisticsTracker.ClaimStatistics before = statisticsTracker.snapshot();
+
+        assertTrue(assessmentRepository.deleteByClaimNumber(claim.getClaimNumber()));
+
+        ClaimStatisticsTracker.ClaimStatistics after = statisticsTracker.snapshot();
+        assertEquals(before.assessments() - 1, after.assessments());
+        assertEquals(before.fraudulentClaims() - 1, after.fraudulentClaims());
+        assertEquals(before.highRiskAssessments() - 1, after.highRiskAssessments());
+
+        statisticsTracker.reconcile();
+        ClaimStatisticsTracker.ClaimStatistics reconciled = statisticsTracker.snapshot();
+        assertEquals(after.assessments(), reconciled.assessments());
+        assertEquals(after.fraudulentClaims(), reconciled.fraudulentClaims());
+        assertEquals(after.averageRiskScore(), reconciled.averageRiskScore(), 1e-9);
+        assertEquals(after.averageProcessingTimeMs(), reconciled.averageProcessingTimeMs(), 1e-9);
+    }
+
+    @Test
+    public void testCreateOrUpdate_MovesReplacedVerdict() {
+        Claim claim = storeClaim(Claim.ClaimStatus.UNDER_REVIEW);
+        ClaimAssessment assessment = ClaimAssessment.builder()
+                .claimNumber(claim.getClaimNumber())
+                .assessorId("ASSESSOR-STATS")
+                .approvedAmount(new BigDecimal("2000.00"))
+                .riskScore(20)
+                .fraudFlag(false)
+                .assessmentNotes("Statistics update test assessment")
+                .processingTimeMs(150)
+                .build();
+        assessmentRepository.createOrUpdate(assessment);
+        ClaimStatisticsTracker.ClaimStatistics before = statisticsTracker.snapshot();
+
+        assessment.setRiskScore(85);
+        assessment.setFraudFlag(true);
+        assessmentRepository.createOrUpdate(assessment);
+
+        ClaimStatisticsTracker.ClaimStatistics after = statisticsTracker.snapshot();
+        assertEquals(before.assessments(), after.assessments());
+        assertEquals(before.fraudulentClaims() + 1, after.fraudulentClaims());
+        assertEquals(before.highRiskAssessments() + 1, after.highRiskAssessments());
+
+        statisticsTracker.reconcile();
+        assertEquals(after.fraudulentClaims(), statisticsTracker.snapshot().fraudulentClaims());
+        assertEquals(after.highRiskAssessments(), statisticsTracker.snapshot().highRiskAssessments());
+    }
+
+    @Test
+    public void testSnapshot_IncludesDeltasAddedByOtherInstances() {
+        ClaimStatisticsTracker.ClaimStatistics before = statisticsTracker.snapshot();
+
+        QuarkusTransaction.requiringNew().run(() -> ClaimStatistic.update(
+                "statValue = statValue + 3 WHERE statKey = ?1", "assessments.count"));
+
+        statisticsTracker.checkpoint();
+        assertEquals(before.assessments() + 3, statisticsTracker.snapshot().assessments());
+        statisticsTracker.reconcile();
+        assertEquals(assessmentRepository.count(), statisticsTracker.snapshot().assessments());
+    }
+
+    @Test
+    public void testCheckpoint_SavesChangesToCounterTable() {
+        statisticsTracker.checkpoint();
+        long stored = storedCounter("assessments.fraudulent");
+
+        statisticsTracker.recordVerdictChange(20, false, 30, true);
+
+        statisticsTracker.checkpoint();
+        assertEquals(stored + 1, storedCounter("assessments.fraudulent"));
+        statisticsTracker.reconcile();
+    }
+
+    @Test
+    public void testRecordStored_RolledBackWithItsTransaction() {
+        ClaimStatisticsTracker.ClaimStatistics before = statisticsTracker.snapshot();
+
+        assertThrows(IllegalStateException.class, () -> QuarkusTransaction.requiringNew().run(() -> {
+            statisticsTracker.recordVerdictChange(10, false, 90, true);
+            throw new IllegalStateException("Write failed");
+        }));
+
+        assertEquals(before.fraudulentClaims(), statisticsTracker.snapshot().fraudulentClaims());
+    }
+
+    private Claim storeClaim(Claim.ClaimStatus status) {
+        Claim claim = Claim.builder()
+                .claimNumber("STATS-" + UUID.randomUUID().toString().substring(0, 8))
+                .policyNumber("POL-STATS")
+                .claimType(Claim.ClaimType.ACCIDENT)
+                .incidentDate(LocalDate.of(2024, 5, 6))
+                .claimedAmount(new BigDecimal("3000.00"))
+                .description("Statistics update test claim")
+                .status(status)
+                .priority(Claim.ClaimPriority.NORMAL)
+                .build();
+        claimRepository.createOrUpdate(claim);
+        return claim;
+    }
+
+    private static long storedCounter(String key) {
+        return QuarkusTransaction.requiringNew().call(() -> ClaimStatistic.<ClaimStatistic>findById(key).getStatValue());
+    }
+}
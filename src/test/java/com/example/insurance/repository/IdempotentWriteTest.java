@@ -0,0 +1,185 @@
+package com.example.insurance.repository;
+
+import com.example.insurance.entity.Claim;
+import com.example.insurance.entity.ClaimAssessment;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The native insert-if-absent statements and the write-behind writer against the partitioned
+ * PostgreSQL schema, where claim numbers are kept unique by claim_registry rather than by a constraint.
+ */
+@QuarkusTest
+@TestProfile(PostgresTestProfile.class)
+@EnabledIfSystemProperty(named = "claims.test.postgres", matches = "true")
+public class IdempotentWriteTest {
+
+    private static final String POLICY_NUMBER = "POL-IDEMPOTENT";
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    ClaimRepository claimRepository;
+
+    @Inject
+    ClaimAssessmentRepository assessmentRepository;
+
+    @Inject
+    ClaimBatchWriter batchWriter;
+
+    @Inject
+    ClaimBulkLoader bulkLoader;
+
+    @BeforeEach
+    void createPolicy() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO policyholders (policyholder_id, name, email)
+                    VALUES ('PH-IDEMPOTENT', 'Idempotent Writer', 'idempotent@writes.test')
+                    ON CONFLICT DO NOTHING
+                    """);
+            statement.execute("""
+                    INSERT INTO insurance_policies (policy_number, policyholder_id, policy_type, coverage_amount,
+                                                    premium_amount, start_date, end_date)
+                    VALUES ('%s', 'PH-IDEMPOTENT', 'AUTO', 100000, 100, CURRENT_DATE - 365, CURRENT_DATE + 365)
+                    ON CONFLICT DO NOTHING
+                    """.formatted(POLICY_NUMBER));
+        }
+    }
+
+    @Test
+    public void testClaimInsertIfAbsent_ClaimNumbersStayUniqueAcrossPartitions() {
+        String claimNumber = newClaimNumber();
+
+        assertTrue(claimRepository.insertIfAbsent(buildClaim(claimNumber, LocalDateTime.of(2023, 3, 10, 12, 0))));
+        assertFalse(claimRepository.insertIfAbsent(buildClaim(claimNumber, LocalDateTime.of(2023, 9, 10, 12, 0))));
+        assertEquals(1, claimRepository.find("claimNumber", claimNumber).count());
+    }
+
+    @Test
+    public void testAssessmentInsertIfAbsent_OneAssessmentPerClaim() {
+        String claimNumber = newClaimNumber();
+        assertTrue(claimRepository.insertIfAbsent(buildClaim(claimNumber, LocalDateTime.now())));
+
+        assertTrue(assessmentRepository.insertIfAbsent(buildAssessment(claimNumber, "800.00")));
+        assertFalse(assessmentRepository.insertIfAbsent(buildAssessment(claimNumber, "900.00")));
+
+        assertEquals(1, assessmentRepository.find("claimNumber", claimNumber).count());
+        assertEquals(new BigDecimal("800.00"), assessmentRepository.findByClaimNumber(claimNumber).orElseThrow().getApprovedAmount());
+    }
+
+    @Test
+    public void testAssessmentInsertIfAbsent_UnknownClaimIsRejected() {
+        assertThrows(RuntimeException.class, () -> assessmentRepository.insertIfAbsent(buildAssessment(newClaimNumber(), "800.00")));
+    }
+
+    @Test
+    public void testConcurrentWriters_StoreEachClaimOnce() throws Exception {
+        // The batch writer checks for stored claims before inserting, so writers racing on the same claim
+        // number hit the registry's unique violation; every writer must still report true or false
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int round = 0; round < 20; round++) {
+                String claimNumber = newClaimNumber();
+                List<CompletableFuture<Boolean>> writes = new ArrayList<>();
+                for (int writer = 0; writer < 8; writer++) {
+                    boolean viaBatchWriter = writer % 2 == 0;
+                    writes.add(CompletableFuture.supplyAsync(() -> viaBatchWriter ?
+                            batchWriter.write(buildClaim(claimNumber, LocalDateTime.now()), buildAssessment(claimNumber, "800.00")) :
+                            CompletableFuture.completedFuture(claimRepository.insertIfAbsent(buildClaim(claimNumber, LocalDateTime.now()))),
+                            executor).thenCompose(write -> write));
+                }
+
+                long inserted = 0;
+                for (CompletableFuture<Boolean> write : writes) {
+                    if (write.get(10, TimeUnit.SECONDS)) {
+                        inserted++;
+                    }
+                }
+                assertEquals(1, inserted, "Exactly one writer should store " + claimNumber);
+                assertEquals(1, claimRepository.find("claimNumber", claimNumber).count());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBulkLoad_RedeliveredBatchStoresOnlyMissingClaims() {
+        String first = newClaimNumber();
+        String second = newClaimNumber();
+        LocalDateTime filedAt = LocalDateTime.of(2022, 11, 3, 14, 30);
+        assertTrue(claimRepository.insertIfAbsent(buildClaim(first, filedAt)));
+
+        ClaimBulkLoader.BulkLoadResult result = bulkLoader.copyClaimsWithAssessments(
+                List.of(buildClaim(first, filedAt), buildClaim(second, filedAt), buildClaim(second, filedAt)),
+                List.of(buildAssessment(first, "800.00"), buildAssessment(second, "700.00"), buildAssessment(second, "600.00")));
+
+        assertEquals(Set.of(second), result.storedClaimNumbers());
+        assertEquals(1, result.claims());
+        assertEquals(1, result.assessments());
+        assertFalse(assessmentRepository.findByClaimNumber(first).isPresent());
+        assertEquals(filedAt, claimRepository.findByClaimNumber(second).orElseThrow().getClaimDate());
+
+        ClaimBulkLoader.BulkLoadResult redelivered = bulkLoader.copyClaimsWithAssessments(
+                List.of(buildClaim(second, filedAt)), List.of(buildAssessment(second, "700.00")));
+        assertTrue(redelivered.storedClaimNumbers().isEmpty());
+        assertEquals(1, claimRepository.find("claimNumber", second).count());
+        assertEquals(1, assessmentRepository.find("claimNumber", second).count());
+    }
+
+    private static String newClaimNumber() {
+        return "CLM-IDEM-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static Claim buildClaim(String claimNumber, LocalDateTime claimDate) {
+        return Claim.builder()
+                .claimNumber(claimNumber)
+                .policyNumber(POLICY_NUMBER)
+                .claimType(Claim.ClaimType.ACCIDENT)
+                .incidentDate(LocalDate.of(2023, 1, 1))
+                .claimDate(claimDate)
+                .claimedAmount(new BigDecimal("1000.00"))
+                .description("Idempotent write test claim")
+                .status(Claim.ClaimStatus.SUBMITTED)
+                .priority(Claim.ClaimPriority.NORMAL)
+                .build();
+    }
+
+    private static ClaimAssessment buildAssessment(String claimNumber, String approvedAmount) {
+        return ClaimAssessment.builder()
+                .claimNumber(claimNumber)
+                .assessorId("IDEMPOTENT_ASSESSOR")
+                .assessmentDate(LocalDateTime.now())
+                .approvedAmount(new BigDecimal(approvedAmount))
+                .riskScore(20)
+                .fraudFlag(false)
+                .assessmentNotes("Idempotent write test assessment")
+                .processingTimeMs(5)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
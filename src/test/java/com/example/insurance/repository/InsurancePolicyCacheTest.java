@@ -0,0 +1,101 @@
+package com.example.insurance.repository;
+
+import com.example.insurance.entity.InsurancePolicy;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class InsurancePolicyCacheTest {
+
+    @Inject
+    InsurancePolicyCache policyCache;
+
+    @Inject
+    InsurancePolicyRepository policyRepository;
+
+    private String policyNumber;
+
+    @BeforeEach
+    void setUp() {
+        policyNumber = "POL-CACHE-" + UUID.randomUUID().toString().substring(0, 8);
+        policyRepository.createOrUpdate(InsurancePolicy.builder()
+                .policyNumber(policyNumber)
+                .policyholderId("PH-CACHE")
+                .policyType(InsurancePolicy.PolicyType.AUTO)
+                .coverageAmount(new BigDecimal("75000.00"))
+                .premiumAmount(new BigDecimal("180.00"))
+                .currency("USD")
+                .startDate(LocalDate.now().minusMonths(1))
+                .endDate(LocalDate.now().plusYears(1))
+                .status(InsurancePolicy.PolicyStatus.ACTIVE)
+                .build());
+    }
+
+    @Test
+    public void testGet_SecondLookupIsServedFromCache() {
+        long hitsBefore = policyCache.stats().hits();
+
+        assertTrue(policyCache.get(policyNumber).isPresent());
+        assertTrue(policyCache.get(policyNumber).isPresent());
+
+        assertEquals(hitsBefore + 1, policyCache.stats().hits());
+        assertTrue(policyCache.hitRate() > 0.0);
+    }
+
+    @Test
+    public void testGet_UnknownPolicyIsEmpty() {
+        assertFalse(policyCache.get("POL-CACHE-MISSING").isPresent());
+        assertFalse(policyCache.exists("POL-CACHE-MISSING"));
+    }
+
+    @Test
+    public void testGet_LoadsOnThreadWithoutRequestContext() throws Exception {
+        // Pipeline stages run on plain platform threads with neither a transaction nor a request context
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Optional<InsurancePolicy> policy = CompletableFuture
+                    .supplyAsync(() -> policyCache.get(policyNumber), executor)
+                    .get();
+
+            assertTrue(policy.isPresent());
+            assertEquals(policyNumber, policy.get().getPolicyNumber());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUpdatePolicyStatus_InvalidatesCachedPolicy() {
+        assertEquals(InsurancePolicy.PolicyStatus.ACTIVE, policyCache.get(policyNumber).orElseThrow().getStatus());
+
+        policyRepository.updatePolicyStatus(policyNumber, InsurancePolicy.PolicyStatus.SUSPENDED);
+
+        Optional<InsurancePolicy> reloaded = policyCache.get(policyNumber);
+        assertTrue(reloaded.isPresent());
+        assertEquals(InsurancePolicy.PolicyStatus.SUSPENDED, reloaded.get().getStatus());
+    }
+
+    @Test
+    public void testGet_ReturnsCopiesCallersCannotShare() {
+        InsurancePolicy first = policyCache.get(policyNumber).orElseThrow();
+        first.setStatus(InsurancePolicy.PolicyStatus.CANCELLED);
+
+        InsurancePolicy second = policyCache.get(policyNumber).orElseThrow();
+        assertNotSame(first, second);
+        assertEquals(InsurancePolicy.PolicyStatus.ACTIVE, second.getStatus());
+        assertEquals(InsurancePolicy.PolicyStatus.ACTIVE,
+                policyRepository.findByPolicyNumber(policyNumber).orElseThrow().getStatus());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.insurance.repository;
+
+import com.example.insurance.entity.Claim;
+import com.example.insurance.entity.ClaimAssessment;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class PolicyExposureTrackerTest {
+
+    private static final BigDecimal COVERAGE = new BigDecimal("10000.00");
+
+    @Inject
+    PolicyExposureTracker exposureTracker;
+
+    @Inject
+    ClaimRepository claimRepository;
+
+    @Inject
+    ClaimAssessmentRepository assessmentRepository;
+
+    private String policyNumber;
+
+    @BeforeEach
+    void setUp() {
+        policyNumber = "POL-EXP-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    public void testReserve_CapsApprovalAtRemainingCoverage() {
+        assertEquals(new BigDecimal("8000.00"),
+                exposureTracker.reserve(policyNumber, newClaimNumber(), COVERAGE, new BigDecimal("9000.00"), new BigDecimal("8000.00")));
+        assertEquals(new BigDecimal("2000.00"),
+                exposureTracker.reserve(policyNumber, newClaimNumber(), COVERAGE, new BigDecimal("5000.00"), new BigDecimal("4500.00")));
+        assertEquals(new BigDecimal("0.00"),
+                exposureTracker.reserve(policyNumber, newClaimNumber(), COVERAGE, new BigDecimal("1000.00"), new BigDecimal("900.00")));
+
+        PolicyExposureTracker.PolicyExposure exposure = exposureTracker.get(policyNumber);
+        assertEquals(new BigDecimal("15000.00"), exposure.claimedAmount());
+        assertEquals(new BigDecimal("10000.00"), exposure.approvedAmount());
+        assertEquals(3, exposure.claims());
+        assertEquals(new BigDecimal("0.00"), exposureTracker.remainingCoverage(policyNumber, COVERAGE));
+    }
+
+    @Test
+    public void testRelease_RestoresCoverage() {
+        String claimNumber = newClaimNumber();
+        exposureTracker.reserve(policyNumber, claimNumber, COVERAGE, new BigDecimal("3000.00"), new BigDecimal("2550.00"));
+        exposureTracker.release(policyNumber, claimNumber);
+
+        assertEquals(COVERAGE, exposureTracker.remainingCoverage(policyNumber, COVERAGE));
+        assertEquals(0, exposureTracker.get(policyNumber).claims());
+    }
+
+    @Test
+    public void testReconcile_LoadsStoredTotals() {
+        store(newClaimNumber(), "4000.00", "3400.00");
+
+        exposureTracker.reconcile();
+
+        PolicyExposureTracker.PolicyExposure exposure = exposureTracker.get(policyNumber);
+        assertEquals(new BigDecimal("4000.00"), exposure.claimedAmount());
+        assertEquals(new BigDecimal("3400.00"), exposure.approvedAmount());
+        assertEquals(1, exposure.claims());
+    }
+
+    @Test
+    public void testReconcile_KeepsClaimsStillBeingWritten() {
+        exposureTracker.reserve(policyNumber, newClaimNumber(), COVERAGE, new BigDecimal("2000.00"), new BigDecimal("1700.00"));
+
+        exposureTracker.reconcile();
+
+        PolicyExposureTracker.PolicyExposure exposure = exposureTracker.get(policyNumber);
+        assertEquals(new BigDecimal("2000.00"), exposure.claimedAmount());
+        assertEquals(new BigDecimal("1700.00"), exposure.approvedAmount());
+        assertEquals(1, exposure.claims());
+    }
+
+    @Test
+    public void testReconcile_CountsCommittedUnconfirmedClaimOnce() {
+        // Committed by the writer but not yet confirmed by the processor when the totals are read
+        String claimNumber = newClaimNumber();
+        exposureTracker.reserve(policyNumber, claimNumber, COVERAGE, new BigDecimal("4000.00"), new BigDecimal("3400.00"));
+        store(claimNumber, "4000.00", "3400.00");
+
+        exposureTracker.reconcile();
+        exposureTracker.confirm(policyNumber, claimNumber);
+
+        PolicyExposureTracker.PolicyExposure exposure = exposureTracker.get(policyNumber);
+        assertEquals(new BigDecimal("4000.00"), exposure.claimedAmount());
+        assertEquals(new BigDecimal("3400.00"), exposure.approvedAmount());
+        assertEquals(1, exposure.claims());
+
+        exposureTracker.reconcile();
+        assertEquals(1, exposureTracker.get(policyNumber).claims());
+    }
+
+    private void store(String claimNumber, String claimedAmount, String approvedAmount) {
+        claimRepository.createOrUpdate(Claim.builder()
+                .claimNumber(claimNumber)
+                .policyNumber(policyNumber)
+                .claimType(Claim.ClaimType.ACCIDENT)
+                .incidentDate(LocalDate.now())
+                .claimedAmount(new BigDecimal(claimedAmount))
+                .description("Exposure reconciliation test claim")
+                .status(Claim.ClaimStatus.SUBMITTED)
+                .priority(Claim.ClaimPriority.NORMAL)
+                .build());
+        assessmentRepository.createOrUpdate(ClaimAssessment.builder()
+                .claimNumber(claimNumber)
+                .assessorId("EXPOSURE_ASSESSOR")
+                .approvedAmount(new BigDecimal(approvedAmount))
+                .riskScore(20)
+                .fraudFlag(false)
+                .assessmentNotes("Exposure reconciliation test assessment")
+                .processingTimeMs(5)
+                .build());
+    }
+
+    private static String newClaimNumber() {
+        return "CLM-EXP-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.insurance.repository;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.Map;
+
+/**
+ * Runs a test against a PostgreSQL Dev Services container with the schema built by the Flyway migrations,
+ * instead of the H2 database generated from the entities.
+ */
+public class PostgresTestProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+                "quarkus.datasource.db-kind", "postgresql",
+                // An empty URL lets Dev Services start the database
+                "quarkus.datasource.jdbc.url", "",
+                "quarkus.datasource.devservices.enabled", "true",
+                "quarkus.hibernate-orm.database.generation", "none",
+                "quarkus.flyway.migrate-at-start", "true",
+                "claims.partitions.enabled", "true");
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.insurance.repository;
+
+import com.example.insurance.entity.Claim;
+import com.example.insurance.entity.InsurancePolicy;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that every selective repository query is served by an index once the tables are large. Each
+ * finder is called and the SQL Hibernate issues for it is captured and explained with the same parameters.
+ * Report queries that read most of a table, such as findActivePolicies or the statistics reconciliation,
+ * are left out on purpose: a sequential scan is the right plan for them, as it is for empty partitions
+ * such as future months.
+ */
+@QuarkusTest
+@TestProfile(PostgresTestProfile.class)
+@EnabledIfSystemProperty(named = "claims.test.postgres", matches = "true")
+public class QueryPlanTest {
+
+    private static final int POLICYHOLDERS = 10_000;
+    private static final int POLICIES = 20_000;
+    private static final int CLAIMS = 200_000;
+    private static final int PAGE_SIZE = 100;
+    private static final LocalDateTime RANGE_START = LocalDateTime.of(2023, 2, 1, 0, 0);
+    private static final LocalDateTime RANGE_END = LocalDateTime.of(2023, 2, 3, 0, 0);
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    private static boolean seeded;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Inject
+    SqlCapture sqlCapture;
+
+    @Inject
+    ClaimRepository claimRepository;
+
+    @Inject
+    ClaimAssessmentRepository assessmentRepository;
+
+    @Inject
+    InsurancePolicyRepository policyRepository;
+
+    @Inject
+    PolicyholderRepository policyholderRepository;
+
+    @BeforeEach
+    void seedOnce() throws SQLException {
+        if (seeded) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            seed(statement);
+        }
+        seeded = true;
+    }
+
+    @Test
+    public void testRepositoryQueries_UseIndexesOnLargeTables() throws SQLException {
+        Map<String, RepositoryQuery> queries = new LinkedHashMap<>();
+        add(queries, "ClaimRepository.findByClaimNumber", () -> claimRepository.findByClaimNumber("CLM-P1234"), "CLM-P1234");
+        add(queries, "ClaimRepository.findByPolicyNumber", () -> claimRepository.findByPolicyNumber("POL-P77"), "POL-P77");
+        add(queries, "ClaimRepository.findByStatus", () -> claimRepository.findByStatus(Claim.ClaimStatus.UNDER_REVIEW),
+                Claim.ClaimStatus.UNDER_REVIEW);
+        add(queries, "ClaimRepository.findByStatusAndPriority",
+                () -> claimRepository.findByStatusAndPriority(Claim.ClaimStatus.SUBMITTED, Claim.ClaimPriority.URGENT),
+                Claim.ClaimStatus.SUBMITTED, Claim.ClaimPriority.URGENT);
+        add(queries, "ClaimRepository.findHighPriorityClaims", () -> claimRepository.findHighPriorityClaims(),
+                Claim.ClaimPriority.HIGH, Claim.ClaimPriority.URGENT, Claim.ClaimStatus.SUBMITTED, Claim.ClaimStatus.UNDER_REVIEW);
+        add(queries, "ClaimRepository.findPendingClaims", () -> claimRepository.findPendingClaims(),
+                Claim.ClaimStatus.SUBMITTED, Claim.ClaimStatus.UNDER_REVIEW);
+        add(queries, "ClaimRepository.findPendingClaimsPage", () -> claimRepository.findPendingClaimsPage(1000L, PAGE_SIZE),
+                Claim.ClaimStatus.SUBMITTED, Claim.ClaimStatus.UNDER_REVIEW, 1000L);
+        add(queries, "ClaimRepository.findByStatusPage",
+                () -> claimRepository.findByStatusPage(Claim.ClaimStatus.SUBMITTED, 1000L, PAGE_SIZE),
+                Claim.ClaimStatus.SUBMITTED, 1000L);
+        add(queries, "ClaimRepository.findClaimsByDateRange", () -> claimRepository.findClaimsByDateRange(RANGE_START, RANGE_END),
+                RANGE_START, RANGE_END);
+
+        add(queries, "ClaimAssessmentRepository.findByClaimNumber", () -> assessmentRepository.findByClaimNumber("CLM-P1234"),
+                "CLM-P1234");
+        add(queries, "ClaimAssessmentRepository.findByAssessorId", () -> assessmentRepository.findByAssessorId("ASSESSOR-7"),
+                "ASSESSOR-7");
+        add(queries, "ClaimAssessmentRepository.findFraudulentClaims", () -> assessmentRepository.findFraudulentClaims());
+        add(queries, "ClaimAssessmentRepository.findByFraudFlagPage",
+                () -> assessmentRepository.findByFraudFlagPage(true, 1000L, PAGE_SIZE), true, 1000L);
+        add(queries, "ClaimAssessmentRepository.findByRiskScoreRange", () -> assessmentRepository.findByRiskScoreRange(97, 99),
+                97, 99);
+        add(queries, "ClaimAssessmentRepository.findHighRiskClaims", () -> assessmentRepository.findHighRiskClaims(98), 98);
+        add(queries, "ClaimAssessmentRepository.findByDateRange", () -> assessmentRepository.findByDateRange(RANGE_START, RANGE_END),
+                RANGE_START, RANGE_END);
+
+        add(queries, "InsurancePolicyRepository.findByPolicyNumber", () -> policyRepository.findByPolicyNumber("POL-P77"),
+                "POL-P77");
+        add(queries, "InsurancePolicyRepository.findByPolicyholderId", () -> policyRepository.findByPolicyholderId("PH-P42"),
+                "PH-P42");
+        add(queries, "InsurancePolicyRepository.findActivePoliciesByPolicyholder",
+                () -> policyRepository.findActivePoliciesByPolicyholder("PH-P42"), "PH-P42", InsurancePolicy.PolicyStatus.ACTIVE);
+        // The repository computes the cutoff from today, as this does
+        add(queries, "InsurancePolicyRepository.findExpiringPolicies", () -> policyRepository.findExpiringPolicies(30),
+                LocalDate.now().plusDays(30), InsurancePolicy.PolicyStatus.ACTIVE);
+
+        add(queries, "PolicyholderRepository.findByPolicyholderId", () -> policyholderRepository.findByPolicyholderId("PH-P42"),
+                "PH-P42");
+        add(queries, "PolicyholderRepository.findByEmail", () -> policyholderRepository.findByEmail("p42@plan.test"),
+                "p42@plan.test");
+
+        try (Connection connection = dataSource.getConnection()) {
+            List<String> sequentialScans = new ArrayList<>();
+            for (Map.Entry<String, RepositoryQuery> query : queries.entrySet()) {
+                String plan = explain(connection, query.getKey(), query.getValue());
+                if (scansNonEmptyTable(connection, plan)) {
+                    sequentialScans.add(query.getKey() + ":\n" + plan);
+                }
+            }
+
+            assertTrue(sequentialScans.isEmpty(), "Queries planned with a sequential scan:\n" + String.join("\n", sequentialScans));
+        }
+    }
+
+    @Test
+    public void testDateRangeQueries_OnlyScanTheirMonths() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            String claimsPlan = explain(connection, "ClaimRepository.findClaimsByDateRange", new RepositoryQuery(
+                    () -> claimRepository.findClaimsByDateRange(RANGE_START, RANGE_END), List.of(RANGE_START, RANGE_END)));
+            String assessmentsPlan = explain(connection, "ClaimAssessmentRepository.findByDateRange", new RepositoryQuery(
+                    () -> assessmentRepository.findByDateRange(RANGE_START, RANGE_END), List.of(RANGE_START, RANGE_END)));
+
+            assertTrue(claimsPlan.contains("claims_p2023_02"), claimsPlan);
+            assertFalse(claimsPlan.contains("claims_p2023_03") || claimsPlan.contains("claims_default"), claimsPlan);
+            assertTrue(assessmentsPlan.contains("claim_assessments_p2023_02"), assessmentsPlan);
+            assertFalse(assessmentsPlan.contains("claim_assessments_p2023_03"), assessmentsPlan);
+        }
+    }
+
+    /**
+     * A repository call and the values it binds, in the order they appear in the query.
+     */
+    private record RepositoryQuery(Runnable call, List<Object> parameters) {
+    }
+
+    private static void add(Map<String, RepositoryQuery> queries, String name, Runnable call, Object... parameters) {
+        queries.put(name, new RepositoryQuery(call, List.of(parameters)));
+    }
+
+    private static boolean scansNonEmptyTable(Connection connection, String plan) throws SQLException {
+        Matcher matcher = SEQ_SCAN.matcher(plan);
+        while (matcher.find()) {
+            try (PreparedStatement rowEstimate = connection.prepareStatement("SELECT reltuples FROM pg_class WHERE relname = ?")) {
+                rowEstimate.setString(1, matcher.group(1));
+                try (ResultSet rows = rowEstimate.executeQuery()) {
+                    if (rows.next() && rows.getDouble(1) > 0) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void seed(Statement statement) throws SQLException {
+        // Monthly partitions for the seeded history, so the rows do not land in the default partitions
+        statement.execute("SELECT ensure_monthly_partitions('claims', 3, DATE '2023-01-01')");
+        statement.execute("SELECT ensure_monthly_partitions('claim_assessments', 3, DATE '2023-01-01')");
+        // Skewed like production: few pending, urgent or fraud-flagged claims, policies expiring over two years
+        statement.execute("""
+                INSERT INTO policyholders (policyholder_id, name, email, is_active)
+                SELECT 'PH-P' || g, 'Policyholder ' || g, 'p' || g || '@plan.test', g % 20 <> 0
+                FROM generate_series(1, %d) g
+                """.formatted(POLICYHOLDERS));
+        statement.execute("""
+                INSERT INTO insurance_policies (policy_number, policyholder_id, policy_type, coverage_amount, premium_amount,
+                                                start_date, end_date, status)
+                SELECT 'POL-P' || g, 'PH-P' || (g %% %d + 1), 'AUTO', 100000, 100, CURRENT_DATE - 365,
+                       CURRENT_DATE + (g %% 730), CASE WHEN g %% 10 = 0 THEN 'EXPIRED' ELSE 'ACTIVE' END
+                FROM generate_series(1, %d) g
+                """.formatted(POLICYHOLDERS, POLICIES));
+        statement.execute("""
+                INSERT INTO claims (claim_number, policy_number, claim_type, incident_date, claim_date, claimed_amount,
+                                    description, status, priority)
+                SELECT 'CLM-P' || g, 'POL-P' || (g %% %d + 1), 'ACCIDENT', DATE '2023-01-01',
+                       TIMESTAMP '2023-01-01' + g * INTERVAL '3 minutes', 1000, 'Seeded claim ' || g,
+                       CASE g %% 100 WHEN 0 THEN 'SUBMITTED' WHEN 1 THEN 'UNDER_REVIEW'
+                                     ELSE CASE WHEN g %% 2 = 0 THEN 'APPROVED' ELSE 'CLOSED' END END,
+                       CASE g %% 50 WHEN 0 THEN 'URGENT' WHEN 1 THEN 'HIGH'
+                                    ELSE CASE WHEN g %% 3 = 0 THEN 'LOW' ELSE 'NORMAL' END END
+                FROM generate_series(1, %d) g
+                """.formatted(POLICIES, CLAIMS));
+        statement.execute("""
+                INSERT INTO claim_assessments (claim_number, assessor_id, assessment_date, approved_amount, risk_score,
+                                               fraud_flag, assessment_notes, processing_time_ms)
+                SELECT 'CLM-P' || g, 'ASSESSOR-' || (g %% 500), TIMESTAMP '2023-01-01' + g * INTERVAL '3 minutes', 800,
+                       g %% 101, g %% 200 = 0, 'Seeded assessment ' || g, g %% 1000
+                FROM generate_series(1, %d) g
+                """.formatted(CLAIMS));
+        statement.execute("ANALYZE");
+    }
+
+    /**
+     * Runs the repository call and explains the one statement Hibernate issued for it. The second-level
+     * cache is cleared first so cached lookups reach the database. Parameters beyond the query's own are
+     * the offset and row limit Hibernate appends for paged and single-result queries.
+     */
+    private String explain(Connection connection, String name, RepositoryQuery query) throws SQLException {
+        sessionFactory.getCache().evictAllRegions();
+        List<String> statements = sqlCapture.capture(() -> QuarkusTransaction.requiringNew().run(query.call()));
+        assertEquals(1, statements.size(), name + " should issue one statement: " + statements);
+        String sql = statements.get(0);
+
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            int placeholders = (int) sql.chars().filter(c -> c == '?').count();
+            List<Object> parameters = query.parameters();
+            assertTrue(placeholders >= parameters.size() && placeholders <= parameters.size() + 2,
+                    name + " binds " + placeholders + " parameters: " + sql);
+            for (int i = 0; i < parameters.size(); i++) {
+                Object value = parameters.get(i);
+                explain.setObject(i + 1, value instanceof Enum<?> constant ? constant.name() : value);
+            }
+            if (placeholders == parameters.size() + 2) {
+                explain.setInt(placeholders - 1, 0);
+            }
+            if (placeholders > parameters.size()) {
+                explain.setInt(placeholders, PAGE_SIZE + 1);
+            }
+            try (ResultSet rows = explain.executeQuery()) {
+                while (rows.next()) {
+                    plan.append("  ").append(rows.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.insurance.repository;
+
+import com.example.insurance.entity.InsurancePolicy;
+import com.example.insurance.entity.Policyholder;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.NaturalIdStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class ReferenceDataCacheTest {
+
+    @Inject
+    InsurancePolicyRepository policyRepository;
+
+    @Inject
+    PolicyholderRepository policyholderRepository;
+
+    @Inject
+    InsurancePolicyCache policyCache;
+
+    @Inject
+    PolicyholderCacheExpiry cacheExpiry;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Test
+    public void testFindByPolicyholderId_RepeatLookupIsServedFromSecondLevelCache() {
+        String policyholderId = createPolicyholder().getPolicyholderId();
+        // Each lookup runs in its own transaction, so it cannot be answered by the persistence context
+        QuarkusTransaction.requiringNew().call(() -> policyholderRepository.findByPolicyholderId(policyholderId));
+
+        Statistics statistics = sessionFactory.getStatistics();
+        NaturalIdStatistics naturalIds = statistics.getNaturalIdStatistics(Policyholder.class.getName());
+        long resolutionQueries = naturalIds.getExecutionCount();
+        long naturalIdHits = naturalIds.getCacheHitCount();
+        long entityHits = statistics.getEntityStatistics(Policyholder.class.getName()).getCacheHitCount();
+
+        Optional<Policyholder> policyholder = QuarkusTransaction.requiringNew()
+                .call(() -> policyholderRepository.findByPolicyholderId(policyholderId));
+
+        assertTrue(policyholder.isPresent());
+        assertEquals(resolutionQueries, naturalIds.getExecutionCount());
+        assertTrue(naturalIds.getCacheHitCount() > naturalIdHits);
+        assertTrue(statistics.getEntityStatistics(Policyholder.class.getName()).getCacheHitCount() > entityHits);
+    }
+
+    @Test
+    public void testExpire_DropsCachedPolicyholders() {
+        Policyholder created = createPolicyholder();
+        QuarkusTransaction.requiringNew().call(() -> policyholderRepository.findByPolicyholderId(created.getPolicyholderId()));
+        assertTrue(sessionFactory.getCache().containsEntity(Policyholder.class, created.getId()));
+
+        cacheExpiry.expire();
+
+        assertFalse(sessionFactory.getCache().containsEntity(Policyholder.class, created.getId()));
+        assertTrue(QuarkusTransaction.requiringNew()
+                .call(() -> policyholderRepository.findByPolicyholderId(created.getPolicyholderId())).isPresent());
+    }
+
+    @Test
+    public void testUpdatePolicyStatus_InvalidatesPolicyLookup() {
+        String policyNumber = createPolicy();
+        InsurancePolicy cached = policyCache.get(policyNumber).orElseThrow();
+        assertEquals(InsurancePolicy.PolicyStatus.ACTIVE, cached.getStatus());
+        // Policies are cached only by the policy lookup cache
+        assertFalse(sessionFactory.getCache().containsEntity(InsurancePolicy.class, cached.getId()));
+
+        assertTrue(policyRepository.updatePolicyStatus(policyNumber, InsurancePolicy.PolicyStatus.SUSPENDED));
+
+        assertEquals(InsurancePolicy.PolicyStatus.SUSPENDED, policyCache.get(policyNumber).orElseThrow().getStatus());
+        assertFalse(policyRepository.updatePolicyStatus("POL-REF-MISSING", InsurancePolicy.PolicyStatus.SUSPENDED));
+    }
+
+    @Test
+    public void testFindByEmail_RepeatLookupIsServedFromQueryCache() {
+        Policyholder created = createPolicyholder();
+        String email = created.getEmail();
+        QuarkusTransaction.requiringNew().call(() -> policyholderRepository.findByEmail(email));
+        long queryHits = emailQueryHits();
+
+        Optional<Policyholder> policyholder = QuarkusTransaction.requiringNew().call(() -> policyholderRepository.findByEmail(email));
+
+        assertTrue(policyholder.isPresent());
+        assertEquals(created.getPolicyholderId(), policyholder.get().getPolicyholderId());
+        assertTrue(emailQueryHits() > queryHits);
+    }
+
+    @Test
+    public void testExpire_DropsCachedEmailLookups() {
+        String email = createPolicyholder().getEmail();
+        QuarkusTransaction.requiringNew().call(() -> policyholderRepository.findByEmail(email));
+
+        cacheExpiry.expire();
+        long queryHits = emailQueryHits();
+        QuarkusTransaction.requiringNew().call(() -> policyholderRepository.findByEmail(email));
+
+        assertEquals(queryHits, emailQueryHits(), "The email lookup should be read from the database after expiry");
+    }
+
+    private long emailQueryHits() {
+        return sessionFactory.getStatistics().getQueryRegionStatistics(PolicyholderRepository.EMAIL_QUERY_REGION).getHitCount();
+    }
+
+    private Policyholder createPolicyholder() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return policyholderRepository.createOrUpdate(Policyholder.builder()
+                .policyholderId("PH-REF-" + suffix)
+                .name("Reference Cache")
+                .email("ref-" + suffix + "@example.com")
+                .isActive(true)
+                .build());
+    }
+
+    private String createPolicy() {
+        String policyNumber = "POL-REF-" + UUID.randomUUID().toString().substring(0, 8);
+        policyRepository.createOrUpdate(InsurancePolicy.builder()
+                .policyNumber(policyNumber)
+                .policyholderId("PH-REF")
+                .policyType(InsurancePolicy.PolicyType.AUTO)
+                .coverageAmount(new BigDecimal("75000.00"))
+                .premiumAmount(new BigDecimal("180.00"))
+                .currency("USD")
+                .startDate(LocalDate.now().minusMonths(1))
+                .endDate(LocalDate.now().plusYears(1))
+                .status(InsurancePolicy.PolicyStatus.ACTIVE)
+                .build());
+        return policyNumber;
+    }
+}
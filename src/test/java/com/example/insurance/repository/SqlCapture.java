@@ -0,0 +1,39 @@
+package com.example.insurance.repository;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL Hibernate prepares on the current thread while {@link #capture} runs, so a test can
+ * check the statements the repositories actually issue. Outside a capture the SQL passes through untouched.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class SqlCapture implements StatementInspector {
+
+    private final ThreadLocal<List<String>> captured = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = captured.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public List<String> capture(Runnable work) {
+        List<String> statements = new ArrayList<>();
+        captured.set(statements);
+        try {
+            work.run();
+        } finally {
+            captured.remove();
+        }
+        return statements;
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.insurance.rest;
 
 import com.example.insurance.dto.ClaimSubmission;
+import com.example.insurance.service.ClaimPipelineState;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,11 +18,15 @@ import static org.hamcrest.Matchers.*;
 @QuarkusTest
 public class ClaimSubmissionResourceTest {
 
+    @Inject
+    ClaimPipelineState pipelineState;
+
     private ClaimSubmission validClaimSubmission;
     private ClaimSubmission urgentClaimSubmission;
 
     @BeforeEach
     void setUp() {
+        pipelineState.clear();
         validClaimSubmission = new ClaimSubmission();
         validClaimSubmission.setClaimNumber("TEST-REST-001");
         validClaimSubmission.setPolicyNumber("POL-REST-001");
@@ -84,6 +90,28 @@ public class ClaimSubmissionResourceTest {
             .body("timestamp", notNullValue());
     }
 
+    @Test
+    public void testGetPendingClaims_ReturnsKeysetPage() {
+        given()
+        .when()
+            .get("/api/claims/pending?size=5")
+        .then()
+            .statusCode(200)
+            .contentType(ContentType.JSON)
+            .body("success", equalTo(true))
+            .body("data.items.size()", lessThanOrEqualTo(5))
+            .body("data.items.description", everyItem(nullValue()));
+    }
+
+    @Test
+    public void testGetPendingClaims_RejectsOversizedPage() {
+        given()
+        .when()
+            .get("/api/claims/pending?size=10000")
+        .then()
+            .statusCode(400);
+    }
+
     @Test
     public void testSubmitClaim_InvalidRequest_MissingRequiredFields() {
         ClaimSubmission invalidClaim = new ClaimSubmission();
@@ -0,0 +1,51 @@
+package com.example.insurance.rules;
+
+import com.example.insurance.entity.Claim;
+import com.example.insurance.util.Money;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class AssessmentRuleEngineTest {
+
+    @Inject
+    AssessmentRuleEngine ruleEngine;
+
+    @Test
+    public void testCurrent_LoadsBundledRules() {
+        AssessmentRules rules = ruleEngine.current();
+
+        assertEquals("2024.1", rules.version());
+        assertEquals(8500, rules.approvalBasisPoints(Claim.ClaimType.ACCIDENT));
+        assertEquals(15, rules.claimTypeRiskPoints(Claim.ClaimType.THEFT));
+        assertEquals(0, rules.claimTypeRiskPoints(Claim.ClaimType.ILLNESS));
+        assertTrue(rules.isFraudulent(10, Money.of(new BigDecimal("60000.00"))));
+        assertFalse(rules.isFraudulent(70, Money.of(new BigDecimal("5000.00"))));
+    }
+
+    @Test
+    public void testReload_KeepsVersionFromSameSource() {
+        String version = ruleEngine.current().version();
+
+        assertEquals(version, ruleEngine.reload().version());
+        assertEquals(version, ruleEngine.current().version());
+    }
+
+    @Test
+    public void testCompile_RejectsMissingMultiplier() {
+        Map<Claim.ClaimType, BigDecimal> multipliers = new EnumMap<>(Claim.ClaimType.class);
+        multipliers.put(Claim.ClaimType.ACCIDENT, new BigDecimal("0.85"));
+
+        RuleTableDefinition incomplete = new RuleTableDefinition("broken", multipliers, Map.of(),
+                10, 50, 100, new BigDecimal("10000"), 20, 70, new BigDecimal("50000"), new BigDecimal("0.9"), 15, null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> AssessmentRules.compile(incomplete));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.insurance.scoring;
+
+import com.example.insurance.scoring.RiskModelDefinition.TreeNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RiskModelTest {
+
+    @Test
+    public void testLogisticRegression_WeighsNamedFeatures() {
+        RiskModel model = LogisticRegressionModel.compile(new RiskModelDefinition(LogisticRegressionModel.TYPE, "lr-1",
+                -1.0, Map.of("claimed_amount_log", 0.5, "incident_age_log", 2.0), 0, null));
+
+        double[] features = new double[RiskFeature.COUNT];
+        features[RiskFeature.CLAIMED_AMOUNT_LOG.ordinal()] = 2.0;
+        assertEquals(0.5, model.score(features), 1e-12);
+
+        features[RiskFeature.INCIDENT_AGE_LOG.ordinal()] = 1.0;
+        assertEquals(RiskModel.sigmoid(2.0), model.score(features), 1e-12);
+    }
+
+    @Test
+    public void testGradientBoostedTrees_ParsesXgboostStyleDump() throws Exception {
+        String dump = """
+            {
+              "type": "gradient-boosted-trees",
+              "version": "gbt-1",
+              "baseMargin": 0.0,
+              "trees": [
+                {"nodeid": 0, "depth": 0, "split": "incident_age_log", "split_condition": 3.5, "yes": 1, "no": 2, "missing": 1,
+                 "children": [
+                   {"nodeid": 1, "leaf": -1.0},
+                   {"nodeid": 2, "depth": 1, "split": "claimed_amount_log", "split_condition": 9.0, "yes": 3, "no": 4,
+                    "children": [{"nodeid": 3, "leaf": 0.5}, {"nodeid": 4, "leaf": 1.5}]}
+                 ]},
+                {"nodeid": 0, "leaf": 0.25}
+              ]
+            }
+            """;
+        GradientBoostedTreesModel model = GradientBoostedTreesModel.compile(
+                new ObjectMapper().readValue(dump, RiskModelDefinition.class));
+
+        assertEquals(2, model.treeCount());
+        assertEquals(6, model.nodeCount());
+
+        double[] features = new double[RiskFeature.COUNT];
+        assertEquals(RiskModel.sigmoid(-0.75), model.score(features), 1e-12);
+
+        features[RiskFeature.INCIDENT_AGE_LOG.ordinal()] = 5;
+        features[RiskFeature.CLAIMED_AMOUNT_LOG.ordinal()] = 10;
+        assertEquals(RiskModel.sigmoid(1.75), model.score(features), 1e-12);
+    }
+
+    @Test
+    public void testGradientBoostedTrees_RejectsDanglingChild() {
+        TreeNode root = new TreeNode(0, "priority", 1.0, 1, 7, null, List.of(new TreeNode(1, null, null, null, null, 0.1, null)));
+        RiskModelDefinition definition = new RiskModelDefinition(GradientBoostedTreesModel.TYPE, "broken", 0, null, 0, List.of(root));
+
+        assertThrows(IllegalArgumentException.class, () -> GradientBoostedTreesModel.compile(definition));
+    }
+
+    @Test
+    public void testCompile_RejectsUnknownFeature() {
+        RiskModelDefinition definition = new RiskModelDefinition(LogisticRegressionModel.TYPE, "broken",
+                0, Map.of("shoe_size", 1.0), 0, null);
+
+        assertThrows(IllegalArgumentException.class, () -> LogisticRegressionModel.compile(definition));
+    }
+
+    @Test
+    public void testBundledModel_Compiles() throws Exception {
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream("risk-model.json")) {
+            RiskModelDefinition definition = new ObjectMapper().readValue(input, RiskModelDefinition.class);
+            assertEquals(LogisticRegressionModel.TYPE, definition.type());
+            assertNotNull(LogisticRegressionModel.compile(definition).version());
+        }
+    }
+}
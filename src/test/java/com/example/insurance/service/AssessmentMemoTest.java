@@ -0,0 +1,125 @@
+package com.example.insurance.service;
+
+import com.example.insurance.dto.ClaimSubmission;
+import com.example.insurance.entity.Claim;
+import com.example.insurance.entity.ClaimAssessment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AssessmentMemoTest {
+
+    private AssessmentMemo memo;
+
+    @BeforeEach
+    void setUp() {
+        memo = new AssessmentMemo();
+        memo.enabled = true;
+        memo.ttlSeconds = 3600;
+        memo.maxSize = 100;
+    }
+
+    @Test
+    public void testContentHash_IgnoresClaimNumberAndFormatting() {
+        ClaimSubmission original = buildSubmission("CLM-MEMO-001", "Car  accident claim", "5000.00");
+        ClaimSubmission retry = buildSubmission("CLM-MEMO-002", " car accident CLAIM ", "5000.0");
+
+        assertEquals(ClaimContentHash.of(original), ClaimContentHash.of(retry));
+        assertNotEquals(ClaimContentHash.of(original), ClaimContentHash.of(buildSubmission("CLM-MEMO-003", "Car accident claim", "5000.01")));
+    }
+
+    @Test
+    public void testFind_ReturnsOriginalClaimForRepeat() {
+        String hash = ClaimContentHash.of(buildSubmission("CLM-MEMO-001", "Car accident claim", "5000.00"));
+        memo.remember(hash, "2024.1/lr", remembered("CLM-MEMO-001"));
+
+        Optional<AssessmentMemo.RememberedAssessment> previous = memo.find(hash, "CLM-MEMO-002", "2024.1/lr");
+
+        assertTrue(previous.isPresent());
+        assertEquals("CLM-MEMO-001", previous.get().claimNumber());
+        assertEquals(32, previous.get().riskScore());
+        assertFalse(previous.get().fraudFlag());
+    }
+
+    @Test
+    public void testFind_MissesForRedeliveryAndNewRules() {
+        String hash = ClaimContentHash.of(buildSubmission("CLM-MEMO-001", "Car accident claim", "5000.00"));
+        memo.remember(hash, "2024.1/lr", remembered("CLM-MEMO-001"));
+
+        assertTrue(memo.find(hash, "CLM-MEMO-001", "2024.1/lr").isEmpty(), "A redelivery is not a repeat");
+        assertTrue(memo.find(hash, "CLM-MEMO-002", "2024.2/lr").isEmpty(), "Results from older rules must not be reused");
+    }
+
+    @Test
+    public void testRefine_ReplacesVerdictOfSameClaimOnly() {
+        String hash = ClaimContentHash.of(buildSubmission("CLM-MEMO-001", "Car accident claim", "5000.00"));
+        memo.remember(hash, "2024.1/lr", remembered("CLM-MEMO-001"));
+
+        memo.refine(hash, "CLM-MEMO-009", 90, true, "Refined notes");
+        assertFalse(memo.find(hash, "CLM-MEMO-002", "2024.1/lr").orElseThrow().fraudFlag());
+
+        memo.refine(hash, "CLM-MEMO-001", 72, true, "Refined notes");
+        AssessmentMemo.RememberedAssessment refined = memo.find(hash, "CLM-MEMO-002", "2024.1/lr").orElseThrow();
+        assertEquals(72, refined.riskScore());
+        assertTrue(refined.fraudFlag());
+        assertEquals("Refined notes", refined.assessmentNotes());
+        assertEquals("CLM-MEMO-001", refined.claimNumber());
+        assertEquals(new BigDecimal("4250.00"), refined.approvedAmount());
+    }
+
+    @Test
+    public void testRepeatFor_ReusesRememberedAssessment() {
+        ClaimAssessment repeat = remembered("CLM-MEMO-001").repeatFor("CLM-MEMO-002");
+
+        assertEquals("CLM-MEMO-002", repeat.getClaimNumber());
+        assertEquals("CLM-MEMO-001", repeat.getRepeatOf());
+        assertEquals("KAFKA_ASSESSOR_00abcd", repeat.getAssessorId());
+        assertEquals(new BigDecimal("4250.00"), repeat.getApprovedAmount());
+        assertEquals(32, repeat.getRiskScore());
+        assertFalse(repeat.getFraudFlag());
+        assertTrue(repeat.getAssessmentNotes().endsWith("Repeat submission of CLM-MEMO-001."));
+    }
+
+    @Test
+    public void testRemember_StaysWithinMaxSize() {
+        for (int i = 0; i < 250; i++) {
+            memo.remember("hash-" + i, "2024.1/lr", remembered("CLM-MEMO-" + i));
+        }
+
+        assertTrue(memo.find("hash-249", "CLM-OTHER", "2024.1/lr").isPresent());
+        long remembered = IntStream.range(0, 250)
+                .filter(i -> memo.find("hash-" + i, "CLM-OTHER", "2024.1/lr").isPresent())
+                .count();
+        assertTrue(remembered <= 100);
+    }
+
+    private ClaimSubmission buildSubmission(String claimNumber, String description, String amount) {
+        ClaimSubmission submission = new ClaimSubmission();
+        submission.setClaimNumber(claimNumber);
+        submission.setPolicyNumber("POL-MEMO");
+        submission.setClaimType(Claim.ClaimType.ACCIDENT);
+        submission.setIncidentDate(LocalDate.of(2024, 1, 15));
+        submission.setClaimedAmount(new BigDecimal(amount));
+        submission.setDescription(description);
+        submission.setPolicyholderId("PH-MEMO");
+        submission.setPolicyholderEmail("memo@email.com");
+        return submission;
+    }
+
+    private AssessmentMemo.RememberedAssessment remembered(String claimNumber) {
+        return AssessmentMemo.RememberedAssessment.of(ClaimAssessment.builder()
+                .claimNumber(claimNumber)
+                .assessorId("KAFKA_ASSESSOR_00abcd")
+                .approvedAmount(new BigDecimal("4250.00"))
+                .riskScore(32)
+                .fraudFlag(false)
+                .assessmentNotes("Standard assessment for ACCIDENT claim. Risk score: 32. No fraud indicators detected.")
+                .build());
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.insurance.service;
+
+import com.example.insurance.entity.Claim;
+import com.example.insurance.entity.ClaimAssessment;
+import com.example.insurance.fraud.DuplicateCandidate;
+import com.example.insurance.fraud.FraudSignals;
+import com.example.insurance.fraud.VelocitySnapshot;
+import com.example.insurance.scoring.RiskFeature;
+import com.example.insurance.scoring.RiskFeatures;
+import com.example.insurance.util.Money;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class ClaimAssessmentServiceTest {
+
+    @Inject
+    ClaimAssessmentService assessmentService;
+
+    @Test
+    public void testPerformClaimAssessment_IsDeterministicPerClaim() {
+        ClaimAssessment first = assessmentService.performClaimAssessment(buildClaim("CLM-SCORE-001", "8000.00"));
+        ClaimAssessment second = assessmentService.performClaimAssessment(buildClaim("CLM-SCORE-001", "8000.00"));
+
+        assertEquals(first.getRiskScore(), second.getRiskScore());
+        assertEquals(first.getFraudFlag(), second.getFraudFlag());
+        assertEquals(first.getAssessmentNotes(), second.getAssessmentNotes());
+    }
+
+    @Test
+    public void testPerformClaimAssessment_IndependentOfScoringDay() {
+        // Filed 30 days after the incident; measured against today the age would be hundreds of days
+        Claim filed = buildClaim("CLM-SCORE-002", "8000.00");
+        filed.setClaimDate(LocalDateTime.of(2024, 2, 14, 9, 30));
+        assertEquals(Math.log1p(30), RiskFeatures.of(filed)[RiskFeature.INCIDENT_AGE_LOG.ordinal()], 1e-12);
+
+        // Moving the claim a year later scores it as if "today" were a year later; the score must not change
+        Claim shifted = buildClaim("CLM-SCORE-002", "8000.00");
+        shifted.setIncidentDate(filed.getIncidentDate().plusYears(1));
+        shifted.setClaimDate(filed.getClaimDate().plusYears(1));
+
+        ClaimAssessment first = assessmentService.performClaimAssessment(filed);
+        ClaimAssessment second = assessmentService.performClaimAssessment(shifted);
+        assertEquals(first.getRiskScore(), second.getRiskScore());
+        assertEquals(first.getAssessmentNotes(), second.getAssessmentNotes());
+    }
+
+    @Test
+    public void testPerformClaimAssessment_NotesAndFlagMatchScore() {
+        for (int i = 0; i < 50; i++) {
+            ClaimAssessment assessment = assessmentService.performClaimAssessment(buildClaim("CLM-SCORE-" + i, "12000.00"));
+
+            assertTrue(assessment.getAssessmentNotes().contains("Risk score: " + assessment.getRiskScore() + "."));
+            assertEquals(assessment.getRiskScore() > 70, assessment.getFraudFlag());
+            assertEquals(assessment.getFraudFlag(), assessment.getAssessmentNotes().contains("Flagged for potential fraud."));
+        }
+    }
+
+    @Test
+    public void testPerformClaimAssessment_AddsVelocityPoints() {
+        VelocitySnapshot burst = new VelocitySnapshot(20, 20, 20, Money.ZERO, Money.ZERO, Money.ZERO);
+        FraudSignals signals = new FraudSignals(burst, VelocitySnapshot.EMPTY, VelocitySnapshot.EMPTY, null);
+
+        ClaimAssessment quiet = assessmentService.performClaimAssessment(buildClaim("CLM-VELOCITY-001", "2000.00"));
+        ClaimAssessment busy = assessmentService.performClaimAssessment(buildClaim("CLM-VELOCITY-001", "2000.00"), signals);
+
+        assertTrue(busy.getRiskScore() > quiet.getRiskScore());
+        assertTrue(busy.getAssessmentNotes().contains("High claim velocity."));
+        assertFalse(quiet.getAssessmentNotes().contains("High claim velocity."));
+    }
+
+    @Test
+    public void testPerformClaimAssessment_FlagsNearDuplicate() {
+        FraudSignals signals = FraudSignals.NONE.withNearDuplicate(new DuplicateCandidate("CLM-ORIGINAL-001", 0.83));
+
+        ClaimAssessment assessment = assessmentService.performClaimAssessment(buildClaim("CLM-RESUBMIT-001", "2000.00"), signals);
+
+        assertTrue(assessment.getFraudFlag());
+        assertTrue(assessment.getAssessmentNotes().contains("Possible duplicate of CLM-ORIGINAL-001 (similarity 0.83)."));
+    }
+
+    @Test
+    public void testAssessBatch_MatchesPerClaimPath() {
+        List<Claim> claims = new ArrayList<>();
+        Claim.ClaimType[] types = Claim.ClaimType.values();
+        for (int i = 0; i < 10_000; i++) {
+            Claim claim = buildClaim("CLM-BATCH-" + i, BigDecimal.valueOf(1_000 + i * 733L, 2).toPlainString());
+            claim.setClaimType(types[i % types.length]);
+            claims.add(claim);
+        }
+
+        BatchAssessment batch = assessmentService.assessBatch(ClaimBatch.of(claims), true);
+
+        for (int i = 0; i < claims.size(); i++) {
+            ClaimAssessment single = assessmentService.performClaimAssessment(claims.get(i));
+            assertEquals(single.getApprovedAmount(), batch.approvedAmount(i));
+            assertEquals(single.getRiskScore(), batch.riskScores()[i]);
+            assertEquals(single.getFraudFlag(), batch.fraudFlags()[i]);
+        }
+    }
+
+    private Claim buildClaim(String claimNumber, String amount) {
+        return Claim.builder()
+                .claimNumber(claimNumber)
+                .policyNumber("POL-SCORE")
+                .claimType(Claim.ClaimType.THEFT)
+                .incidentDate(LocalDate.of(2024, 1, 15))
+                .claimedAmount(new BigDecimal(amount))
+                .description("Scoring test claim")
+                .priority(Claim.ClaimPriority.NORMAL)
+                .status(Claim.ClaimStatus.SUBMITTED)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.insurance.service;
+
+import com.example.insurance.fraud.FraudHistory;
+import com.example.insurance.fraud.NearDuplicateDetector;
+import com.example.insurance.fraud.VelocityTracker;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Clears the in-memory state the claim pipeline keeps across submissions: near-duplicate history, velocity
+ * counters and remembered assessments. Test classes share one application, so they call this before each
+ * test to keep fixtures with the same content from matching claims submitted by earlier tests.
+ */
+@ApplicationScoped
+public class ClaimPipelineState {
+
+    @Inject
+    NearDuplicateDetector duplicateDetector;
+
+    @Inject
+    VelocityTracker velocityTracker;
+
+    @Inject
+    AssessmentMemo assessmentMemo;
+
+    public void clear() {
+        FraudHistory.clear(duplicateDetector, velocityTracker);
+        assessmentMemo.clear();
+    }
+}
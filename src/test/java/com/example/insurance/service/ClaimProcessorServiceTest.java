@@ -0,0 +1,24 @@
+package com.example.insurance.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClaimProcessorServiceTest {
+
+    @Test
+    public void testCheckDirectWritesSupported_RejectsDisabledWriteBehindOnH2() {
+        // The default test profile: H2 with a schema generated from the entities and no claim_registry
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> ClaimProcessorService.checkDirectWritesSupported(false, "h2"));
+
+        assertTrue(e.getMessage().contains("claims.write-behind.enabled=false"));
+    }
+
+    @Test
+    public void testCheckDirectWritesSupported_AllowsPostgresOrWriteBehind() {
+        assertDoesNotThrow(() -> ClaimProcessorService.checkDirectWritesSupported(false, "postgresql"));
+        assertDoesNotThrow(() -> ClaimProcessorService.checkDirectWritesSupported(false, "PGSQL"));
+        assertDoesNotThrow(() -> ClaimProcessorService.checkDirectWritesSupported(true, "h2"));
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.insurance.service;
+
+import com.example.insurance.dto.ClaimSubmission;
+import com.example.insurance.entity.Claim;
+import com.example.insurance.pipeline.PipelineStage;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class ClaimSlaSchedulerTest {
+
+    @Inject
+    ClaimSlaScheduler slaScheduler;
+
+    @Inject
+    MetricRegistry registry;
+
+    @Test
+    public void testSchedule_DeadlineFollowsPriorityBudget() {
+        ClaimWorkItem urgent = new ClaimWorkItem(buildSubmission("CLM-SLA-001", Claim.ClaimPriority.URGENT, "1000.00"), false);
+        ClaimWorkItem low = new ClaimWorkItem(buildSubmission("CLM-SLA-002", Claim.ClaimPriority.LOW, "1000.00"), false);
+        slaScheduler.schedule(urgent);
+        slaScheduler.schedule(low);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), urgent.getDeadlineNanos() - urgent.getStartNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(60_000), low.getDeadlineNanos() - low.getStartNanos());
+        assertTrue(ClaimSlaScheduler.EARLIEST_DEADLINE_FIRST.compare(urgent, low) < 0);
+    }
+
+    @Test
+    public void testSchedule_ExpressClaimsAreAtLeastHigh() {
+        ClaimWorkItem item = new ClaimWorkItem(buildSubmission("CLM-SLA-003", Claim.ClaimPriority.LOW, "1000.00"), true);
+        slaScheduler.schedule(item);
+
+        assertEquals(Claim.ClaimPriority.HIGH, item.getSlaPriority());
+    }
+
+    @Test
+    public void testStage_TakesQueuedClaimsEarliestDeadlineFirst() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> processed = new CopyOnWriteArrayList<>();
+        PipelineStage<ClaimWorkItem, ClaimWorkItem> stage = new PipelineStage<>("sla-test", 1, 10, item -> {
+            awaitQuietly(release);
+            processed.add(item.getSubmission().getClaimNumber());
+            return item;
+        }, ClaimSlaScheduler.EARLIEST_DEADLINE_FIRST, registry);
+
+        try {
+            ClaimWorkItem blocker = scheduled("CLM-SLA-010", Claim.ClaimPriority.NORMAL);
+            CompletableFuture<ClaimWorkItem> first = stage.submit(blocker);
+            while (!isRunning(stage)) {
+                Thread.onSpinWait();
+            }
+            CompletableFuture<ClaimWorkItem> low = stage.submit(scheduled("CLM-SLA-011", Claim.ClaimPriority.LOW));
+            CompletableFuture<ClaimWorkItem> normal = stage.submit(scheduled("CLM-SLA-012", Claim.ClaimPriority.NORMAL));
+            CompletableFuture<ClaimWorkItem> urgent = stage.submit(scheduled("CLM-SLA-013", Claim.ClaimPriority.URGENT));
+            release.countDown();
+            CompletableFuture.allOf(first, low, normal, urgent).get(5, TimeUnit.SECONDS);
+
+            assertEquals(List.of("CLM-SLA-010", "CLM-SLA-013", "CLM-SLA-012", "CLM-SLA-011"), processed);
+        } finally {
+            release.countDown();
+            stage.shutdown();
+        }
+    }
+
+    @Test
+    public void testShouldDegrade_OnlyLowRiskClaimsOutOfSlack() {
+        PipelineStage<ClaimWorkItem, ClaimWorkItem> stage = new PipelineStage<>("sla-degrade-test", 1, 10,
+                item -> item, ClaimSlaScheduler.EARLIEST_DEADLINE_FIRST, registry);
+        try {
+            ClaimWorkItem small = outOfSlack(buildSubmission("CLM-SLA-020", Claim.ClaimPriority.NORMAL, "1000.00"));
+            ClaimWorkItem large = outOfSlack(buildSubmission("CLM-SLA-021", Claim.ClaimPriority.NORMAL, "9000.00"));
+            ClaimWorkItem onTime = new ClaimWorkItem(buildSubmission("CLM-SLA-022", Claim.ClaimPriority.LOW, "1000.00"), false);
+            onTime.setClaim(toClaim(onTime.getSubmission()));
+            slaScheduler.schedule(onTime);
+
+            assertTrue(slaScheduler.shouldDegrade(small, stage));
+            assertFalse(slaScheduler.shouldDegrade(large, stage), "Claims above the degrade amount keep the full assessment");
+            assertFalse(slaScheduler.shouldDegrade(onTime, stage), "Claims with slack left keep the full assessment");
+        } finally {
+            stage.shutdown();
+        }
+    }
+
+    private ClaimWorkItem scheduled(String claimNumber, Claim.ClaimPriority priority) {
+        ClaimWorkItem item = new ClaimWorkItem(buildSubmission(claimNumber, priority, "1000.00"), false);
+        slaScheduler.schedule(item);
+        return item;
+    }
+
+    private ClaimWorkItem outOfSlack(ClaimSubmission submission) {
+        ClaimWorkItem item = new ClaimWorkItem(submission, false);
+        item.setClaim(toClaim(submission));
+        slaScheduler.schedule(item);
+        item.setDeadlineNanos(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100));
+        return item;
+    }
+
+    private static boolean isRunning(PipelineStage<?, ?> stage) {
+        return stage.stats().activeWorkers() > 0;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Claim toClaim(ClaimSubmission submission) {
+        return Claim.builder()
+                .claimNumber(submission.getClaimNumber())
+                .policyNumber(submission.getPolicyNumber())
+                .claimType(submission.getClaimType())
+                .incidentDate(submission.getIncidentDate())
+                .claimedAmount(submission.getClaimedAmount())
+                .description(submission.getDescription())
+                .priority(submission.getPriority())
+                .build();
+    }
+
+    private ClaimSubmission buildSubmission(String claimNumber, Claim.ClaimPriority priority, String amount) {
+        ClaimSubmission submission = new ClaimSubmission();
+        submission.setClaimNumber(claimNumber);
+        submission.setPolicyNumber("POL-SLA");
+        submission.setClaimType(Claim.ClaimType.ACCIDENT);
+        submission.setIncidentDate(LocalDate.now().minusDays(3));
+        submission.setClaimedAmount(new BigDecimal(amount));
+        submission.setDescription("Minor accident damage");
+        submission.setPriority(priority);
+        return submission;
+    }
+}
